@@ -37,6 +37,7 @@ import org.apache.asterix.active.message.StopRuntimeParameters;
 import org.apache.asterix.common.exceptions.ErrorCode;
 import org.apache.asterix.common.exceptions.RuntimeDataException;
 import org.apache.asterix.common.memory.ConcurrentFramePool;
+import org.apache.asterix.common.memory.ConcurrentSpillBudget;
 import org.apache.hyracks.api.application.INCServiceContext;
 import org.apache.hyracks.api.client.NodeStatus;
 import org.apache.hyracks.api.exceptions.HyracksDataException;
@@ -55,15 +56,17 @@ public class ActiveManager {
     private final ExecutorService executor;
     private final ConcurrentMap<ActiveRuntimeId, IActiveRuntime> runtimes;
     private final ConcurrentFramePool activeFramePool;
+    private final ConcurrentSpillBudget activeSpillBudget;
     private final String nodeId;
     private final INCServiceContext serviceCtx;
     private volatile boolean shutdown;
 
-    public ActiveManager(ExecutorService executor, String nodeId, long activeMemoryBudget, int frameSize,
-            INCServiceContext serviceCtx) throws HyracksDataException {
+    public ActiveManager(ExecutorService executor, String nodeId, long activeMemoryBudget, long activeSpillBudget,
+            int frameSize, INCServiceContext serviceCtx) throws HyracksDataException {
         this.executor = executor;
         this.nodeId = nodeId;
         this.activeFramePool = new ConcurrentFramePool(nodeId, activeMemoryBudget, frameSize);
+        this.activeSpillBudget = new ConcurrentSpillBudget(nodeId, activeSpillBudget);
         this.runtimes = new ConcurrentHashMap<>();
         this.serviceCtx = serviceCtx;
     }
@@ -72,6 +75,10 @@ public class ActiveManager {
         return activeFramePool;
     }
 
+    public ConcurrentSpillBudget getSpillBudget() {
+        return activeSpillBudget;
+    }
+
     public void registerRuntime(IActiveRuntime runtime) throws HyracksDataException {
         NodeControllerService controllerService = (NodeControllerService) serviceCtx.getControllerService();
         if (controllerService.getNodeStatus() != NodeStatus.ACTIVE) {
@@ -101,9 +101,10 @@ public class PushValueAccessToDataScanRule implements IAlgebraicRewriteRule {
         ObjectSet<Int2ObjectMap.Entry<Set<DataSource>>> entrySet =
                 ((AsterixOptimizationContext) context).getDataSourceMap().int2ObjectEntrySet();
         MetadataProvider metadataProvider = (MetadataProvider) context.getMetadataProvider();
+        boolean columnFilterEnabled = context.getPhysicalOptimizationConfig().isColumnFilterEnabled();
         for (Int2ObjectMap.Entry<Set<DataSource>> dataSources : entrySet) {
             for (DataSource dataSource : dataSources.getValue()) {
-                if (supportPushdown(metadataProvider, dataSource)) {
+                if (supportPushdown(metadataProvider, dataSource, columnFilterEnabled)) {
                     return true;
                 }
             }
@@ -111,14 +112,15 @@ public class PushValueAccessToDataScanRule implements IAlgebraicRewriteRule {
         return false;
     }
 
-    private boolean supportPushdown(MetadataProvider metadataProvider, DataSource dataSource)
-            throws AlgebricksException {
+    private boolean supportPushdown(MetadataProvider metadataProvider, DataSource dataSource,
+            boolean columnFilterEnabled) throws AlgebricksException {
         DataverseName dataverse = dataSource.getId().getDataverseName();
         String datasetName = dataSource.getId().getDatasourceName();
         Dataset dataset = metadataProvider.findDataset(dataverse, datasetName);
 
         return dataset != null && ((dataset.getDatasetType() == DatasetConfig.DatasetType.EXTERNAL && ExternalDataUtils
-                .supportsPushdown(((ExternalDatasetDetails) dataset.getDatasetDetails()).getProperties()))
+                .supportsPushdown(((ExternalDatasetDetails) dataset.getDatasetDetails()).getProperties(),
+                        columnFilterEnabled))
                 || dataset.getDatasetFormatInfo().getFormat() == DatasetConfig.DatasetFormat.COLUMN);
     }
 }
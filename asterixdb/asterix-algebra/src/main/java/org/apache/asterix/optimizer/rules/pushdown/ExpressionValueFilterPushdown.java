@@ -62,7 +62,9 @@ import org.apache.hyracks.api.exceptions.SourceLocation;
 
 /**
  * Pushdown {@link SelectOperator} condition to the dataset to allow filtering mega leaf nodes.
- * This is currently only allowed for {@link DatasetConfig.DatasetFormat#COLUMN}
+ * This is currently only allowed for {@link DatasetConfig.DatasetFormat#COLUMN} and external datasets that support
+ * pushdowns (i.e., Parquet, where the condition is used to skip row groups, and Hive-style partitioned datasets, where
+ * the condition is used to skip objects)
  * TODO Filter could prevent REPLICATE (i.e., we can scan a dataset twice due to the fact one scan is filtered and
  * TODO the other is not or both have different filters)
  * TODO part of this class could potentially be used for external data dynamic prefixes
@@ -95,9 +97,11 @@ class ExpressionValueFilterPushdown {
             return;
         }
 
+        // External datasets are only registered if they support pushdowns
         Dataset dataset = source.getDataset();
-        if (dataset.getDatasetType() == DatasetConfig.DatasetType.INTERNAL
-                && dataset.getDatasetFormatInfo().getFormat() == DatasetConfig.DatasetFormat.COLUMN) {
+        if (dataset.getDatasetType() == DatasetConfig.DatasetType.EXTERNAL
+                || dataset.getDatasetType() == DatasetConfig.DatasetType.INTERNAL
+                        && dataset.getDatasetFormatInfo().getFormat() == DatasetConfig.DatasetFormat.COLUMN) {
             registeredScans.add(op);
         }
     }
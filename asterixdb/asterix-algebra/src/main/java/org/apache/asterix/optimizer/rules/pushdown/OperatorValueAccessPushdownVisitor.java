@@ -272,7 +272,8 @@ public class OperatorValueAccessPushdownVisitor implements ILogicalOperatorVisit
         //Only external dataset can have pushed down expressions
         if (dataset.getDatasetType() == DatasetConfig.DatasetType.EXTERNAL
                 && !ExternalDataUtils
-                        .supportsPushdown(((ExternalDatasetDetails) dataset.getDatasetDetails()).getProperties())
+                        .supportsPushdown(((ExternalDatasetDetails) dataset.getDatasetDetails()).getProperties(),
+                                context.getPhysicalOptimizationConfig().isColumnFilterEnabled())
                 || dataset.getDatasetType() == DatasetConfig.DatasetType.INTERNAL
                         && dataset.getDatasetFormatInfo().getFormat() == DatasetFormat.ROW) {
             return null;
@@ -110,6 +110,7 @@ import org.apache.hyracks.api.exceptions.SourceLocation;
 import org.apache.hyracks.api.job.JobId;
 import org.apache.hyracks.api.job.JobSpecification;
 import org.apache.hyracks.api.job.resource.IClusterCapacity;
+import org.apache.hyracks.control.cc.scheduler.PriorityJobQueue;
 import org.apache.hyracks.control.common.config.OptionTypes;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -124,6 +125,9 @@ public class APIFramework {
     private static final ObjectWriter OBJECT_WRITER = new ObjectMapper().writerWithDefaultPrettyPrinter();
 
     public static final String PREFIX_INTERNAL_PARAMETERS = "_internal";
+    // query parameters that are passed to the job queue (see PriorityJobQueue)
+    private static final Set<String> JOB_QUEUE_PARAMETERS =
+            Set.of(PriorityJobQueue.JOB_PRIORITY_PROPERTY, PriorityJobQueue.JOB_GROUP_PROPERTY);
 
     private final IRewriterFactory rewriterFactory;
     private final IAstPrintVisitorFactory astPrintVisitorFactory;
@@ -137,7 +141,8 @@ public class APIFramework {
         this.astPrintVisitorFactory = compilationProvider.getAstPrintVisitorFactory();
         this.translatorFactory = compilationProvider.getExpressionToPlanTranslatorFactory();
         this.ruleSetFactory = compilationProvider.getRuleSetFactory();
-        this.configurableParameterNames = compilationProvider.getCompilerOptions();
+        this.configurableParameterNames = new HashSet<>(compilationProvider.getCompilerOptions());
+        configurableParameterNames.addAll(JOB_QUEUE_PARAMETERS);
         executionPlans = new ExecutionPlans();
     }
 
@@ -309,6 +314,7 @@ public class APIFramework {
         JobEventListenerFactory jobEventListenerFactory =
                 new JobEventListenerFactory(txnId, metadataProvider.isWriteTransaction());
         JobSpecification spec = compiler.createJob(ccAppContext, jobEventListenerFactory);
+        setJobQueueProperties(spec, querySpecificConfig, sourceLoc);
 
         if (isQuery) {
             if (requestParameters == null || !requestParameters.isSkipAdmissionPolicy()) {
@@ -508,6 +514,25 @@ public class APIFramework {
         return config;
     }
 
+    // Passes the job queue parameters of the request (e.g., SET `job.queue.priority` "10";) to the job. The job queue
+    // caps the priority at the configured job.queue.max.priority.
+    private static void setJobQueueProperties(JobSpecification spec, Map<String, Object> config,
+            SourceLocation sourceLoc) throws CompilationException {
+        String priority = (String) config.get(PriorityJobQueue.JOB_PRIORITY_PROPERTY);
+        if (priority != null) {
+            try {
+                spec.setProperty(PriorityJobQueue.JOB_PRIORITY_PROPERTY, Integer.parseInt(priority.trim()));
+            } catch (NumberFormatException e) {
+                throw new CompilationException(ErrorCode.INVALID_REQ_PARAM_VAL, sourceLoc,
+                        PriorityJobQueue.JOB_PRIORITY_PROPERTY, priority);
+            }
+        }
+        String group = (String) config.get(PriorityJobQueue.JOB_GROUP_PROPERTY);
+        if (group != null) {
+            spec.setProperty(PriorityJobQueue.JOB_GROUP_PROPERTY, group);
+        }
+    }
+
     private void generateExpressionTree(IReturningStatement statement) throws CompilationException {
         final StringWriter stringWriter = new StringWriter();
         try (PrintWriter writer = new PrintWriter(stringWriter)) {
@@ -246,8 +246,8 @@ public class NCAppRuntimeContext implements INcApplicationContext {
         replicaManager = new ReplicaManager(this, nodePartitions);
         isShuttingdown = false;
         activeManager = new ActiveManager(threadExecutor, getServiceContext().getNodeId(),
-                activeProperties.getMemoryComponentGlobalBudget(), compilerProperties.getFrameSize(),
-                this.ncServiceContext);
+                activeProperties.getMemoryComponentGlobalBudget(), activeProperties.getSpillGlobalBudget(),
+                compilerProperties.getFrameSize(), this.ncServiceContext);
         receptionist = receptionistFactory.create();
 
         if (replicationProperties.isReplicationEnabled()) {
@@ -636,21 +636,26 @@ public class NCAppRuntimeContext implements INcApplicationContext {
         int maxConcurrentFlushes = storageProperties.geMaxConcurrentFlushes(numPartitions);
         int maxScheduledMerges = storageProperties.getMaxScheduledMerges(numPartitions);
         int maxConcurrentMerges = storageProperties.getMaxConcurrentMerges(numPartitions);
+        boolean prioritizeFlushes = storageProperties.isIoSchedulerPrioritizeFlushes();
+        long maxMergeYieldTime = storageProperties.getIoSchedulerMaxMergeYieldTime();
 
         ILSMIOOperationScheduler ioScheduler = null;
         if (AsynchronousScheduler.FACTORY.getName().equalsIgnoreCase(schedulerName)) {
             ioScheduler = AsynchronousScheduler.FACTORY.createIoScheduler(getServiceContext().getThreadFactory(),
-                    HaltCallback.INSTANCE, maxConcurrentFlushes, maxScheduledMerges, maxConcurrentMerges);
+                    HaltCallback.INSTANCE, maxConcurrentFlushes, maxScheduledMerges, maxConcurrentMerges,
+                    prioritizeFlushes, maxMergeYieldTime);
         } else if (GreedyScheduler.FACTORY.getName().equalsIgnoreCase(schedulerName)) {
             ioScheduler = GreedyScheduler.FACTORY.createIoScheduler(getServiceContext().getThreadFactory(),
-                    HaltCallback.INSTANCE, maxConcurrentFlushes, maxScheduledMerges, maxConcurrentMerges);
+                    HaltCallback.INSTANCE, maxConcurrentFlushes, maxScheduledMerges, maxConcurrentMerges,
+                    prioritizeFlushes, maxMergeYieldTime);
         } else {
             if (LOGGER.isWarnEnabled()) {
                 LOGGER.log(Level.WARN,
                         "Unknown storage I/O scheduler: " + schedulerName + "; defaulting to greedy I/O scheduler.");
             }
             ioScheduler = GreedyScheduler.FACTORY.createIoScheduler(getServiceContext().getThreadFactory(),
-                    HaltCallback.INSTANCE, maxConcurrentFlushes, maxScheduledMerges, maxConcurrentMerges);
+                    HaltCallback.INSTANCE, maxConcurrentFlushes, maxScheduledMerges, maxConcurrentMerges,
+                    prioritizeFlushes, maxMergeYieldTime);
         }
         return ioScheduler;
     }
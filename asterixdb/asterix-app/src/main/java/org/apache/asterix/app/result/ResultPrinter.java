@@ -23,6 +23,9 @@ import static java.nio.charset.StandardCharsets.UTF_8;
 import java.io.IOException;
 import java.io.StringWriter;
 import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
 
 import org.apache.asterix.api.http.server.ResultUtil;
 import org.apache.asterix.common.api.IApplicationContext;
@@ -65,6 +68,10 @@ public class ResultPrinter {
     private ObjectMapper om;
     private ObjectWriter ow;
 
+    // Used to print records that do not need to be transformed without materializing them as strings
+    private CharsetDecoder decoder;
+    private CharBuffer recordChars;
+
     public ResultPrinter(IApplicationContext appCtx, SessionOutput output, Stats stats, ARecordType recordType) {
         this.output = output;
         this.conf = output.config();
@@ -190,6 +197,37 @@ public class ResultPrinter {
         stats.setSize(stats.getSize() + record.length());
     }
 
+    private boolean isRecordTransformed() {
+        return indentJSON || quoteRecord || conf.is(SessionConfig.FORMAT_HTML);
+    }
+
+    /**
+     * Prints a record that does not need to be transformed by decoding its UTF-8 bytes into a reused char buffer
+     * instead of allocating a string per record.
+     */
+    private void displayRecord(byte[] bytes, int start, int length) throws HyracksDataException {
+        if (decoder == null) {
+            decoder = UTF_8.newDecoder().onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        }
+        // UTF-8 never decodes to more chars than bytes
+        if (recordChars == null || recordChars.capacity() < length) {
+            recordChars = CharBuffer.allocate(length);
+        }
+        recordChars.clear();
+        decoder.reset();
+        decoder.decode(ByteBuffer.wrap(bytes, start, length), recordChars, true);
+        decoder.flush(recordChars);
+        int numChars = recordChars.position();
+        output.out().write(recordChars.array(), 0, numChars);
+        if (conf.fmt() == SessionConfig.OutputFormat.CSV) {
+            output.out().print("\r\n");
+            numChars += 2;
+        }
+        stats.setCount(stats.getCount() + 1);
+        stats.setSize(stats.getSize() + numChars);
+    }
+
     public void print(String record) throws HyracksDataException {
         printPrefix();
         displayRecord(record);
@@ -201,6 +239,7 @@ public class ResultPrinter {
         try {
             final IFrameTupleAccessor fta = resultReader.getFrameTupleAccessor();
             final IFrame frame = new VSizeFrame(resultDisplayFrameMgr);
+            final boolean isRecordTransformed = isRecordTransformed();
 
             while (resultReader.read(frame) > 0) {
                 final ByteBuffer frameBuffer = frame.getBuffer();
@@ -214,12 +253,15 @@ public class ResultPrinter {
                             && ((length > 0) && (frameBytes[start + length - 1] == '\n'))) {
                         length--;
                     }
-                    String result = new String(frameBytes, start, length, UTF_8);
                     if (wrapArray && notFirst) {
                         output.out().print(", ");
                     }
                     notFirst = true;
-                    displayRecord(result);
+                    if (isRecordTransformed) {
+                        displayRecord(new String(frameBytes, start, length, UTF_8));
+                    } else {
+                        displayRecord(frameBytes, start, length);
+                    }
                 }
                 frameBuffer.clear();
             }
@@ -675,7 +675,8 @@ public class QueryTranslator extends AbstractLangTranslator implements IStatemen
             }
         } else {
             for (Map.Entry<String, String> entry : compactionPolicyProperties.entrySet()) {
-                if (!mergePolicyFactory.getPropertiesNames().contains(entry.getKey())) {
+                if (!mergePolicyFactory.getPropertiesNames().contains(entry.getKey())
+                        && !mergePolicyFactory.getOptionalPropertiesNames().contains(entry.getKey())) {
                     throw new CompilationException(ErrorCode.COMPILATION_ERROR, sourceLoc,
                             "Invalid compaction policy property: " + entry.getKey());
                 }
@@ -686,6 +687,12 @@ public class QueryTranslator extends AbstractLangTranslator implements IStatemen
                             "Missing compaction policy property: " + p);
                 }
             }
+            try {
+                mergePolicyFactory.validateProperties(compactionPolicyProperties);
+            } catch (IllegalArgumentException e) {
+                throw new CompilationException(ErrorCode.COMPILATION_ERROR, e, sourceLoc,
+                        "Invalid compaction policy property value: " + e.getMessage());
+            }
         }
     }
 
@@ -34,10 +34,14 @@ import org.apache.asterix.common.dataflow.ICcApplicationContext;
 import org.apache.asterix.common.dataflow.LSMTreeInsertDeleteOperatorDescriptor;
 import org.apache.asterix.common.exceptions.ACIDException;
 import org.apache.asterix.common.exceptions.CompilationException;
+import org.apache.asterix.common.exceptions.ErrorCode;
 import org.apache.asterix.common.functions.FunctionSignature;
 import org.apache.asterix.common.metadata.DataverseName;
 import org.apache.asterix.common.transactions.TxnId;
 import org.apache.asterix.compiler.provider.SqlppCompilationProvider;
+import org.apache.asterix.external.adapter.factory.GenericAdapterFactory;
+import org.apache.asterix.external.api.IExternalDataSourceFactory;
+import org.apache.asterix.external.api.IRecordReaderFactory;
 import org.apache.asterix.external.api.ITypedAdapterFactory;
 import org.apache.asterix.external.feed.management.FeedConnectionId;
 import org.apache.asterix.external.feed.policy.FeedPolicyAccessor;
@@ -442,6 +446,9 @@ public class FeedOperations {
         // Construct the ingestion Job
         JobSpecification intakeJob = intakeInfo.getLeft();
         ITypedAdapterFactory ingestionAdaptorFactory = intakeInfo.getRight();
+        if (tracksSourceOffsets(ingestionAdaptorFactory)) {
+            validateOffsetTrackingConnections(metadataProvider, feed, feedConnections);
+        }
         String[] ingestionLocations = ingestionAdaptorFactory.getPartitionConstraint().getLocations();
         // Add metadata configs
         metadataProvider.getConfig().put(FunctionUtil.IMPORT_PRIVATE_FUNCTIONS, Boolean.TRUE.toString());
@@ -456,4 +463,30 @@ public class FeedOperations {
         return Pair.of(combineIntakeCollectJobs(metadataProvider, feed, intakeJob, jobsList, feedConnections,
                 ingestionLocations), intakeInfo.getRight().getPartitionConstraint());
     }
+
+    private static boolean tracksSourceOffsets(ITypedAdapterFactory adapterFactory) {
+        if (!(adapterFactory instanceof GenericAdapterFactory)) {
+            return false;
+        }
+        IExternalDataSourceFactory dataSourceFactory = ((GenericAdapterFactory) adapterFactory).getDataSourceFactory();
+        return dataSourceFactory instanceof IRecordReaderFactory
+                && ((IRecordReaderFactory<?>) dataSourceFactory).tracksSourceOffsets();
+    }
+
+    /**
+     * The source offsets are forwarded as feed markers next to the frames, so they are only committed with the records
+     * that precede them if no flow control queues, spills, or discards frames of the connection
+     */
+    private static void validateOffsetTrackingConnections(MetadataProvider metadataProvider, Feed feed,
+            List<FeedConnection> feedConnections) throws AlgebricksException {
+        for (FeedConnection feedConnection : feedConnections) {
+            FeedPolicyEntity feedPolicyEntity = FeedMetadataUtil.validateIfPolicyExists(
+                    feedConnection.getDataverseName(), feedConnection.getPolicyName(),
+                    metadataProvider.getMetadataTxnContext());
+            if (new FeedPolicyAccessor(feedPolicyEntity.getProperties()).flowControlEnabled()) {
+                throw new CompilationException(ErrorCode.FEED_OFFSET_TRACKING_WITH_FLOW_CONTROL, feed.getFeedName(),
+                        feedConnection.getDatasetName(), feedConnection.getPolicyName());
+            }
+        }
+    }
 }
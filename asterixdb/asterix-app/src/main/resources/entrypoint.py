@@ -71,6 +71,7 @@ class Wrapper(object):
     response_buf = BytesIO()
     stdin_buf = BytesIO()
     wrapped_fns = {}
+    columnar_fns = set()
     alive = True
     readbuf = bytearray(FRAMESZ)
     readview = memoryview(readbuf)
@@ -98,6 +99,18 @@ class Wrapper(object):
     def next_tuple(self, *args, key=None):
         return self.wrapped_fns[key](*args)
 
+    def next_batch(self, args, key=None):
+        # call the function once with a list of values per argument
+        columns = [list(column) for column in zip(*args)]
+        results = self.wrapped_fns[key](*columns)
+        if hasattr(results, 'tolist'):
+            results = results.tolist()
+        results = list(results)
+        if len(results) != len(args):
+            raise ValueError("Columnar function returned " + str(len(results)) +
+                             " results for " + str(len(args)) + " tuples")
+        return results
+
     def check_module_path(self, module):
         cwd = Path('.').resolve()
         module_path = Path(module.__file__).resolve()
@@ -150,13 +163,20 @@ class Wrapper(object):
         self.response_buf.seek(0)
         args = self.unpacked_msg[1]
         module = args[0]
-        if len(args) == 3:
+        columnar = False
+        if len(args) == 4:
+            clazz = args[1]
+            fn = args[2]
+            columnar = args[3]
+        elif len(args) == 3:
             clazz = args[1]
             fn = args[2]
         else:
             clazz = None
             fn = args[1]
         self.init(module, clazz, fn)
+        if columnar:
+            self.columnar_fns.add(self.mid)
         self.packer.pack(int(MessageType.INIT_RSP))
         dlen = 1  # just the tag.
         resp_len = self.write_header(self.response_buf, dlen)
@@ -176,7 +196,14 @@ class Wrapper(object):
         result = ([], [])
         if len(self.unpacked_msg) > 1:
             args = self.unpacked_msg[1]
-            if args is not None:
+            if args is not None and self.mid in self.columnar_fns and len(args) > 0 and len(args[0]) > 0:
+                try:
+                    result[0].extend(self.next_batch(args, key=self.mid))
+                except BaseException as e:
+                    # no results are returned for the batch, so every tuple of it gets a NULL
+                    result[1].append("Columnar call failed for a batch of " + str(len(args)) + " tuples: " +
+                                     traceback.format_exc())
+            elif args is not None:
                 for arg in args:
                     try:
                         result[0].append(self.next_tuple(*arg, key=self.mid))
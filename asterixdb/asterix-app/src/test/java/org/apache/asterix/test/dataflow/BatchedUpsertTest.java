@@ -0,0 +1,318 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.asterix.test.dataflow;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.asterix.app.bootstrap.TestNodeController;
+import org.apache.asterix.app.bootstrap.TestNodeController.PrimaryIndexInfo;
+import org.apache.asterix.app.nc.NCAppRuntimeContext;
+import org.apache.asterix.builders.RecordBuilder;
+import org.apache.asterix.common.api.IDatasetLifecycleManager;
+import org.apache.asterix.common.config.DatasetConfig.DatasetType;
+import org.apache.asterix.common.metadata.DataverseName;
+import org.apache.asterix.common.transactions.ILogRecord;
+import org.apache.asterix.common.transactions.ITransactionContext;
+import org.apache.asterix.common.transactions.ITransactionManager;
+import org.apache.asterix.common.transactions.LogType;
+import org.apache.asterix.common.transactions.TransactionOptions;
+import org.apache.asterix.file.StorageComponentProvider;
+import org.apache.asterix.metadata.entities.Dataset;
+import org.apache.asterix.metadata.entities.Index;
+import org.apache.asterix.metadata.entities.InternalDatasetDetails;
+import org.apache.asterix.metadata.entities.InternalDatasetDetails.PartitioningStrategy;
+import org.apache.asterix.om.types.ARecordType;
+import org.apache.asterix.om.types.ATypeTag;
+import org.apache.asterix.om.types.BuiltinType;
+import org.apache.asterix.om.types.IAType;
+import org.apache.asterix.runtime.operators.LSMPrimaryUpsertOperatorNodePushable;
+import org.apache.asterix.test.common.TestHelper;
+import org.apache.asterix.test.common.TestTupleReference;
+import org.apache.asterix.transaction.management.service.logging.LogReader;
+import org.apache.hyracks.algebricks.runtime.base.IPushRuntime;
+import org.apache.hyracks.api.comm.IFrameWriter;
+import org.apache.hyracks.api.comm.VSizeFrame;
+import org.apache.hyracks.api.context.IHyracksTaskContext;
+import org.apache.hyracks.api.job.JobId;
+import org.apache.hyracks.data.std.primitive.IntegerPointable;
+import org.apache.hyracks.data.std.util.ArrayBackedValueStorage;
+import org.apache.hyracks.dataflow.common.comm.io.FrameTupleAccessor;
+import org.apache.hyracks.dataflow.common.comm.io.FrameTupleAppender;
+import org.apache.hyracks.dataflow.common.data.accessors.ITupleReference;
+import org.apache.hyracks.storage.am.common.api.IIndexDataflowHelper;
+import org.apache.hyracks.storage.am.common.dataflow.IndexDataflowHelperFactory;
+import org.apache.hyracks.storage.am.lsm.btree.impl.TestLsmBtree;
+import org.apache.hyracks.storage.am.lsm.common.impls.NoMergePolicyFactory;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class BatchedUpsertTest {
+    private static final IAType[] KEY_TYPES = { BuiltinType.AINT32 };
+    private static final ARecordType RECORD_TYPE = new ARecordType("TestRecordType", new String[] { "key", "value" },
+            new IAType[] { BuiltinType.AINT32, BuiltinType.AINT64 }, false);
+    private static final ARecordType META_TYPE = null;
+    private static final int[] KEY_INDEXES = { 0 };
+    private static final List<Integer> KEY_INDICATORS_LIST = List.of(Index.RECORD_INDICATOR);
+    private static final int NUM_OF_KEYS = 1000;
+    private static final int KEYS_PER_FRAME = 100;
+    private static final int CHANGES_PER_KEY = 3;
+    private static final int DATASET_ID = 101;
+    private static final String DATAVERSE_NAME = "TestDV";
+    private static final String DATASET_NAME = "TestDS";
+    private static final String DATA_TYPE_NAME = "DUMMY";
+    private static final String NODE_GROUP_NAME = "DEFAULT";
+    private static final StorageComponentProvider storageManager = new StorageComponentProvider();
+    private static TestNodeController nc;
+    private static NCAppRuntimeContext ncAppCtx;
+    private static IDatasetLifecycleManager dsLifecycleMgr;
+    private static Dataset dataset;
+    private static IHyracksTaskContext ctx;
+    private static IIndexDataflowHelper indexDataflowHelper;
+    private static TestLsmBtree lsmBtree;
+    private static ITransactionContext txnCtx;
+    private static LSMPrimaryUpsertOperatorNodePushable upsertOp;
+
+    @BeforeClass
+    public static void setUp() throws Exception {
+        TestHelper.deleteExistingInstanceFiles();
+        nc = new TestNodeController(null, false);
+        nc.init();
+        ncAppCtx = nc.getAppRuntimeContext();
+        dsLifecycleMgr = ncAppCtx.getDatasetLifecycleManager();
+    }
+
+    @AfterClass
+    public static void tearDown() throws Exception {
+        nc.deInit();
+        TestHelper.deleteExistingInstanceFiles();
+    }
+
+    @Before
+    public void createIndex() throws Exception {
+        DataverseName dvName = DataverseName.createSinglePartName(DATAVERSE_NAME);
+        List<List<String>> partitioningKeys = new ArrayList<>();
+        partitioningKeys.add(Collections.singletonList("key"));
+        dataset = new TestDataset(dvName, DATASET_NAME, dvName, DATA_TYPE_NAME, NODE_GROUP_NAME,
+                NoMergePolicyFactory.NAME, null, new InternalDatasetDetails(null, PartitioningStrategy.HASH,
+                        partitioningKeys, null, null, null, false, null, null),
+                null, DatasetType.INTERNAL, DATASET_ID, 0);
+        PrimaryIndexInfo primaryIndexInfo = nc.createPrimaryIndex(dataset, KEY_TYPES, RECORD_TYPE, META_TYPE, null,
+                storageManager, KEY_INDEXES, KEY_INDICATORS_LIST, 0);
+        IndexDataflowHelperFactory iHelperFactory =
+                new IndexDataflowHelperFactory(nc.getStorageManager(), primaryIndexInfo.getFileSplitProvider());
+        JobId jobId = nc.newJobId();
+        ctx = nc.createTestContext(jobId, 0, false);
+        indexDataflowHelper = iHelperFactory.create(ctx.getJobletContext().getServiceContext(), 0);
+        indexDataflowHelper.open();
+        lsmBtree = (TestLsmBtree) indexDataflowHelper.getIndexInstance();
+        indexDataflowHelper.close();
+        txnCtx = nc.getTransactionManager().beginTransaction(nc.getTxnJobId(ctx),
+                new TransactionOptions(ITransactionManager.AtomicityLevel.ENTITY_LEVEL));
+        upsertOp = nc.getUpsertPipeline(ctx, dataset, KEY_TYPES, RECORD_TYPE, META_TYPE, null, KEY_INDEXES,
+                KEY_INDICATORS_LIST, storageManager, null, false).getLeft();
+    }
+
+    @After
+    public void destroyIndex() throws Exception {
+        indexDataflowHelper.destroy();
+    }
+
+    @Test
+    public void testBatchedUpsertsWithDuplicateKeys() throws Exception {
+        StorageTestUtils.allowAllOps(lsmBtree);
+        long startLsn = nc.getTransactionSubsystem().getLogManager().getAppendLSN();
+        VSizeFrame frame = new VSizeFrame(ctx);
+        FrameTupleAppender tupleAppender = new FrameTupleAppender(frame);
+        upsertOp.setBatchUpserts(true);
+        upsertOp.open();
+        // the keys arrive unsorted and every key is changed multiple times within the same frame
+        for (int first = 0; first < NUM_OF_KEYS; first += KEYS_PER_FRAME) {
+            for (int change = 0; change < CHANGES_PER_KEY; change++) {
+                for (int i = 0; i < KEYS_PER_FRAME; i++) {
+                    int key = first + (i * 7) % KEYS_PER_FRAME;
+                    Assert.assertTrue(tupleAppender.append(upsertTuple(key, value(key, change))));
+                }
+            }
+            tupleAppender.write(upsertOp, true);
+        }
+        upsertOp.close();
+        nc.getTransactionManager().commitTransaction(txnCtx.getTxnId());
+        // only the last change to each key is applied, logged and passed downstream
+        Assert.assertEquals(NUM_OF_KEYS, countLogs(startLsn, LogType.UPDATE));
+        Assert.assertEquals(NUM_OF_KEYS, countLogs(startLsn, LogType.ENTITY_COMMIT));
+        Map<Integer, byte[]> records = scan();
+        Assert.assertEquals(NUM_OF_KEYS, records.size());
+        for (int key = 0; key < NUM_OF_KEYS; key++) {
+            assertRecord(records, key, value(key, CHANGES_PER_KEY - 1));
+        }
+    }
+
+    @Test
+    public void testBatchedUpsertsAndDeletesOfSameKey() throws Exception {
+        StorageTestUtils.allowAllOps(lsmBtree);
+        long startLsn = nc.getTransactionSubsystem().getLogManager().getAppendLSN();
+        VSizeFrame frame = new VSizeFrame(ctx);
+        FrameTupleAppender tupleAppender = new FrameTupleAppender(frame);
+        upsertOp.setBatchUpserts(true);
+        upsertOp.open();
+        for (int first = 0; first < NUM_OF_KEYS; first += KEYS_PER_FRAME) {
+            for (int i = 0; i < KEYS_PER_FRAME; i++) {
+                int key = first + (i * 7) % KEYS_PER_FRAME;
+                Assert.assertTrue(tupleAppender.append(upsertTuple(key, value(key, 0))));
+                if (key % 2 == 0) {
+                    // upsert, delete, upsert: the record of the second upsert survives
+                    Assert.assertTrue(tupleAppender.append(deleteTuple(key)));
+                    Assert.assertTrue(tupleAppender.append(upsertTuple(key, value(key, 1))));
+                } else {
+                    // upsert, upsert, delete: the key ends up absent
+                    Assert.assertTrue(tupleAppender.append(upsertTuple(key, value(key, 1))));
+                    Assert.assertTrue(tupleAppender.append(deleteTuple(key)));
+                }
+            }
+            tupleAppender.write(upsertOp, true);
+        }
+        upsertOp.close();
+        nc.getTransactionManager().commitTransaction(txnCtx.getTxnId());
+        Assert.assertEquals(NUM_OF_KEYS, countLogs(startLsn, LogType.ENTITY_COMMIT));
+        Map<Integer, byte[]> records = scan();
+        Assert.assertEquals(NUM_OF_KEYS / 2, records.size());
+        for (int key = 0; key < NUM_OF_KEYS; key++) {
+            if (key % 2 == 0) {
+                assertRecord(records, key, value(key, 1));
+            } else {
+                Assert.assertFalse(records.containsKey(key));
+            }
+        }
+    }
+
+    private static long value(int key, int change) {
+        return (long) change * NUM_OF_KEYS + key;
+    }
+
+    private static ITupleReference upsertTuple(int key, long value) throws IOException {
+        TestTupleReference tuple = new TestTupleReference(2);
+        writeKey(tuple.getFields()[0].getDataOutput(), key);
+        tuple.getFields()[1].getDataOutput().write(record(key, value));
+        return tuple;
+    }
+
+    private static ITupleReference deleteTuple(int key) throws IOException {
+        TestTupleReference tuple = new TestTupleReference(2);
+        writeKey(tuple.getFields()[0].getDataOutput(), key);
+        tuple.getFields()[1].getDataOutput().writeByte(ATypeTag.SERIALIZED_MISSING_TYPE_TAG);
+        return tuple;
+    }
+
+    private static void writeKey(DataOutput out, int key) throws IOException {
+        out.writeByte(ATypeTag.SERIALIZED_INT32_TYPE_TAG);
+        out.writeInt(key);
+    }
+
+    private static byte[] record(int key, long value) throws IOException {
+        RecordBuilder recBuilder = new RecordBuilder();
+        recBuilder.reset(RECORD_TYPE);
+        recBuilder.init();
+        ArrayBackedValueStorage fieldValue = new ArrayBackedValueStorage();
+        writeKey(fieldValue.getDataOutput(), key);
+        recBuilder.addField(0, fieldValue);
+        fieldValue.reset();
+        fieldValue.getDataOutput().writeByte(ATypeTag.SERIALIZED_INT64_TYPE_TAG);
+        fieldValue.getDataOutput().writeLong(value);
+        recBuilder.addField(1, fieldValue);
+        ArrayBackedValueStorage recordValue = new ArrayBackedValueStorage();
+        recBuilder.write(recordValue.getDataOutput(), true);
+        return Arrays.copyOfRange(recordValue.getByteArray(), recordValue.getStartOffset(),
+                recordValue.getStartOffset() + recordValue.getLength());
+    }
+
+    private static void assertRecord(Map<Integer, byte[]> records, int key, long value) throws IOException {
+        Assert.assertArrayEquals("unexpected record for key " + key, record(key, value), records.get(key));
+    }
+
+    private static long countLogs(long startLsn, byte logType) {
+        LogReader logReader = nc.getTransactionLogReader(true);
+        long count = 0;
+        try {
+            logReader.setPosition(startLsn);
+            for (ILogRecord logRecord = logReader.next(); logRecord != null; logRecord = logReader.next()) {
+                if (logRecord.getLogType() == logType && logRecord.getTxnId() == txnCtx.getTxnId().getId()
+                        && logRecord.getDatasetId() == DATASET_ID) {
+                    count++;
+                }
+            }
+        } finally {
+            logReader.close();
+        }
+        return count;
+    }
+
+    /**
+     * @return the records of the primary index by key
+     */
+    private Map<Integer, byte[]> scan() throws Exception {
+        nc.newJobId();
+        Map<Integer, byte[]> records = new HashMap<>();
+        FrameTupleAccessor accessor = new FrameTupleAccessor(nc.getSearchOutputDesc(KEY_TYPES, RECORD_TYPE, META_TYPE));
+        IFrameWriter collector = new IFrameWriter() {
+            @Override
+            public void open() {
+                // no op
+            }
+
+            @Override
+            public void nextFrame(ByteBuffer buffer) {
+                accessor.reset(buffer);
+                byte[] bytes = buffer.array();
+                for (int i = 0; i < accessor.getTupleCount(); i++) {
+                    int key = IntegerPointable.getInteger(bytes, accessor.getAbsoluteFieldStartOffset(i, 0) + 1);
+                    int recordStart = accessor.getAbsoluteFieldStartOffset(i, 1);
+                    records.put(key,
+                            Arrays.copyOfRange(bytes, recordStart, recordStart + accessor.getFieldLength(i, 1)));
+                }
+            }
+
+            @Override
+            public void fail() {
+                // no op
+            }
+
+            @Override
+            public void close() {
+                // no op
+            }
+        };
+        IPushRuntime emptyTupleOp = nc.getFullScanPipeline(collector, ctx, dataset, KEY_TYPES, RECORD_TYPE, META_TYPE,
+                new NoMergePolicyFactory(), null, null, KEY_INDEXES, KEY_INDICATORS_LIST, storageManager);
+        emptyTupleOp.open();
+        emptyTupleOp.close();
+        return records;
+    }
+}
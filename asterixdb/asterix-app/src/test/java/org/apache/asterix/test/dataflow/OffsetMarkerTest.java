@@ -0,0 +1,187 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.asterix.test.dataflow;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.asterix.app.bootstrap.TestNodeController;
+import org.apache.asterix.app.data.gen.RecordTupleGenerator;
+import org.apache.asterix.app.data.gen.RecordTupleGenerator.GenerationFunction;
+import org.apache.asterix.app.data.gen.TestTupleCounterFrameWriter;
+import org.apache.asterix.common.transactions.ILogRecord;
+import org.apache.asterix.common.transactions.ITransactionContext;
+import org.apache.asterix.common.transactions.ITransactionManager;
+import org.apache.asterix.common.transactions.TransactionOptions;
+import org.apache.asterix.external.api.IRawRecord;
+import org.apache.asterix.external.input.record.reader.log.AbstractOffsetTrackingRecordReader;
+import org.apache.asterix.external.input.record.reader.log.FileLogRecordReader;
+import org.apache.asterix.external.util.DataflowUtils;
+import org.apache.asterix.file.StorageComponentProvider;
+import org.apache.asterix.metadata.entities.Index;
+import org.apache.asterix.om.types.ARecordType;
+import org.apache.asterix.om.types.BuiltinType;
+import org.apache.asterix.om.types.IAType;
+import org.apache.asterix.runtime.operators.LSMPrimaryInsertOperatorNodePushable;
+import org.apache.asterix.test.common.TestHelper;
+import org.apache.asterix.transaction.management.service.logging.LogReader;
+import org.apache.hyracks.algebricks.runtime.base.IPushRuntime;
+import org.apache.hyracks.api.comm.VSizeFrame;
+import org.apache.hyracks.api.context.IHyracksTaskContext;
+import org.apache.hyracks.api.job.JobId;
+import org.apache.hyracks.api.util.HyracksConstants;
+import org.apache.hyracks.data.std.primitive.LongPointable;
+import org.apache.hyracks.data.std.util.ArrayBackedValueStorage;
+import org.apache.hyracks.dataflow.common.comm.io.FrameTupleAppender;
+import org.apache.hyracks.dataflow.common.utils.TaskUtil;
+import org.apache.hyracks.storage.am.common.api.IIndexDataflowHelper;
+import org.apache.hyracks.storage.am.common.dataflow.IndexDataflowHelperFactory;
+import org.apache.hyracks.storage.am.lsm.btree.impls.LSMBTree;
+import org.apache.hyracks.storage.am.lsm.common.impls.NoMergePolicyFactory;
+import org.apache.hyracks.storage.am.lsm.common.util.ComponentUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests that the offsets marked by an {@link AbstractOffsetTrackingRecordReader} are written to the transaction log
+ * by the commit operator after the records read before them
+ */
+public class OffsetMarkerTest {
+
+    private static final IAType[] KEY_TYPES = { BuiltinType.AINT32 };
+    private static final ARecordType RECORD_TYPE = new ARecordType("TestRecordType", new String[] { "key", "value" },
+            new IAType[] { BuiltinType.AINT32, BuiltinType.AINT64 }, false);
+    private static final GenerationFunction[] RECORD_GEN_FUNCTION =
+            { GenerationFunction.DETERMINISTIC, GenerationFunction.DETERMINISTIC };
+    private static final boolean[] UNIQUE_RECORD_FIELDS = { true, false };
+    private static final ARecordType META_TYPE = null;
+    private static final GenerationFunction[] META_GEN_FUNCTION = null;
+    private static final boolean[] UNIQUE_META_FIELDS = null;
+    private static final int[] KEY_INDEXES = { 0 };
+    private static final int[] KEY_INDICATORS = { Index.RECORD_INDICATOR };
+    private static final List<Integer> KEY_INDICATORS_LIST = List.of(Index.RECORD_INDICATOR);
+    private static final int NUM_OF_RECORDS = 10000;
+    private static final int RECORDS_PER_MARKER = 1000;
+    private static final int SOURCE_PARTITION = 7;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Before
+    public void setUp() throws Exception {
+        TestHelper.deleteExistingInstanceFiles();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        TestHelper.deleteExistingInstanceFiles();
+    }
+
+    @Test
+    public void testMarkedOffsetsReachTransactionLog() throws Exception {
+        Path log = folder.newFile("log.adm").toPath();
+        StringBuilder data = new StringBuilder();
+        List<Long> expectedOffsets = new ArrayList<>();
+        for (int i = 0; i < NUM_OF_RECORDS; i++) {
+            data.append("{\"id\":").append(i).append("}\n");
+            if ((i + 1) % RECORDS_PER_MARKER == 0) {
+                expectedOffsets.add((long) data.toString().getBytes(StandardCharsets.UTF_8).length);
+            }
+        }
+        Files.write(log, data.toString().getBytes(StandardCharsets.UTF_8));
+        TestNodeController nc = new TestNodeController(null, false);
+        nc.init();
+        StorageComponentProvider storageManager = new StorageComponentProvider();
+        try {
+            TestNodeController.PrimaryIndexInfo indexInfo = nc.createPrimaryIndex(StorageTestUtils.DATASET,
+                    KEY_TYPES, RECORD_TYPE, META_TYPE, null, storageManager, KEY_INDEXES, KEY_INDICATORS_LIST, 0);
+            JobId jobId = nc.newJobId();
+            IHyracksTaskContext ctx = nc.createTestContext(jobId, 0, true);
+            ITransactionContext txnCtx = nc.getTransactionManager().beginTransaction(nc.getTxnJobId(ctx),
+                    new TransactionOptions(ITransactionManager.AtomicityLevel.ENTITY_LEVEL));
+            LSMPrimaryInsertOperatorNodePushable insertOp =
+                    nc.getInsertPipeline(ctx, StorageTestUtils.DATASET, KEY_TYPES, RECORD_TYPE, META_TYPE, null,
+                            KEY_INDEXES, KEY_INDICATORS_LIST, storageManager, null, null).getLeft();
+            insertOp.open();
+            RecordTupleGenerator tupleGenerator = new RecordTupleGenerator(RECORD_TYPE, META_TYPE, KEY_INDEXES,
+                    KEY_INDICATORS, RECORD_GEN_FUNCTION, UNIQUE_RECORD_FIELDS, META_GEN_FUNCTION, UNIQUE_META_FIELDS);
+            VSizeFrame frame = new VSizeFrame(ctx);
+            VSizeFrame marker = new VSizeFrame(ctx);
+            TaskUtil.put(HyracksConstants.KEY_MESSAGE, marker, ctx);
+            FrameTupleAppender tupleAppender = new FrameTupleAppender(frame);
+            try (FileLogRecordReader reader = new FileLogRecordReader(log, SOURCE_PARTITION, 0, 0)) {
+                for (int i = 0; i < NUM_OF_RECORDS; i++) {
+                    IRawRecord<char[]> record = reader.next();
+                    Assert.assertNotNull(record);
+                    DataflowUtils.addTupleToFrame(tupleAppender, tupleGenerator.next(), insertOp);
+                    if ((i + 1) % RECORDS_PER_MARKER == 0) {
+                        // what the feed controller does before flushing the records read so far
+                        Assert.assertTrue(reader.getProgressReporter().mark(marker));
+                        tupleAppender.flush(insertOp);
+                    }
+                }
+            }
+            insertOp.close();
+            nc.getTransactionManager().commitTransaction(txnCtx.getTxnId());
+            IndexDataflowHelperFactory iHelperFactory =
+                    new IndexDataflowHelperFactory(nc.getStorageManager(), indexInfo.getFileSplitProvider());
+            IIndexDataflowHelper dataflowHelper = iHelperFactory.create(ctx.getJobletContext().getServiceContext(), 0);
+            dataflowHelper.open();
+            LSMBTree btree = (LSMBTree) dataflowHelper.getIndexInstance();
+            ArrayBackedValueStorage buffer = new ArrayBackedValueStorage();
+            ComponentUtils.get(btree, ComponentUtils.MARKER_LSN_KEY, buffer);
+            long lsn = LongPointable.getLong(buffer.getByteArray(), buffer.getStartOffset());
+            // the markers are chained from the latest to the earliest
+            List<Long> loggedOffsets = new ArrayList<>();
+            LogReader logReader = nc.getTransactionLogReader(false);
+            while (lsn >= 0) {
+                ILogRecord logRecord = logReader.read(lsn);
+                lsn = logRecord.getPreviousMarkerLSN();
+                ByteBuffer loggedMarker = logRecord.getMarker();
+                Assert.assertEquals(SOURCE_PARTITION, AbstractOffsetTrackingRecordReader.getPartition(loggedMarker));
+                loggedOffsets.add(AbstractOffsetTrackingRecordReader.getOffset(loggedMarker));
+            }
+            logReader.close();
+            dataflowHelper.close();
+            Collections.reverse(loggedOffsets);
+            Assert.assertEquals(expectedOffsets, loggedOffsets);
+            nc.newJobId();
+            TestTupleCounterFrameWriter countOp =
+                    StorageTestUtils.create(nc.getSearchOutputDesc(KEY_TYPES, RECORD_TYPE, META_TYPE),
+                            Collections.emptyList(), Collections.emptyList(), false);
+            IPushRuntime emptyTupleOp = nc.getFullScanPipeline(countOp, ctx, StorageTestUtils.DATASET, KEY_TYPES,
+                    RECORD_TYPE, META_TYPE, new NoMergePolicyFactory(), null, null, KEY_INDEXES, KEY_INDICATORS_LIST,
+                    storageManager);
+            emptyTupleOp.open();
+            emptyTupleOp.close();
+            Assert.assertEquals(NUM_OF_RECORDS, countOp.getCount());
+        } finally {
+            nc.deInit();
+        }
+    }
+}
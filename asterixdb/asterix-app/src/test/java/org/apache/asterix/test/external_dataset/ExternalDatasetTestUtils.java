@@ -60,6 +60,7 @@ public class ExternalDatasetTestUtils {
     // This is used for a test to generate over 1000 number of files
     public static final String OVER_1000_OBJECTS_PATH = "over-1000-objects";
     public static final int OVER_1000_OBJECTS_COUNT = 2999;
+    public static final String HIVE_PARTITIONED_PATH = "hive-partitioned";
 
     private static Uploader playgroundDataLoader;
     private static Uploader fixedDataLoader;
@@ -134,6 +135,10 @@ public class ExternalDatasetTestUtils {
         loadParquetFiles();
         LOGGER.info("Parquet files added successfully");
 
+        LOGGER.info("Adding Hive-style partitioned files into " + HIVE_PARTITIONED_PATH);
+        loadHivePartitionedFiles();
+        LOGGER.info("Hive-style partitioned files added successfully");
+
         LOGGER.info("Files added successfully");
     }
 
@@ -372,6 +377,18 @@ public class ExternalDatasetTestUtils {
         }
     }
 
+    /**
+     * Loads objects whose keys are laid out as name=value segments. Some records lack the partition fields and some
+     * have different values for them, which the partition values replace
+     */
+    private static void loadHivePartitionedFiles() {
+        String path = HIVE_PARTITIONED_PATH + "/";
+        playgroundDataLoader.upload(path + "year=2022/month=12/part-0.json", "{\"id\":1,\"month\":\"x\"}\n{\"id\":2}");
+        playgroundDataLoader.upload(path + "year=2023/month=01/part-0.json", "{\"id\":3}\n{\"id\":4,\"year\":1999}");
+        playgroundDataLoader.upload(path + "year=2023/month=02/part-0.json", "{\"id\":5,\"month\":1}");
+        playgroundDataLoader.upload(path + "year=__HIVE_DEFAULT_PARTITION__/month=01/part-0.json", "{\"id\":6}");
+    }
+
     /**
      * Loads a combination of different file formats in the same path
      */
@@ -33,3 +33,9 @@ class Tests(object):
 
     def env_test(self, key):
         return os.environ[key]
+
+    def columnar_add(self, xs, ys):
+        return [x + y for x, y in zip(xs, ys)]
+
+    def columnar_fail(self, xs):
+        raise ArithmeticError("columnar oof")
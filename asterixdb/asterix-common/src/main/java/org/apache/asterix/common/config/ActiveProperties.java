@@ -20,6 +20,7 @@ package org.apache.asterix.common.config;
 
 import static org.apache.hyracks.control.common.config.OptionTypes.LONG_BYTE_UNIT;
 import static org.apache.hyracks.control.common.config.OptionTypes.POSITIVE_INTEGER;
+import static org.apache.hyracks.util.StorageUtil.StorageUnit.GIGABYTE;
 import static org.apache.hyracks.util.StorageUtil.StorageUnit.MEGABYTE;
 
 import org.apache.hyracks.api.config.IOption;
@@ -34,6 +35,10 @@ public class ActiveProperties extends AbstractProperties {
                 LONG_BYTE_UNIT,
                 StorageUtil.getLongSizeInBytes(64L, MEGABYTE),
                 "The memory budget (in bytes) for the active runtime"),
+        ACTIVE_SPILL_GLOBAL_BUDGET(
+                LONG_BYTE_UNIT,
+                StorageUtil.getLongSizeInBytes(4L, GIGABYTE),
+                "The disk budget (in bytes) for the frames spilled by all feed connections of a node"),
         ACTIVE_STOP_TIMEOUT(
                 POSITIVE_INTEGER,
                 3600,
@@ -82,6 +87,10 @@ public class ActiveProperties extends AbstractProperties {
         return accessor.getLong(Option.ACTIVE_MEMORY_GLOBAL_BUDGET);
     }
 
+    public long getSpillGlobalBudget() {
+        return accessor.getLong(Option.ACTIVE_SPILL_GLOBAL_BUDGET);
+    }
+
     public int getActiveStopTimeout() {
         return accessor.getInt(Option.ACTIVE_STOP_TIMEOUT);
     }
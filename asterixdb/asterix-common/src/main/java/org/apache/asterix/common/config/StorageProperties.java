@@ -58,6 +58,8 @@ public class StorageProperties extends AbstractProperties {
         STORAGE_COMPRESSION_BLOCK(STRING, "snappy"),
         STORAGE_DISK_FORCE_BYTES(LONG_BYTE_UNIT, StorageUtil.getLongSizeInBytes(16, MEGABYTE)),
         STORAGE_IO_SCHEDULER(STRING, "greedy"),
+        STORAGE_IO_SCHEDULER_PRIORITIZE_FLUSHES(BOOLEAN, false),
+        STORAGE_IO_SCHEDULER_MAX_MERGE_YIELD_TIME(POSITIVE_INTEGER, (int) TimeUnit.SECONDS.toMillis(10)),
         STORAGE_WRITE_RATE_LIMIT(LONG_BYTE_UNIT, 0L),
         STORAGE_MAX_CONCURRENT_FLUSHES_PER_PARTITION(NONNEGATIVE_INTEGER, 2),
         STORAGE_MAX_SCHEDULED_MERGES_PER_PARTITION(NONNEGATIVE_INTEGER, 8),
@@ -132,6 +134,11 @@ public class StorageProperties extends AbstractProperties {
                     return "The number of bytes before each disk force (fsync)";
                 case STORAGE_IO_SCHEDULER:
                     return "The I/O scheduler for LSM flush and merge operations";
+                case STORAGE_IO_SCHEDULER_PRIORITIZE_FLUSHES:
+                    return "Indicates whether running merge operations should yield the disk to flush operations "
+                            + "running on the same disk";
+                case STORAGE_IO_SCHEDULER_MAX_MERGE_YIELD_TIME:
+                    return "The maximum total time (in milliseconds) a merge operation yields to flush operations";
                 case STORAGE_MAX_CONCURRENT_FLUSHES_PER_PARTITION:
                     return "The maximum number of concurrently executed flushes per partition (0 means unlimited)";
                 case STORAGE_MAX_SCHEDULED_MERGES_PER_PARTITION:
@@ -284,6 +291,14 @@ public class StorageProperties extends AbstractProperties {
         return SYSTEM_RESERVED_DATASETS;
     }
 
+    public boolean isIoSchedulerPrioritizeFlushes() {
+        return accessor.getBoolean(Option.STORAGE_IO_SCHEDULER_PRIORITIZE_FLUSHES);
+    }
+
+    public int getIoSchedulerMaxMergeYieldTime() {
+        return accessor.getInt(Option.STORAGE_IO_SCHEDULER_MAX_MERGE_YIELD_TIME);
+    }
+
     public long getWriteRateLimit() {
         return accessor.getLong(Option.STORAGE_WRITE_RATE_LIMIT);
     }
@@ -273,6 +273,7 @@ public enum ErrorCode implements IError {
     UNSUPPORTED_ICEBERG_TABLE(1178),
     UNSUPPORTED_ICEBERG_FORMAT_VERSION(1179),
     ERROR_READING_ICEBERG_METADATA(1180),
+    INVALID_HIVE_PARTITION_VALUE(1181),
 
     // Feed errors
     DATAFLOW_ILLEGAL_STATE(3001),
@@ -390,6 +391,7 @@ public enum ErrorCode implements IError {
     PARSER_DATA_PARSER_UNEXPECTED_TOKEN(3120),
     REQUIRED_PARAM_OR_PARAM_IF_PARAM_IS_PRESENT(3121),
     PARAM_NOT_ALLOWED_IF_PARAM_IS_PRESENT(3122),
+    FEED_OFFSET_TRACKING_WITH_FLOW_CONTROL(3123),
 
     // Lifecycle management errors
     DUPLICATE_PARTITION_ID(4000),
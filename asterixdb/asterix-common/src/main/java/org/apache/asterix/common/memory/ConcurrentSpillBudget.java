@@ -0,0 +1,59 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.asterix.common.memory;
+
+/**
+ * A node-wide budget (in bytes) for the data spilled to disk by the active runtimes. Each spiller acquires the size
+ * of a spilled frame before writing it and releases it once the frame is read back.
+ */
+public class ConcurrentSpillBudget {
+    private final String nodeId;
+    private final long budget;
+    private long used;
+
+    public ConcurrentSpillBudget(String nodeId, long budgetInBytes) {
+        this.nodeId = nodeId;
+        this.budget = budgetInBytes;
+    }
+
+    public synchronized boolean acquire(long bytes) {
+        if (used + bytes > budget) {
+            return false;
+        }
+        used += bytes;
+        return true;
+    }
+
+    public synchronized void release(long bytes) {
+        used = Math.max(0, used - bytes);
+    }
+
+    public synchronized long getUsed() {
+        return used;
+    }
+
+    public long getBudget() {
+        return budget;
+    }
+
+    @Override
+    public String toString() {
+        return "ConcurrentSpillBudget [node=" + nodeId + ", used=" + getUsed() + ", budget=" + budget + "]";
+    }
+}
@@ -79,13 +79,17 @@ public interface IExternalLangIPCProto {
 
     void helo() throws IOException, AsterixException;
 
-    long init(String module, String clazz, String fn) throws IOException, AsterixException;
+    long init(String module, String clazz, String fn, boolean columnar) throws IOException, AsterixException;
 
     ByteBuffer call(long functionId, IAType[] argTypes, IValueReference[] argValues, boolean nullCall)
             throws IOException, AsterixException;
 
     ByteBuffer callMulti(long key, ArrayBackedValueStorage args, int numTuples) throws IOException, AsterixException;
 
+    void sendCallMulti(long key, ArrayBackedValueStorage args, int numTuples) throws IOException;
+
+    ByteBuffer receiveCallMulti() throws IOException, AsterixException;
+
     //For future use with interpreter reuse between jobs.
     void quit() throws HyracksDataException;
 
@@ -37,4 +37,13 @@ public interface ILibraryEvaluator extends IDeallocatable {
     ByteBuffer call(long id, IAType[] argTypes, IValueReference[] valueReferences, boolean nullCall) throws IOException;
 
     ByteBuffer callMulti(long id, ArrayBackedValueStorage arguments, int numTuples) throws IOException;
+
+    /**
+     * Same as {@link #callMulti(long, ArrayBackedValueStorage, int)}, but returns without waiting for the result, which
+     * is then obtained by {@link #receiveMulti()}. This allows sending batches to multiple evaluators before waiting
+     * for any of them.
+     */
+    void sendMulti(long id, ArrayBackedValueStorage arguments, int numTuples) throws IOException;
+
+    ByteBuffer receiveMulti() throws IOException;
 }
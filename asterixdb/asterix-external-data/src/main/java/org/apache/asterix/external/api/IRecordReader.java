@@ -93,6 +93,14 @@ public interface IRecordReader<T> extends Closeable {
         return ExternalDataConstants.EMPTY_STRING;
     }
 
+    /**
+     * @return the name of the source (e.g., the object key) of the current record, which, unlike the
+     * {@link #getDataSourceName()} of warnings, is never redacted
+     */
+    default Supplier<String> getSourceName() {
+        return getDataSourceName();
+    }
+
     default LongSupplier getLineNumber() {
         return ExternalDataConstants.NO_LINES;
     }
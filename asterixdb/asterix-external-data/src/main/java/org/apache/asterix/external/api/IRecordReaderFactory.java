@@ -49,4 +49,15 @@ public interface IRecordReaderFactory<T> extends IExternalDataSourceFactory {
         return ExternalDataConstants.ALL_FORMATS;
     }
 
+    /**
+     * Readers that track source offsets report them as feed markers that are committed with the records that precede
+     * them. This only holds if no flow control queues, spills, or discards frames between the intake and the storage
+     * partitions, so feeds of such readers can only be connected using policies that disable flow control.
+     *
+     * @return true if the readers report the source offsets of the records they read, false otherwise
+     */
+    default boolean tracksSourceOffsets() {
+        return false;
+    }
+
 }
@@ -24,16 +24,21 @@ import java.util.concurrent.atomic.AtomicBoolean;
 import org.apache.asterix.active.message.ActiveManagerMessage;
 import org.apache.asterix.common.exceptions.ErrorCode;
 import org.apache.asterix.common.exceptions.RuntimeDataException;
+import org.apache.asterix.external.api.IFeedMarker;
 import org.apache.asterix.external.api.IRawRecord;
 import org.apache.asterix.external.api.IRecordDataParser;
 import org.apache.asterix.external.api.IRecordReader;
 import org.apache.asterix.external.util.ExternalDataConstants;
 import org.apache.asterix.external.util.IFeedLogManager;
 import org.apache.hyracks.api.comm.IFrameWriter;
+import org.apache.hyracks.api.comm.VSizeFrame;
 import org.apache.hyracks.api.context.IHyracksTaskContext;
 import org.apache.hyracks.api.exceptions.HyracksDataException;
 import org.apache.hyracks.api.util.CleanupUtils;
+import org.apache.hyracks.api.util.HyracksConstants;
 import org.apache.hyracks.dataflow.common.comm.io.ArrayTupleBuilder;
+import org.apache.hyracks.dataflow.common.io.MessagingFrameTupleAppender;
+import org.apache.hyracks.dataflow.common.utils.TaskUtil;
 import org.apache.hyracks.storage.am.common.api.ITupleFilter;
 import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.LogManager;
@@ -167,10 +172,39 @@ public class FeedRecordDataFlowController<T> extends AbstractFeedDataFlowControl
         }
     }
 
+    @Override
+    public void flush() throws HyracksDataException {
+        VSizeFrame message = mark();
+        super.flush();
+        if (message != null) {
+            // the marker was forwarded with the flushed frames
+            message.reset();
+            message.getBuffer().put(MessagingFrameTupleAppender.NULL_FEED_MESSAGE);
+            message.getBuffer().flip();
+        }
+    }
+
+    /**
+     * Write the progress of the record reader into the feed message, if the reader reports its progress, so that it
+     * is written to the transaction log after the records forwarded before it are committed
+     *
+     * @return the message if it was marked, {@code null} otherwise
+     */
+    private VSizeFrame mark() {
+        IFeedMarker progressReporter = recordReader.getProgressReporter();
+        if (progressReporter == null) {
+            return null;
+        }
+        VSizeFrame message = TaskUtil.get(HyracksConstants.KEY_MESSAGE, ctx);
+        return message != null && progressReporter.mark(message) ? message : null;
+    }
+
     private Throwable finish(Throwable failure) {
         Throwable th = CleanupUtils.close(recordReader, failure);
         if (th == null) {
             try {
+                // the marker is forwarded when the remaining frames are flushed on close
+                mark();
                 tupleForwarder.complete();
             } catch (Throwable completeFailure) {
                 th = completeFailure;
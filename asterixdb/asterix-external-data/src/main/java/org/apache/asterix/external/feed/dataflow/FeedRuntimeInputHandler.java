@@ -24,6 +24,7 @@ import java.util.concurrent.LinkedBlockingQueue;
 
 import org.apache.asterix.active.ActiveRuntimeId;
 import org.apache.asterix.common.memory.ConcurrentFramePool;
+import org.apache.asterix.common.memory.ConcurrentSpillBudget;
 import org.apache.asterix.common.memory.FrameAction;
 import org.apache.asterix.external.feed.management.FeedConnectionId;
 import org.apache.asterix.external.feed.policy.FeedPolicyAccessor;
@@ -52,6 +53,8 @@ public class FeedRuntimeInputHandler extends AbstractUnaryInputUnaryOutputOperat
 
     private static final Logger LOGGER = LogManager.getLogger();
     private static final double MAX_SPILL_USED_BEFORE_RESUME = 0.8;
+    // the node-wide spill budget is released by other connections, so its waiters are not notified
+    private static final long GLOBAL_SPILL_BUDGET_WAIT_MS = 100;
     private static final boolean DEBUG = false;
     private static final ByteBuffer POISON_PILL = ByteBuffer.allocate(0);
     private static final ByteBuffer SPILLED = ByteBuffer.allocate(0);
@@ -76,10 +79,16 @@ public class FeedRuntimeInputHandler extends AbstractUnaryInputUnaryOutputOperat
     public FeedRuntimeInputHandler(IHyracksTaskContext ctx, FeedConnectionId connectionId, ActiveRuntimeId runtimeId,
             IFrameWriter writer, FeedPolicyAccessor fpa, FrameTupleAccessor fta, ConcurrentFramePool framePool)
             throws HyracksDataException {
+        this(ctx, connectionId, runtimeId, writer, fpa, fta, framePool, null);
+    }
+
+    public FeedRuntimeInputHandler(IHyracksTaskContext ctx, FeedConnectionId connectionId, ActiveRuntimeId runtimeId,
+            IFrameWriter writer, FeedPolicyAccessor fpa, FrameTupleAccessor fta, ConcurrentFramePool framePool,
+            ConcurrentSpillBudget spillBudget) throws HyracksDataException {
         this.writer = writer;
         this.spiller = fpa.spillToDiskOnCongestion() ? new FrameSpiller(ctx,
                 connectionId.getFeedId() + "_" + connectionId.getDatasetName() + "_" + runtimeId.getPartition(),
-                fpa.getMaxSpillOnDisk()) : null;
+                fpa.getMaxSpillOnDisk(), spillBudget, fpa.compressSpilledData()) : null;
         this.exceptionHandler = new FeedExceptionHandler(ctx, fta);
         this.fpa = fpa;
         this.framePool = framePool;
@@ -126,6 +135,11 @@ public class FeedRuntimeInputHandler extends AbstractUnaryInputUnaryOutputOperat
             LOGGER.log(Level.WARN, "interrupted", e);
             Thread.currentThread().interrupt();
         }
+        if (LOGGER.isInfoEnabled()) {
+            LOGGER.info("closing input handler: total frames = {}, processed in memory = {}, spilled = {}, "
+                    + "discarded = {}, stalled = {}, pending frames = {}, spilled bytes = {}", total,
+                    numProcessedInMemory, numSpilled, numDiscarded, numStalled, getPendingFrames(), getSpilledBytes());
+        }
         try {
             if (spiller != null) {
                 spiller.close();
@@ -263,7 +277,10 @@ public class FeedRuntimeInputHandler extends AbstractUnaryInputUnaryOutputOperat
                 LOGGER.info("in stall(frame). Spilling is enabled so we will attempt to spill");
             }
             waitforSpillSpace();
-            spiller.spill(frame);
+            while (!spiller.spill(frame)) {
+                // the node-wide spill budget is consumed by other connections. Block the producer until it is released
+                waitforGlobalSpillSpace();
+            }
             numSpilled++;
             inbox.put(SPILLED);
             return;
@@ -295,6 +312,12 @@ public class FeedRuntimeInputHandler extends AbstractUnaryInputUnaryOutputOperat
         }
     }
 
+    private void waitforGlobalSpillSpace() throws InterruptedException {
+        synchronized (spiller) {
+            spiller.wait(GLOBAL_SPILL_BUDGET_WAIT_MS);
+        }
+    }
+
     private void process(ByteBuffer frame) throws HyracksDataException, InterruptedException {
         // Get a page from frame pool
         ByteBuffer next = (frame.capacity() <= framePool.getMaxFrameSize()) ? getFreeBuffer(frame.capacity()) : null;
@@ -363,6 +386,20 @@ public class FeedRuntimeInputHandler extends AbstractUnaryInputUnaryOutputOperat
         return numStalled;
     }
 
+    /**
+     * @return the number of frames that were received but not yet consumed (i.e., the ingestion lag in frames)
+     */
+    public int getPendingFrames() {
+        return inbox.size() + (spiller != null ? spiller.remaining() : 0);
+    }
+
+    /**
+     * @return the number of bytes that are currently spilled to disk
+     */
+    public long getSpilledBytes() {
+        return spiller != null ? spiller.getSpilledBytes() : 0;
+    }
+
     private class FrameTransporter implements Runnable {
         private volatile Throwable cause;
         private int consumed = 0;
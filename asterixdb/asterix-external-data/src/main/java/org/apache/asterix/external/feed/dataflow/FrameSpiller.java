@@ -20,6 +20,8 @@ package org.apache.asterix.external.feed.dataflow;
 
 import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
@@ -28,10 +30,14 @@ import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.util.ArrayDeque;
 
+import org.apache.asterix.common.memory.ConcurrentSpillBudget;
 import org.apache.asterix.common.utils.StoragePathUtil;
+import org.apache.asterix.external.feed.policy.FeedPolicyAccessor;
 import org.apache.hyracks.api.comm.VSizeFrame;
+import org.apache.hyracks.api.compression.ICompressorDecompressor;
 import org.apache.hyracks.api.context.IHyracksTaskContext;
 import org.apache.hyracks.api.exceptions.HyracksDataException;
+import org.apache.hyracks.storage.common.compression.SnappyCompressorDecompressorFactory;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -40,19 +46,25 @@ import org.apache.logging.log4j.Logger;
  * excess tuples to disk if an operator
  * cannot process incoming data at its arrival rate. The maximum size of data (tuples) that can be spilled to disk is
  * configured using the property
- * "max.spill.size.on.disk"
+ * "max.spill.size.on.disk" and is further bounded by the node-wide spill budget shared by all feed connections.
+ * Spilled frames are compressed unless "compress.spilled.data" is set to false.
  */
 public class FrameSpiller {
     private static final Logger LOGGER = LogManager.getLogger();
     private static final int FRAMES_PER_FILE = 1024;
+    // a compressed frame is prefixed by its uncompressed and compressed lengths
+    private static final int COMPRESSED_FRAME_HEADER_SIZE = 2 * Integer.BYTES;
     public static final double MAX_SPILL_USED_BEFORE_RESUME = 0.8;
 
     private final String fileNamePrefix;
     private final ArrayDeque<File> files = new ArrayDeque<>();
     private final VSizeFrame frame;
     private final int budget; // Max current frames in disk allowed
-    private BufferedOutputStream bos; // Current output stream
-    private BufferedInputStream bis; // Current input stream
+    private final ConcurrentSpillBudget globalBudget; // Max bytes in disk allowed for all spillers of the node
+    private final ICompressorDecompressor compressor; // null if spilled frames are not compressed
+    private ByteBuffer compressedBuffer;
+    private DataOutputStream bos; // Current output stream
+    private DataInputStream bis; // Current input stream
     private File currentWriteFile; // Current write file
     private File currentReadFile; // Current read file
     private int currentWriteCount = 0; // Current file write count
@@ -60,12 +72,25 @@ public class FrameSpiller {
     private int totalWriteCount = 0; // Total frames spilled
     private int totalReadCount = 0; // Total frames read
     private int fileCount = 0; // How many spill files?
+    private long spilledBytes = 0; // Bytes currently on disk
 
     public FrameSpiller(IHyracksTaskContext ctx, String fileNamePrefix, long budgetInBytes)
             throws HyracksDataException {
+        this(ctx, fileNamePrefix, budgetInBytes, null, false);
+    }
+
+    public FrameSpiller(IHyracksTaskContext ctx, String fileNamePrefix, long budgetInBytes,
+            ConcurrentSpillBudget globalBudget, boolean compress) throws HyracksDataException {
         this.frame = new VSizeFrame(ctx);
         this.fileNamePrefix = fileNamePrefix;
-        this.budget = (int) Math.min(budgetInBytes / ctx.getInitialFrameSize(), Integer.MAX_VALUE);
+        this.globalBudget = globalBudget;
+        this.compressor = compress ? new SnappyCompressorDecompressorFactory().createInstance() : null;
+        if (budgetInBytes == FeedPolicyAccessor.NO_LIMIT && globalBudget != null) {
+            // only bounded by the node-wide budget
+            this.budget = Integer.MAX_VALUE;
+        } else {
+            this.budget = (int) Math.min(budgetInBytes / ctx.getInitialFrameSize(), Integer.MAX_VALUE);
+        }
         if (budget <= 0) {
             throw new HyracksDataException("Invalid budget " + budgetInBytes + ". Budget must be larger than 0");
         }
@@ -75,8 +100,8 @@ public class FrameSpiller {
         try {
             this.currentWriteFile = StoragePathUtil.createFile(fileNamePrefix, fileCount++);
             this.currentReadFile = currentWriteFile;
-            this.bos = new BufferedOutputStream(new FileOutputStream(currentWriteFile));
-            this.bis = new BufferedInputStream(new FileInputStream(currentReadFile));
+            this.bos = createOutputStream(currentWriteFile);
+            this.bis = createInputStream(currentReadFile);
         } catch (Exception e) {
             LOGGER.fatal("Unable to create spill file", e);
             throw HyracksDataException.create(e);
@@ -91,6 +116,10 @@ public class FrameSpiller {
         return totalWriteCount - totalReadCount;
     }
 
+    public synchronized long getSpilledBytes() {
+        return spilledBytes;
+    }
+
     public synchronized ByteBuffer next() throws HyracksDataException {
         frame.reset();
         if (totalReadCount == totalWriteCount) {
@@ -100,18 +129,15 @@ public class FrameSpiller {
             if (currentReadFile == null) {
                 if (!files.isEmpty()) {
                     currentReadFile = files.pop();
-                    bis = new BufferedInputStream(new FileInputStream(currentReadFile));
+                    bis = createInputStream(currentReadFile);
                 } else {
                     return null;
                 }
             }
-            // read first frame
-            bis.read(frame.getBuffer().array(), 0, frame.getFrameSize());
-            byte frameCount = frame.getBuffer().array()[0];
-            if (frameCount > 1) {
-                // expand the frame keeping existing data
-                frame.ensureFrameSize(frame.getMinSize() * frameCount);
-                bis.read(frame.getBuffer().array(), frame.getMinSize(), frame.getFrameSize() - frame.getMinSize());
+            long frameBytes = compressor == null ? readFrame() : readCompressedFrame();
+            spilledBytes -= frameBytes;
+            if (globalBudget != null) {
+                globalBudget.release(frameBytes);
             }
             currentReadCount++;
             totalReadCount++;
@@ -122,7 +148,7 @@ public class FrameSpiller {
                 Files.delete(currentReadFile.toPath());
                 if (!files.isEmpty()) {
                     currentReadFile = files.pop();
-                    bis = new BufferedInputStream(new FileInputStream(currentReadFile));
+                    bis = createInputStream(currentReadFile);
                 } else {
                     currentReadFile = null;
                 }
@@ -137,6 +163,32 @@ public class FrameSpiller {
         }
     }
 
+    private int readFrame() throws IOException {
+        // read first frame
+        bis.readFully(frame.getBuffer().array(), 0, frame.getFrameSize());
+        byte frameCount = frame.getBuffer().array()[0];
+        if (frameCount > 1) {
+            // expand the frame keeping existing data
+            frame.ensureFrameSize(frame.getMinSize() * frameCount);
+            bis.readFully(frame.getBuffer().array(), frame.getMinSize(), frame.getFrameSize() - frame.getMinSize());
+        }
+        return frame.getFrameSize();
+    }
+
+    private int readCompressedFrame() throws IOException {
+        int uncompressedLength = bis.readInt();
+        int compressedLength = bis.readInt();
+        ensureCompressedBufferSize(compressedLength);
+        bis.readFully(compressedBuffer.array(), 0, compressedLength);
+        compressedBuffer.limit(compressedLength);
+        frame.ensureFrameSize(uncompressedLength);
+        ByteBuffer buffer = frame.getBuffer();
+        buffer.clear();
+        compressor.uncompress(compressedBuffer, buffer);
+        buffer.clear();
+        return COMPRESSED_FRAME_HEADER_SIZE + compressedLength;
+    }
+
     public double usedBudget() {
         return (double) (totalWriteCount - totalReadCount) / (double) budget;
     }
@@ -146,16 +198,29 @@ public class FrameSpiller {
             if (totalWriteCount - totalReadCount >= budget) {
                 return false;
             }
+            ByteBuffer compressed = compressor == null ? null : compress(frame);
+            int frameBytes = compressed == null ? frame.array().length
+                    : COMPRESSED_FRAME_HEADER_SIZE + compressed.remaining();
+            if (globalBudget != null && !globalBudget.acquire(frameBytes)) {
+                return false;
+            }
             currentWriteCount++;
             totalWriteCount++;
-            bos.write(frame.array());
+            spilledBytes += frameBytes;
+            if (compressed == null) {
+                bos.write(frame.array());
+            } else {
+                bos.writeInt(frame.array().length);
+                bos.writeInt(compressed.remaining());
+                bos.write(compressed.array(), compressed.position(), compressed.remaining());
+            }
             bos.flush();
             if (currentWriteCount >= FRAMES_PER_FILE) {
                 bos.close();
                 currentWriteCount = 0;
                 currentWriteFile = StoragePathUtil.createFile(fileNamePrefix, fileCount++);
                 files.add(currentWriteFile);
-                bos = new BufferedOutputStream(new FileOutputStream(currentWriteFile));
+                bos = createOutputStream(currentWriteFile);
             }
             return true;
         } catch (IOException e) {
@@ -164,6 +229,27 @@ public class FrameSpiller {
         }
     }
 
+    private ByteBuffer compress(ByteBuffer frame) throws HyracksDataException {
+        byte[] array = frame.array();
+        ensureCompressedBufferSize(compressor.computeCompressedBufferSize(array.length));
+        return compressor.compress(ByteBuffer.wrap(array), compressedBuffer);
+    }
+
+    private void ensureCompressedBufferSize(int size) {
+        if (compressedBuffer == null || compressedBuffer.capacity() < size) {
+            compressedBuffer = ByteBuffer.allocate(size);
+        }
+        compressedBuffer.clear();
+    }
+
+    private static DataOutputStream createOutputStream(File file) throws IOException {
+        return new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+    }
+
+    private static DataInputStream createInputStream(File file) throws IOException {
+        return new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+    }
+
     public synchronized void close() {
         // Do proper cleanup
         if (bos != null) {
@@ -197,6 +283,10 @@ public class FrameSpiller {
                 LOGGER.warn(e.getMessage(), e);
             }
         }
+        if (globalBudget != null) {
+            globalBudget.release(spilledBytes);
+        }
+        spilledBytes = 0;
         currentWriteCount = 0;
         currentReadCount = 0;
         totalWriteCount = 0;
@@ -43,12 +43,24 @@ public class FeedPolicyAccessor implements Serializable {
     /** the maximum size of data (tuples) that can be spilled to disk **/
     public static final String MAX_SPILL_SIZE_ON_DISK = "max.spill.size.on.disk";
 
+    /** compress the tuples that are spilled to disk **/
+    public static final String COMPRESS_SPILLED_DATA = "compress.spilled.data";
+
     /** discard tuples altogether if an operator cannot process incoming data at its arrival rate **/
     public static final String DISCARD_ON_CONGESTION = "discard.on.congestion";
 
     /** maximum fraction of ingested data that can be discarded **/
     public static final String MAX_FRACTION_DISCARD = "max.fraction.discard";
 
+    /**
+     * --------------------------
+     * ingestion configuration
+     * --------------------------
+     **/
+
+    /** apply each frame of an upsert feed as a batch sorted by primary key, keeping the last change of each key **/
+    public static final String BATCH_UPSERTS = "batch.upserts";
+
     /** elasticity **/
     public static final String ELASTIC = "elastic";
 
@@ -80,6 +92,10 @@ public class FeedPolicyAccessor implements Serializable {
         return getBooleanPropertyValue(SPILL_TO_DISK_ON_CONGESTION, false);
     }
 
+    public boolean compressSpilledData() {
+        return getBooleanPropertyValue(COMPRESS_SPILLED_DATA, true);
+    }
+
     public boolean discardOnCongestion() {
         return getMaxFractionDiscard() > 0;
     }
@@ -88,6 +104,10 @@ public class FeedPolicyAccessor implements Serializable {
         return getLongPropertyValue(MAX_SPILL_SIZE_ON_DISK, NO_LIMIT);
     }
 
+    public boolean batchUpserts() {
+        return getBooleanPropertyValue(BATCH_UPSERTS, false);
+    }
+
     public float getMaxFractionDiscard() {
         return getFloatPropertyValue(MAX_FRACTION_DISCARD, 0);
     }
@@ -36,11 +36,19 @@ public abstract class AbstractExternalInputStream extends AbstractMultipleInputS
 
     // File fields
     protected final List<String> filePaths;
+    // The [start, end) byte range to read of each file (null to read the entire file)
+    protected final List<long[]> fileRanges;
     protected int nextFileIndex = 0;
 
     public AbstractExternalInputStream(Map<String, String> configuration, List<String> filePaths) {
+        this(configuration, filePaths, null);
+    }
+
+    public AbstractExternalInputStream(Map<String, String> configuration, List<String> filePaths,
+            List<long[]> fileRanges) {
         this.configuration = configuration;
         this.filePaths = filePaths;
+        this.fileRanges = fileRanges;
     }
 
     @Override
@@ -74,6 +82,13 @@ public abstract class AbstractExternalInputStream extends AbstractMultipleInputS
 
     protected abstract boolean getInputStream() throws IOException;
 
+    /**
+     * @return the [start, end) byte range to read of the current file, or null if the entire file should be read
+     */
+    protected long[] getFileRange() {
+        return fileRanges == null ? null : fileRanges.get(nextFileIndex);
+    }
+
     @Override
     public boolean stop() {
         return false;
@@ -72,6 +72,8 @@ public abstract class AbstractExternalInputStreamFactory implements IInputStream
     public static class PartitionWorkLoadBasedOnSize implements Serializable {
         private static final long serialVersionUID = 1L;
         private final List<String> filePaths = new ArrayList<>();
+        // The [start, end) byte range to read of each file, or null to read the entire file
+        private final List<long[]> fileRanges = new ArrayList<>();
         private long totalSize = 0;
 
         public PartitionWorkLoadBasedOnSize() {
@@ -81,11 +83,22 @@ public abstract class AbstractExternalInputStreamFactory implements IInputStream
             return filePaths;
         }
 
+        public List<long[]> getFileRanges() {
+            return fileRanges;
+        }
+
         public void addFilePath(String filePath, long size) {
             this.filePaths.add(filePath);
+            this.fileRanges.add(null);
             this.totalSize += size;
         }
 
+        public void addFileSplit(String filePath, long start, long end) {
+            this.filePaths.add(filePath);
+            this.fileRanges.add(new long[] { start, end });
+            this.totalSize += end - start;
+        }
+
         public long getTotalSize() {
             return totalSize;
         }
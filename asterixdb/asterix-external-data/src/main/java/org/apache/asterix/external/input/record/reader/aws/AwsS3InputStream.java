@@ -20,7 +20,9 @@ package org.apache.asterix.external.input.record.reader.aws;
 
 import static org.apache.hyracks.api.util.ExceptionUtils.getMessageOrToString;
 
+import java.io.FilterInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
@@ -30,13 +32,15 @@ import org.apache.asterix.common.exceptions.CompilationException;
 import org.apache.asterix.common.exceptions.ErrorCode;
 import org.apache.asterix.common.exceptions.RuntimeDataException;
 import org.apache.asterix.external.input.record.reader.abstracts.AbstractExternalInputStream;
+import org.apache.asterix.external.input.stream.LineAlignedRangeInputStream;
 import org.apache.asterix.external.util.ExternalDataConstants;
+import org.apache.asterix.external.util.ExternalDataUtils;
 import org.apache.asterix.external.util.aws.s3.S3Utils;
-import org.apache.commons.lang3.StringUtils;
 import org.apache.hyracks.api.exceptions.HyracksDataException;
 import org.apache.hyracks.api.util.CleanupUtils;
 import org.apache.hyracks.util.LogRedactionUtil;
 
+import software.amazon.awssdk.core.ResponseInputStream;
 import software.amazon.awssdk.core.exception.SdkException;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
@@ -51,7 +55,12 @@ public class AwsS3InputStream extends AbstractExternalInputStream {
     private static final int MAX_RETRIES = 5; // We will retry 5 times in case of internal error from AWS S3 service
 
     public AwsS3InputStream(Map<String, String> configuration, List<String> filePaths) throws HyracksDataException {
-        super(configuration, filePaths);
+        this(configuration, filePaths, null);
+    }
+
+    public AwsS3InputStream(Map<String, String> configuration, List<String> filePaths, List<long[]> fileRanges)
+            throws HyracksDataException {
+        super(configuration, filePaths, fileRanges);
         this.s3Client = buildAwsS3Client(configuration);
         this.bucket = configuration.get(ExternalDataConstants.CONTAINER_NAME_FIELD_NAME);
     }
@@ -59,20 +68,43 @@ public class AwsS3InputStream extends AbstractExternalInputStream {
     @Override
     protected boolean getInputStream() throws IOException {
         String fileName = filePaths.get(nextFileIndex);
+        long[] range = getFileRange();
         GetObjectRequest.Builder getObjectBuilder = GetObjectRequest.builder();
-        GetObjectRequest getObjectRequest = getObjectBuilder.bucket(bucket).key(filePaths.get(nextFileIndex)).build();
+        getObjectBuilder.bucket(bucket).key(filePaths.get(nextFileIndex));
+        if (range != null) {
+            // Start one byte early to know whether the range starts at the beginning of a line. The end is left open
+            // as the last line of the range may cross its end
+            getObjectBuilder.range("bytes=" + Math.max(range[0] - 1, 0) + "-");
+        }
+        GetObjectRequest getObjectRequest = getObjectBuilder.build();
         // Have a reference to the S3 stream to ensure that if GZipInputStream causes an IOException because of reading
         // the header, then the S3 stream gets closed in the close method
         if (!doGetInputStream(getObjectRequest)) {
             return false;
         }
-        // Use gzip stream if needed
-        if (StringUtils.endsWithIgnoreCase(fileName, ".gz") || StringUtils.endsWithIgnoreCase(fileName, ".gzip")) {
+        if (range != null) {
+            in = new LineAlignedRangeInputStream(abortOnClose((ResponseInputStream<?>) in), range[0], range[1]);
+        } else if (ExternalDataUtils.isGzipFile(fileName)) {
+            // Use gzip stream if needed
             in = new GZIPInputStream(in, ExternalDataConstants.DEFAULT_BUFFER_SIZE);
         }
         return true;
     }
 
+    /**
+     * A ranged stream is closed before reaching the end of the object. Closing the S3 stream would drain the rest of
+     * the object (to reuse the connection), so the request is aborted instead.
+     */
+    private static InputStream abortOnClose(ResponseInputStream<?> stream) {
+        return new FilterInputStream(stream) {
+            @Override
+            public void close() throws IOException {
+                stream.abort();
+                super.close();
+            }
+        };
+    }
+
     /**
      * Get the input stream. If an error is encountered, depending on the error code, a retry might be favorable.
      *
@@ -41,7 +41,8 @@ public class AwsS3InputStreamFactory extends AbstractExternalInputStreamFactory
 
     @Override
     public AsterixInputStream createInputStream(IHyracksTaskContext ctx, int partition) throws HyracksDataException {
-        return new AwsS3InputStream(configuration, partitionWorkLoadsBasedOnSize.get(partition).getFilePaths());
+        PartitionWorkLoadBasedOnSize workload = partitionWorkLoadsBasedOnSize.get(partition);
+        return new AwsS3InputStream(configuration, workload.getFilePaths(), workload.getFileRanges());
     }
 
     @Override
@@ -69,6 +70,9 @@ public class AwsS3InputStreamFactory extends AbstractExternalInputStreamFactory
      * Distribution:
      * Partition1: [File1]
      * Partition2: [File2, File3, File4]
+     * <p>
+     * If a split size is configured, objects larger than the split size are divided into line-aligned ranges of that
+     * size, which are distributed the same way (e.g., File1 with a 256kb split size is read by 4 partitions).
      *
      * @param fileObjects     AWS S3 file objects
      * @param partitionsCount Partitions count
@@ -82,10 +86,20 @@ public class AwsS3InputStreamFactory extends AbstractExternalInputStreamFactory
             workloadQueue.add(new PartitionWorkLoadBasedOnSize());
         }
 
+        long splitSize = ExternalDataUtils.getSplitSize(configuration);
         for (S3Object object : fileObjects) {
-            PartitionWorkLoadBasedOnSize workload = workloadQueue.poll();
-            workload.addFilePath(object.key(), object.size());
-            workloadQueue.add(workload);
+            long size = object.size();
+            if (size > splitSize && ExternalDataUtils.isSplittable(configuration, object.key())) {
+                for (long start = 0; start < size; start += splitSize) {
+                    PartitionWorkLoadBasedOnSize workload = workloadQueue.poll();
+                    workload.addFileSplit(object.key(), start, Math.min(start + splitSize, size));
+                    workloadQueue.add(workload);
+                }
+            } else {
+                PartitionWorkLoadBasedOnSize workload = workloadQueue.poll();
+                workload.addFilePath(object.key(), size);
+                workloadQueue.add(workload);
+            }
         }
         partitionWorkLoadsBasedOnSize.addAll(workloadQueue);
     }
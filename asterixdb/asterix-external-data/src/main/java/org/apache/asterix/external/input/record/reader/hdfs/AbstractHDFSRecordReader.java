@@ -19,11 +19,13 @@
 package org.apache.asterix.external.input.record.reader.hdfs;
 
 import java.io.IOException;
+import java.util.function.Supplier;
 
 import org.apache.asterix.external.api.IRawRecord;
 import org.apache.asterix.external.api.IRecordReader;
 import org.apache.asterix.external.dataflow.AbstractFeedDataFlowController;
 import org.apache.asterix.external.input.record.GenericRecord;
+import org.apache.asterix.external.input.record.reader.hdfs.parquet.MapredParquetInputFormat;
 import org.apache.asterix.external.util.IFeedLogManager;
 import org.apache.hadoop.mapred.InputFormat;
 import org.apache.hadoop.mapred.InputSplit;
@@ -43,6 +45,7 @@ public abstract class AbstractHDFSRecordReader<K, V> implements IRecordReader<V>
     protected JobConf conf;
     protected IRawRecord<V> record;
     private boolean firstInputSplit;
+    private String currentSplitPath = "";
 
     public AbstractHDFSRecordReader(boolean[] read, InputSplit[] inputSplits, String[] readSchedule, String nodeName,
             JobConf conf) {
@@ -126,6 +129,7 @@ public abstract class AbstractHDFSRecordReader<K, V> implements IRecordReader<V>
 
                 reader.close();
                 reader = getRecordReader(currentSplitIndex);
+                currentSplitPath = MapredParquetInputFormat.getPath(inputSplits[currentSplitIndex]);
                 return true;
             }
         }
@@ -146,6 +150,11 @@ public abstract class AbstractHDFSRecordReader<K, V> implements IRecordReader<V>
         return false;
     }
 
+    @Override
+    public Supplier<String> getSourceName() {
+        return () -> currentSplitPath;
+    }
+
     public RecordReader<K, V> getReader() {
         return reader;
     }
@@ -0,0 +1,185 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.asterix.external.input.record.reader.hdfs.parquet;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.asterix.external.util.ExternalDataFilter;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.mapreduce.InputSplit;
+import org.apache.hadoop.mapreduce.RecordReader;
+import org.apache.hadoop.mapreduce.TaskAttemptContext;
+import org.apache.parquet.ParquetReadOptions;
+import org.apache.parquet.column.page.PageReadStore;
+import org.apache.parquet.filter2.compat.FilterCompat;
+import org.apache.parquet.filter2.compat.RowGroupFilter;
+import org.apache.parquet.filter2.compat.RowGroupFilter.FilterLevel;
+import org.apache.parquet.filter2.predicate.FilterPredicate;
+import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.parquet.hadoop.ParquetInputFormat;
+import org.apache.parquet.hadoop.api.InitContext;
+import org.apache.parquet.hadoop.api.ReadSupport;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.apache.parquet.hadoop.metadata.FileMetaData;
+import org.apache.parquet.hadoop.util.HadoopInputFile;
+import org.apache.parquet.io.ColumnIOFactory;
+import org.apache.parquet.io.MessageColumnIO;
+import org.apache.parquet.io.api.RecordMaterializer;
+import org.apache.parquet.schema.MessageType;
+
+/**
+ * Reads the records of a Parquet split and skips the row groups that cannot contain a record that satisfies a
+ * pushed-down filter. Unlike {@link org.apache.parquet.hadoop.ParquetRecordReader}, the filter is typed against the
+ * footer of the file reader that reads the records, so the footer of the split's file is read only once.
+ * <p>
+ * Row groups are skipped using their statistics and dictionaries. Records are not filtered, as the query filters
+ * them anyway.
+ */
+class FilteredParquetRecordReader<T> extends RecordReader<Void, T> {
+    private static final List<FilterLevel> FILTER_LEVELS =
+            Arrays.asList(FilterLevel.STATISTICS, FilterLevel.DICTIONARY);
+
+    private final ParquetFileReader fileReader;
+    private final MessageColumnIO columnIO;
+    private final RecordMaterializer<T> materializer;
+    // the row groups of the split and the ones that may contain a record that satisfies the filter
+    private final List<BlockMetaData> rowGroups;
+    private final List<BlockMetaData> selectedRowGroups;
+    private final long totalRowCount;
+
+    private org.apache.parquet.io.RecordReader<T> recordReader;
+    private int rowGroupIndex;
+    private long rowGroupRowCount;
+    private long rowGroupRowsRead;
+    // the rows that have been read or skipped
+    private long processedRowCount;
+    private T currentValue;
+
+    FilteredParquetRecordReader(Configuration conf, Path path, ParquetReadOptions options, ExternalDataFilter filter)
+            throws IOException {
+        fileReader = ParquetFileReader.open(HadoopInputFile.fromPath(path, conf), options);
+        try {
+            FileMetaData fileMetaData = fileReader.getFooter().getFileMetaData();
+            MessageType fileSchema = fileMetaData.getSchema();
+            Map<String, String> keyValueMetaData = fileMetaData.getKeyValueMetaData();
+            ReadSupport<T> readSupport = ParquetInputFormat.getReadSupportInstance(conf);
+            ReadSupport.ReadContext readContext =
+                    readSupport.init(new InitContext(conf, toSetMultiMap(keyValueMetaData), fileSchema));
+            MessageType requestedSchema = readContext.getRequestedSchema();
+            materializer = readSupport.prepareForRead(conf, keyValueMetaData, fileSchema, readContext);
+            fileReader.setRequestedSchema(requestedSchema);
+            columnIO = new ColumnIOFactory(fileMetaData.getCreatedBy()).getColumnIO(requestedSchema, fileSchema, true);
+
+            rowGroups = fileReader.getRowGroups();
+            FilterPredicate predicate = filter.toParquetPredicate(fileSchema);
+            selectedRowGroups = predicate == null ? rowGroups
+                    : RowGroupFilter.filterRowGroups(FILTER_LEVELS, FilterCompat.get(predicate), rowGroups, fileReader);
+            long rowCount = 0;
+            for (BlockMetaData rowGroup : rowGroups) {
+                rowCount += rowGroup.getRowCount();
+            }
+            totalRowCount = rowCount;
+        } catch (IOException | RuntimeException e) {
+            fileReader.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public void initialize(InputSplit split, TaskAttemptContext context) {
+        // initialized when constructed
+    }
+
+    @Override
+    public boolean nextKeyValue() throws IOException {
+        while (rowGroupRowsRead == rowGroupRowCount) {
+            if (!readNextRowGroup()) {
+                currentValue = null;
+                return false;
+            }
+        }
+        currentValue = recordReader.read();
+        rowGroupRowsRead++;
+        processedRowCount++;
+        return true;
+    }
+
+    /**
+     * Read the next row group that may contain a record that satisfies the filter and skip the ones before it
+     *
+     * @return {@code false} if there are no more row groups to read
+     */
+    private boolean readNextRowGroup() throws IOException {
+        while (rowGroupIndex < rowGroups.size()) {
+            BlockMetaData rowGroup = rowGroups.get(rowGroupIndex++);
+            if (selectedRowGroups.contains(rowGroup)) {
+                PageReadStore pages = fileReader.readNextRowGroup();
+                recordReader = columnIO.getRecordReader(pages, materializer, FilterCompat.NOOP);
+                rowGroupRowCount = pages.getRowCount();
+                rowGroupRowsRead = 0;
+                return true;
+            }
+            fileReader.skipNextRowGroup();
+            processedRowCount += rowGroup.getRowCount();
+        }
+        return false;
+    }
+
+    /**
+     * @return the number of row groups of the split that are read (i.e., not skipped by the filter)
+     */
+    int getSelectedRowGroupCount() {
+        return selectedRowGroups.size();
+    }
+
+    @Override
+    public Void getCurrentKey() {
+        return null;
+    }
+
+    @Override
+    public T getCurrentValue() {
+        return currentValue;
+    }
+
+    @Override
+    public float getProgress() {
+        return totalRowCount == 0 ? 1.0f : (float) processedRowCount / totalRowCount;
+    }
+
+    @Override
+    public void close() throws IOException {
+        fileReader.close();
+    }
+
+    private static Map<String, Set<String>> toSetMultiMap(Map<String, String> map) {
+        Map<String, Set<String>> setMultiMap = new HashMap<>();
+        for (Map.Entry<String, String> entry : map.entrySet()) {
+            setMultiMap.put(entry.getKey(), Collections.singleton(entry.getValue()));
+        }
+        return Collections.unmodifiableMap(setMultiMap);
+    }
+}
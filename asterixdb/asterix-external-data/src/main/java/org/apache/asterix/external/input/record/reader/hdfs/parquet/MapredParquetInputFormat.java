@@ -27,6 +27,10 @@ import java.util.List;
 
 import org.apache.asterix.common.exceptions.ErrorCode;
 import org.apache.asterix.common.exceptions.RuntimeDataException;
+import org.apache.asterix.external.util.ExternalDataFilter;
+import org.apache.asterix.external.util.HDFSUtils;
+import org.apache.asterix.external.util.HivePartitionValues;
+import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.mapred.FileSplit;
 import org.apache.hadoop.mapred.InputSplit;
 import org.apache.hadoop.mapred.JobConf;
@@ -37,6 +41,7 @@ import org.apache.hyracks.data.std.api.IValueReference;
 import org.apache.hyracks.data.std.primitive.VoidPointable;
 import org.apache.hyracks.data.std.util.ArrayBackedValueStorage;
 import org.apache.hyracks.util.LogRedactionUtil;
+import org.apache.parquet.HadoopReadOptions;
 import org.apache.parquet.hadoop.Footer;
 import org.apache.parquet.hadoop.ParquetInputFormat;
 import org.apache.parquet.hadoop.ParquetInputSplit;
@@ -86,7 +91,7 @@ public class MapredParquetInputFormat extends org.apache.hadoop.mapred.FileInput
 
     private static class RecordReaderWrapper implements RecordReader<Void, VoidPointable> {
 
-        private final ParquetRecordReader<IValueReference> realReader;
+        private final org.apache.hadoop.mapreduce.RecordReader<Void, IValueReference> realReader;
         private final long splitLen; // for getPos()
 
         private final VoidPointable valueContainer;
@@ -98,17 +103,26 @@ public class MapredParquetInputFormat extends org.apache.hadoop.mapred.FileInput
             splitLen = oldSplit.getLength();
 
             try {
-                realReader = new ParquetRecordReader<>(
-                        ParquetInputFormat.<IValueReference> getReadSupportInstance(oldJobConf),
-                        ParquetInputFormat.getFilter(oldJobConf));
-
-                if (oldSplit instanceof ParquetInputSplitWrapper) {
-                    realReader.initialize(((ParquetInputSplitWrapper) oldSplit).realSplit, oldJobConf, reporter);
-                } else if (oldSplit instanceof FileSplit) {
-                    realReader.initialize((FileSplit) oldSplit, oldJobConf, reporter);
+                ExternalDataFilter filter = HDFSUtils.getExternalDataFilter(oldJobConf);
+                if (filter != null && HDFSUtils.isHiveStylePartitioned(oldJobConf)) {
+                    // The values of the partition fields come from the file's path rather than its columns
+                    filter = filter.withoutFields(HivePartitionValues.getPartitionValues(getPath(oldSplit)).keySet());
+                }
+                if (filter != null && (oldSplit instanceof ParquetInputSplitWrapper || oldSplit instanceof FileSplit)) {
+                    realReader = createFilteredReader(oldSplit, oldJobConf, filter);
                 } else {
-                    throw RuntimeDataException.create(ErrorCode.INVALID_PARQUET_FILE,
-                            LogRedactionUtil.userData(oldSplit.toString()), "invalid file split");
+                    ParquetRecordReader<IValueReference> parquetReader = new ParquetRecordReader<>(
+                            ParquetInputFormat.<IValueReference> getReadSupportInstance(oldJobConf),
+                            ParquetInputFormat.getFilter(oldJobConf));
+                    if (oldSplit instanceof ParquetInputSplitWrapper) {
+                        parquetReader.initialize(((ParquetInputSplitWrapper) oldSplit).realSplit, oldJobConf, reporter);
+                    } else if (oldSplit instanceof FileSplit) {
+                        parquetReader.initialize((FileSplit) oldSplit, oldJobConf, reporter);
+                    } else {
+                        throw RuntimeDataException.create(ErrorCode.INVALID_PARQUET_FILE,
+                                LogRedactionUtil.userData(oldSplit.toString()), "invalid file split");
+                    }
+                    realReader = parquetReader;
                 }
                 valueContainer = new VoidPointable();
                 firstRecord = false;
@@ -136,14 +150,29 @@ public class MapredParquetInputFormat extends org.apache.hadoop.mapred.FileInput
             }
         }
 
-        private String getPath(InputSplit split) {
-            if (split instanceof FileSplit) {
-                return ((FileSplit) split).getPath().toString();
-            } else if (split instanceof ParquetInputSplitWrapper) {
-                return ((ParquetInputSplitWrapper) split).realSplit.getPath().toString();
+        /**
+         * Create a reader that skips the row groups of the split that cannot contain a record that satisfies the
+         * pushed-down filter. The filter is typed against the footer the reader opens, so the footer is read once.
+         */
+        private static FilteredParquetRecordReader<IValueReference> createFilteredReader(InputSplit split,
+                JobConf jobConf, ExternalDataFilter filter) throws IOException {
+            HadoopReadOptions.Builder options = HadoopReadOptions.builder(jobConf);
+            Path path;
+            if (split instanceof ParquetInputSplitWrapper) {
+                ParquetInputSplit realSplit = ((ParquetInputSplitWrapper) split).realSplit;
+                path = realSplit.getPath();
+                long[] rowGroupOffsets = realSplit.getRowGroupOffsets();
+                if (rowGroupOffsets != null) {
+                    options.withOffsets(rowGroupOffsets);
+                } else {
+                    options.withRange(realSplit.getStart(), realSplit.getEnd());
+                }
             } else {
-                return split.toString();
+                FileSplit fileSplit = (FileSplit) split;
+                path = fileSplit.getPath();
+                options.withRange(fileSplit.getStart(), fileSplit.getStart() + fileSplit.getLength());
             }
+            return new FilteredParquetRecordReader<>(jobConf, path, options.build(), filter);
         }
 
         @Override
@@ -203,6 +232,19 @@ public class MapredParquetInputFormat extends org.apache.hadoop.mapred.FileInput
         }
     }
 
+    /**
+     * @return the path of the file of a split
+     */
+    public static String getPath(InputSplit split) {
+        if (split instanceof FileSplit) {
+            return ((FileSplit) split).getPath().toString();
+        } else if (split instanceof ParquetInputSplitWrapper) {
+            return ((ParquetInputSplitWrapper) split).realSplit.getPath().toString();
+        } else {
+            return split.toString();
+        }
+    }
+
     public static boolean isTaskSideMetaData(JobConf job) {
         return job.getBoolean(ParquetInputFormat.TASK_SIDE_METADATA, true);
     }
@@ -0,0 +1,177 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.asterix.external.input.record.reader.log;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import org.apache.asterix.external.api.IFeedMarker;
+import org.apache.asterix.external.api.IRawRecord;
+import org.apache.asterix.external.api.IRecordReader;
+import org.apache.asterix.external.api.IRecordReaderFactory;
+import org.apache.asterix.external.dataflow.AbstractFeedDataFlowController;
+import org.apache.asterix.external.util.IFeedLogManager;
+import org.apache.hyracks.api.comm.VSizeFrame;
+import org.apache.hyracks.dataflow.common.io.MessagingFrameTupleAppender;
+
+/**
+ * A pull-based reader of a log-structured source in which every record of a partition has a position (offset).
+ * The reader tracks the offset of the next record to consume and reports it as a feed marker whenever the
+ * controller flushes. The marker travels with the flushed frames to the storage partitions where it is written to
+ * the transaction log after the records that precede it are committed, which makes the offset durable atomically
+ * with the ingested records. Ingestion can then resume from the committed offset without losing or duplicating
+ * records.
+ * <p>
+ * The marker is placed in the task's feed message and is not attached to the flushed frames themselves, so a feed
+ * connection that enables flow control could queue, spill, or discard the frames while the marker is forwarded.
+ * Factories of such readers must therefore report {@link IRecordReaderFactory#tracksSourceOffsets()}, which
+ * restricts their feeds to policies that disable flow control.
+ * <p>
+ * A marker has the following layout: [{@link MessagingFrameTupleAppender#MARKER_MESSAGE}][partition][offset]
+ *
+ * @param <T>
+ *            the type of the records
+ */
+public abstract class AbstractOffsetTrackingRecordReader<T> implements IRecordReader<T>, IFeedMarker {
+    protected final int partition;
+    private final int recordsPerMarker;
+    protected AbstractFeedDataFlowController controller;
+    protected IFeedLogManager feedLogManager;
+    protected volatile boolean done = false;
+    // offset of the next record to be consumed
+    private long offset;
+    private long markedOffset;
+    private int recordsSinceMark = 0;
+
+    /**
+     * @param partition
+     *            the source partition read by this reader
+     * @param startOffset
+     *            the offset of the first record to read
+     * @param recordsPerMarker
+     *            the number of records after which the ingested records are flushed with a marker. A non-positive
+     *            value means that markers are only emitted when the source has no records available
+     */
+    protected AbstractOffsetTrackingRecordReader(int partition, long startOffset, int recordsPerMarker) {
+        this.partition = partition;
+        this.recordsPerMarker = recordsPerMarker;
+        this.offset = startOffset;
+        this.markedOffset = startOffset;
+    }
+
+    /**
+     * Read the next record available in the source and advance the offset past it using {@link #advance(long)}
+     *
+     * @return the next record or {@code null} if no record is currently available
+     */
+    protected abstract IRawRecord<T> poll() throws IOException;
+
+    protected final void advance(long nextOffset) {
+        offset = nextOffset;
+    }
+
+    public final long getOffset() {
+        return offset;
+    }
+
+    @Override
+    public boolean hasNext() throws Exception {
+        return !done;
+    }
+
+    @Override
+    public IRawRecord<T> next() throws IOException, InterruptedException {
+        if (done) {
+            return null;
+        }
+        /*
+         * All the records returned so far have been handed to the controller. Flushing here guarantees that the
+         * marker covers exactly the records that precede it in the frames
+         */
+        if (recordsPerMarker > 0 && recordsSinceMark >= recordsPerMarker && controller != null) {
+            controller.flush();
+        }
+        IRawRecord<T> record = poll();
+        if (record != null) {
+            recordsSinceMark++;
+        }
+        return record;
+    }
+
+    @Override
+    public boolean stop() {
+        done = true;
+        return true;
+    }
+
+    @Override
+    public IFeedMarker getProgressReporter() {
+        return this;
+    }
+
+    @Override
+    public boolean mark(VSizeFrame mark) {
+        recordsSinceMark = 0;
+        if (offset == markedOffset) {
+            // nothing was consumed since the last marker
+            return false;
+        }
+        ByteBuffer buffer = mark.getBuffer();
+        buffer.clear();
+        buffer.put(MessagingFrameTupleAppender.MARKER_MESSAGE);
+        buffer.putInt(partition);
+        buffer.putLong(offset);
+        buffer.flip();
+        markedOffset = offset;
+        return true;
+    }
+
+    @Override
+    public void setController(AbstractFeedDataFlowController controller) {
+        this.controller = controller;
+    }
+
+    @Override
+    public void setFeedLogManager(IFeedLogManager feedLogManager) {
+        this.feedLogManager = feedLogManager;
+    }
+
+    @Override
+    public boolean handleException(Throwable th) {
+        return false;
+    }
+
+    /**
+     * @param marker
+     *            the marker as read from the transaction log (positioned after the message type)
+     * @return the source partition of the marker
+     */
+    public static int getPartition(ByteBuffer marker) {
+        return marker.getInt(marker.position());
+    }
+
+    /**
+     * @param marker
+     *            the marker as read from the transaction log (positioned after the message type)
+     * @return the offset of the first record of the source partition that was not committed before the marker
+     */
+    public static long getOffset(ByteBuffer marker) {
+        return marker.getLong(marker.position() + Integer.BYTES);
+    }
+}
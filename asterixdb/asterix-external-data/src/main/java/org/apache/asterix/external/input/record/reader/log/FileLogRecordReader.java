@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.asterix.external.input.record.reader.log;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import org.apache.asterix.external.api.IRawRecord;
+import org.apache.asterix.external.input.record.CharArrayRecord;
+
+/**
+ * Reads newline-delimited records appended to a local file. The offset of a record is the byte position of its
+ * first byte in the file. When the end of the file is reached, the reader waits for more records to be appended, so
+ * the file behaves like a partition of a log-structured source.
+ */
+public class FileLogRecordReader extends AbstractOffsetTrackingRecordReader<char[]> {
+    private static final int BUFFER_SIZE = 32 * 1024;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final ByteBuffer readBuffer = ByteBuffer.allocate(BUFFER_SIZE);
+    private final CharArrayRecord record = new CharArrayRecord();
+    // position in the file of the next byte to read into the buffer
+    private long readPosition;
+    // bytes of the (possibly incomplete) record being read
+    private byte[] recordBytes = new byte[BUFFER_SIZE];
+    private int recordLength = 0;
+
+    public FileLogRecordReader(Path path, int partition, long startOffset, int recordsPerMarker) throws IOException {
+        super(partition, startOffset, recordsPerMarker);
+        this.path = path;
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.readPosition = startOffset;
+        readBuffer.flip();
+    }
+
+    @Override
+    protected IRawRecord<char[]> poll() throws IOException {
+        while (true) {
+            if (!readBuffer.hasRemaining()) {
+                readBuffer.clear();
+                int read = channel.read(readBuffer, readPosition);
+                readBuffer.flip();
+                if (read <= 0) {
+                    // an incomplete record stays pending until the rest of it is appended
+                    return null;
+                }
+                readPosition += read;
+            }
+            while (readBuffer.hasRemaining()) {
+                byte b = readBuffer.get();
+                if (b != '\n') {
+                    append(b);
+                    continue;
+                }
+                long nextOffset = getOffset() + recordLength + 1;
+                int length = recordLength;
+                if (length > 0 && recordBytes[length - 1] == '\r') {
+                    length--;
+                }
+                recordLength = 0;
+                advance(nextOffset);
+                if (length == 0) {
+                    continue;
+                }
+                record.reset();
+                record.set(new String(recordBytes, 0, length, StandardCharsets.UTF_8));
+                record.endRecord();
+                return record;
+            }
+        }
+    }
+
+    private void append(byte b) {
+        if (recordLength == recordBytes.length) {
+            recordBytes = Arrays.copyOf(recordBytes, recordBytes.length * 2);
+        }
+        recordBytes[recordLength++] = b;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    @Override
+    public String getStats() {
+        return "{\"path\":\"" + path + "\",\"partition\":" + partition + ",\"offset\":" + getOffset() + "}";
+    }
+}
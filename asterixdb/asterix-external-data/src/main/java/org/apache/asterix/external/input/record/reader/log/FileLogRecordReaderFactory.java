@@ -0,0 +1,151 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.asterix.external.input.record.reader.log;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.apache.asterix.common.dataflow.ICcApplicationContext;
+import org.apache.asterix.common.exceptions.CompilationException;
+import org.apache.asterix.common.exceptions.ErrorCode;
+import org.apache.asterix.external.api.INodeResolver;
+import org.apache.asterix.external.api.IRecordReader;
+import org.apache.asterix.external.api.IRecordReaderFactory;
+import org.apache.asterix.external.util.ExternalDataConstants;
+import org.apache.asterix.external.util.NodeResolverFactory;
+import org.apache.asterix.runtime.utils.RuntimeUtils;
+import org.apache.hyracks.algebricks.common.constraints.AlgebricksAbsolutePartitionConstraint;
+import org.apache.hyracks.algebricks.common.exceptions.AlgebricksException;
+import org.apache.hyracks.api.application.IServiceContext;
+import org.apache.hyracks.api.context.IHyracksTaskContext;
+import org.apache.hyracks.api.exceptions.HyracksDataException;
+import org.apache.hyracks.api.exceptions.IWarningCollector;
+
+/**
+ * Creates {@link FileLogRecordReader}s. Every file in the path is a partition of the log, read by a single feed
+ * partition on the node that owns the file. The feed can be resumed from the offsets committed with its markers by
+ * setting {@value #KEY_START_OFFSETS} to one offset per file. The feed can only be connected using policies that
+ * disable flow control (e.g., Basic), see {@link IRecordReaderFactory#tracksSourceOffsets()}.
+ */
+public class FileLogRecordReaderFactory implements IRecordReaderFactory<char[]> {
+    private static final long serialVersionUID = 1L;
+
+    public static final String KEY_START_OFFSETS = "start-offsets";
+    public static final String KEY_RECORDS_PER_MARKER = "records-per-marker";
+    private static final int DEFAULT_RECORDS_PER_MARKER = 10000;
+    private static final List<String> recordReaderNames =
+            Collections.singletonList(ExternalDataConstants.KEY_ADAPTER_NAME_FILE_LOG);
+
+    private String[] nodes;
+    private String[] paths;
+    private long[] startOffsets;
+    private int recordsPerMarker;
+
+    @Override
+    public IRecordReader<? extends char[]> createRecordReader(IHyracksTaskContext ctx, int partition)
+            throws HyracksDataException {
+        try {
+            return new FileLogRecordReader(Paths.get(paths[partition]), partition, startOffsets[partition],
+                    recordsPerMarker);
+        } catch (IOException e) {
+            throw HyracksDataException.create(e);
+        }
+    }
+
+    @Override
+    public Class<?> getRecordClass() {
+        return char[].class;
+    }
+
+    @Override
+    public List<String> getRecordReaderNames() {
+        return recordReaderNames;
+    }
+
+    @Override
+    public boolean tracksSourceOffsets() {
+        return true;
+    }
+
+    @Override
+    public AlgebricksAbsolutePartitionConstraint getPartitionConstraint() {
+        return new AlgebricksAbsolutePartitionConstraint(nodes);
+    }
+
+    @Override
+    public void configure(IServiceContext ctx, Map<String, String> configuration, IWarningCollector warningCollector)
+            throws AlgebricksException {
+        String pathValue = configuration.get(ExternalDataConstants.KEY_PATH);
+        if (pathValue == null) {
+            throw new CompilationException(ErrorCode.PARAMETERS_REQUIRED, ExternalDataConstants.KEY_PATH);
+        }
+        configureSplits((ICcApplicationContext) ctx.getApplicationContext(), pathValue.split(","));
+        startOffsets = new long[paths.length];
+        String offsetsValue = configuration.get(KEY_START_OFFSETS);
+        if (offsetsValue != null) {
+            String[] offsets = offsetsValue.split(",");
+            if (offsets.length != paths.length) {
+                throw new CompilationException(ErrorCode.INVALID_REQ_PARAM_VAL, KEY_START_OFFSETS, offsetsValue);
+            }
+            for (int i = 0; i < offsets.length; i++) {
+                startOffsets[i] = parseLong(KEY_START_OFFSETS, offsets[i], 0, Long.MAX_VALUE);
+            }
+        }
+        String recordsPerMarkerValue = configuration.get(KEY_RECORDS_PER_MARKER);
+        recordsPerMarker = recordsPerMarkerValue == null ? DEFAULT_RECORDS_PER_MARKER
+                : (int) parseLong(KEY_RECORDS_PER_MARKER, recordsPerMarkerValue, 1, Integer.MAX_VALUE);
+    }
+
+    private static long parseLong(String parameter, String value, long minValue, long maxValue)
+            throws CompilationException {
+        long result;
+        try {
+            result = Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            throw new CompilationException(ErrorCode.INVALID_REQ_PARAM_VAL, e, parameter, value);
+        }
+        if (result < minValue || result > maxValue) {
+            throw new CompilationException(ErrorCode.INVALID_REQ_PARAM_VAL, parameter, value);
+        }
+        return result;
+    }
+
+    private void configureSplits(ICcApplicationContext appCtx, String[] splits) throws AlgebricksException {
+        INodeResolver resolver = new NodeResolverFactory().createNodeResolver();
+        Map<InetAddress, Set<String>> ncMap = RuntimeUtils.getForcedNodeControllerMap(appCtx);
+        Set<String> ncs = ncMap.values().stream().flatMap(Collection::stream).collect(Collectors.toSet());
+        nodes = new String[splits.length];
+        paths = new String[splits.length];
+        for (int i = 0; i < splits.length; i++) {
+            String split = splits[i].trim();
+            if (!split.contains("://")) {
+                throw new CompilationException(ErrorCode.INVALID_REQ_PARAM_VAL, ExternalDataConstants.KEY_PATH, split);
+            }
+            nodes[i] = resolver.resolveNode(appCtx, split.split(":")[0], ncMap, ncs);
+            paths[i] = split.split("://")[1];
+        }
+    }
+}
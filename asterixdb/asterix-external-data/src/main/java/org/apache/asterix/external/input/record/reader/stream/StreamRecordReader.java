@@ -48,12 +48,14 @@ public abstract class StreamRecordReader implements IRecordReader<char[]>, IStre
     protected IFeedLogManager feedLogManager;
     private Supplier<String> dataSourceName = EMPTY_STRING;
     private Supplier<String> previousDataSourceName = EMPTY_STRING;
+    private Supplier<String> sourceName = EMPTY_STRING;
 
     public void configure(AsterixInputStream inputStream, Map<String, String> config) {
         int bufferSize = ExternalDataUtils.getOrDefaultBufferSize(config);
         this.reader = new AsterixInputStreamReader(inputStream, bufferSize);
         record = new CharArrayRecord();
         inputBuffer = new char[bufferSize];
+        this.sourceName = reader::getStreamName;
         if (!ExternalDataUtils.isTrue(config, KEY_REDACT_WARNINGS)) {
             this.dataSourceName = reader::getStreamName;
             this.previousDataSourceName = reader::getPreviousStreamName;
@@ -120,6 +122,11 @@ public abstract class StreamRecordReader implements IRecordReader<char[]>, IStre
         return dataSourceName;
     }
 
+    @Override
+    public final Supplier<String> getSourceName() {
+        return sourceName;
+    }
+
     String getPreviousStreamName() {
         return previousDataSourceName.get();
     }
@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.asterix.external.input.stream;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.apache.asterix.external.util.ExternalDataConstants;
+
+/**
+ * Reads the lines of a byte range [start, end) of a file, where a line belongs to the range that contains its first
+ * byte. That is, the partial line at the beginning of the range is skipped (it is read by the previous range) and the
+ * line that crosses the end of the range is read entirely. Hence, reading all the ranges of a file reads every line
+ * exactly once (same as Hadoop's LineRecordReader).
+ * <p>
+ * The provided stream must be positioned at {@code max(start - 1, 0)}, so a line that starts exactly at {@code start}
+ * is not mistaken for a partial one. It should not be bounded by {@code end}, as the last line may cross it.
+ */
+public class LineAlignedRangeInputStream extends InputStream {
+    private final InputStream in;
+    // Bytes left before reaching the end of the range
+    private long remaining;
+    private boolean skipFirstLine;
+    private byte lastByte;
+    private boolean done;
+
+    public LineAlignedRangeInputStream(InputStream in, long start, long end) {
+        this.in = in;
+        skipFirstLine = start > 0;
+        remaining = end - Math.max(start - 1, 0);
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] b = new byte[1];
+        return read(b, 0, 1) < 0 ? -1 : b[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (skipFirstLine) {
+            skipFirstLine = false;
+            skipLine();
+        }
+        if (done) {
+            return -1;
+        }
+
+        if (remaining > 0) {
+            int length = in.read(b, off, (int) Math.min(len, remaining));
+            if (length < 0) {
+                done = true;
+                return -1;
+            }
+            remaining -= length;
+            lastByte = b[off + length - 1];
+            if (remaining == 0 && lastByte == ExternalDataConstants.BYTE_LF) {
+                // The range ends exactly at the end of a line
+                done = true;
+            }
+            return length;
+        }
+
+        // Past the end of the range: finish the last line
+        int length = in.read(b, off, len);
+        if (length < 0) {
+            done = true;
+            return -1;
+        }
+        for (int i = off; i < off + length; i++) {
+            if (b[i] == ExternalDataConstants.BYTE_LF) {
+                done = true;
+                return i - off + 1;
+            }
+        }
+        return length;
+    }
+
+    /**
+     * Skip the bytes up to (and including) the first line feed. Lines that start at or after the end of the range
+     * belong to the following ranges.
+     */
+    private void skipLine() throws IOException {
+        int value;
+        do {
+            value = in.read();
+            remaining--;
+        } while (value >= 0 && value != ExternalDataConstants.BYTE_LF);
+        done = value < 0 || remaining <= 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
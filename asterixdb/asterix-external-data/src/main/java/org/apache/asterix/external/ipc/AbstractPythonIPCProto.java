@@ -81,13 +81,13 @@ public abstract class AbstractPythonIPCProto {
         }
     }
 
-    public long init(String module, String clazz, String fn) throws IOException, AsterixException {
+    public long init(String module, String clazz, String fn, boolean columnar) throws IOException, AsterixException {
         long functionId = maxFunctionId++;
         recvBuffer.clear();
         recvBuffer.position(0);
         recvBuffer.limit(0);
         messageBuilder.reset();
-        messageBuilder.init(module, clazz, fn);
+        messageBuilder.init(module, clazz, fn, columnar);
         sendHeader(functionId, messageBuilder.getLength());
         sendMsg();
         receiveMsg();
@@ -123,6 +123,11 @@ public abstract class AbstractPythonIPCProto {
 
     public ByteBuffer callMulti(long key, ArrayBackedValueStorage args, int numTuples)
             throws IOException, AsterixException {
+        sendCallMulti(key, args, numTuples);
+        return receiveCallMulti();
+    }
+
+    public void sendCallMulti(long key, ArrayBackedValueStorage args, int numTuples) throws IOException {
         recvBuffer.clear();
         recvBuffer.position(0);
         recvBuffer.limit(0);
@@ -131,6 +136,9 @@ public abstract class AbstractPythonIPCProto {
         sendHeader(key, len);
         messageBuilder.callMulti(0, numTuples);
         sendMsg(args);
+    }
+
+    public ByteBuffer receiveCallMulti() throws IOException, AsterixException {
         receiveMsg();
         if (getResponseType() != MessageType.CALL_RSP) {
             throw HyracksDataException.create(org.apache.hyracks.api.exceptions.ErrorCode.ILLEGAL_STATE,
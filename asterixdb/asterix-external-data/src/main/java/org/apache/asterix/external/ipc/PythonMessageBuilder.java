@@ -99,7 +99,8 @@ public class PythonMessageBuilder {
         MessagePackUtils.packFixStr(buf, "QUIT");
     }
 
-    public void init(final String module, final String clazz, final String fn) throws HyracksDataException {
+    public void init(final String module, final String clazz, final String fn, final boolean columnar)
+            throws HyracksDataException {
         this.type = MessageType.INIT;
         // sum(string lengths) + 2 from fix array tag and message type
         if (clazz != null) {
@@ -109,6 +110,19 @@ public class PythonMessageBuilder {
             dataLength = PythonMessageBuilder.getStringLength(module) + getStringLength(fn) + 2;
         }
         packHeader();
+        if (columnar) {
+            // [module, class or nil, function, columnar]
+            MessagePackUtils.packFixArrayHeader(buf, (byte) 4);
+            MessagePackUtils.packStr(buf, module);
+            if (clazz != null) {
+                MessagePackUtils.packStr(buf, clazz);
+            } else {
+                buf.put(NIL);
+            }
+            MessagePackUtils.packStr(buf, fn);
+            buf.put(TRUE);
+            return;
+        }
         int numArgs = clazz == null ? 2 : 3;
         MessagePackUtils.packFixArrayHeader(buf, (byte) numArgs);
         MessagePackUtils.packStr(buf, module);
@@ -23,6 +23,7 @@ import static org.apache.asterix.common.exceptions.ErrorCode.EXTERNAL_UDF_EXCEPT
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.asterix.common.exceptions.AsterixException;
 import org.apache.asterix.external.api.IExternalLangIPCProto;
@@ -40,6 +41,13 @@ import org.apache.hyracks.dataflow.std.base.AbstractStateObject;
 
 public abstract class AbstractLibrarySocketEvaluator extends AbstractStateObject implements ILibraryEvaluator {
 
+    /**
+     * Function resource that makes the Python function receive a list of values per argument (one entry per tuple of
+     * the batch) and return a list of results, instead of being called once per tuple. This suits vectorized
+     * (e.g., numpy or pandas based) functions.
+     */
+    public static final String KEY_COLUMNAR = "columnar";
+
     protected IExternalLangIPCProto proto;
     protected TaskAttemptId task;
     protected IWarningCollector warningCollector;
@@ -68,7 +76,9 @@ public abstract class AbstractLibrarySocketEvaluator extends AbstractStateObject
             clazz = null;
             fn = externalIdent1;
         }
-        return proto.init(packageModule, clazz, fn);
+        Map<String, String> resources = finfo.getResources();
+        boolean columnar = resources != null && Boolean.parseBoolean(resources.get(KEY_COLUMNAR));
+        return proto.init(packageModule, clazz, fn, columnar);
     }
 
     @Override
@@ -97,4 +107,22 @@ public abstract class AbstractLibrarySocketEvaluator extends AbstractStateObject
         }
         return ret;
     }
+
+    @Override
+    public void sendMulti(long id, ArrayBackedValueStorage arguments, int numTuples) throws IOException {
+        proto.sendCallMulti(id, arguments, numTuples);
+    }
+
+    @Override
+    public ByteBuffer receiveMulti() throws IOException {
+        ByteBuffer ret = null;
+        try {
+            ret = proto.receiveCallMulti();
+        } catch (AsterixException e) {
+            if (warningCollector.shouldWarn()) {
+                warningCollector.warn(Warning.of(sourceLoc, EXTERNAL_UDF_EXCEPTION, e.getMessage()));
+            }
+        }
+        return ret;
+    }
 }
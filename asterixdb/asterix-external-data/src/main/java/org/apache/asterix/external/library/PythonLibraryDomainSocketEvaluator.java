@@ -105,10 +105,10 @@ public class PythonLibraryDomainSocketEvaluator extends AbstractLibrarySocketEva
     }
 
     static PythonLibraryDomainSocketEvaluator getInstance(IExternalFunctionInfo finfo, ILibraryManager libMgr,
-            IHyracksTaskContext ctx, IWarningCollector warningCollector, SourceLocation sourceLoc)
+            IHyracksTaskContext ctx, IWarningCollector warningCollector, SourceLocation sourceLoc, int worker)
             throws IOException, AsterixException {
         PythonLibraryEvaluatorId evaluatorId = new PythonLibraryEvaluatorId(finfo.getLibraryDataverseName(),
-                finfo.getLibraryName(), Thread.currentThread());
+                finfo.getLibraryName(), Thread.currentThread(), worker);
         PythonLibraryDomainSocketEvaluator evaluator =
                 (PythonLibraryDomainSocketEvaluator) ctx.getStateObject(evaluatorId);
         if (evaluator == null) {
@@ -129,15 +129,28 @@ public class PythonLibraryEvaluatorFactory {
 
     public ILibraryEvaluator getEvaluator(IExternalFunctionInfo fnInfo, SourceLocation sourceLoc)
             throws IOException, AsterixException {
+        return getEvaluator(fnInfo, sourceLoc, 0);
+    }
+
+    /**
+     * @param worker the index of the Python process (of the calling thread) that will evaluate the function
+     */
+    public ILibraryEvaluator getEvaluator(IExternalFunctionInfo fnInfo, SourceLocation sourceLoc, int worker)
+            throws IOException, AsterixException {
         if (domainSockEnable) {
             return PythonLibraryDomainSocketEvaluator.getInstance(fnInfo, libraryManager, ctx,
-                    ctx.getWarningCollector(), sourceLoc);
+                    ctx.getWarningCollector(), sourceLoc, worker);
         } else {
             return PythonLibraryTCPSocketEvaluator.getInstance(fnInfo, libraryManager, router, ipcSys, pythonPath, ctx,
-                    sitePackagesPath, pythonArgs, pythonEnv, ctx.getWarningCollector(), sourceLoc);
+                    sitePackagesPath, pythonArgs, pythonEnv, ctx.getWarningCollector(), sourceLoc, worker);
         }
     }
 
+    public int getWorkersCount() {
+        return ctx.getJobletContext().getServiceContext().getAppConfig()
+                .getInt(NCConfig.Option.PYTHON_WORKERS_PER_PARTITION);
+    }
+
     private void config(Path sockPath) throws AsterixException {
         if (sockPath == null) {
             domainSockEnable = false;
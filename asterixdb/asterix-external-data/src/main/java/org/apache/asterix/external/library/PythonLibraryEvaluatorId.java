@@ -30,10 +30,18 @@ final class PythonLibraryEvaluatorId {
 
     private final Thread thread;
 
+    // Distinguishes the Python processes used by the same thread (see PYTHON_WORKERS_PER_PARTITION)
+    private final int worker;
+
     PythonLibraryEvaluatorId(DataverseName libraryDataverseName, String libraryName, Thread thread) {
+        this(libraryDataverseName, libraryName, thread, 0);
+    }
+
+    PythonLibraryEvaluatorId(DataverseName libraryDataverseName, String libraryName, Thread thread, int worker) {
         this.libraryDataverseName = Objects.requireNonNull(libraryDataverseName);
         this.libraryName = Objects.requireNonNull(libraryName);
         this.thread = Objects.requireNonNull(thread);
+        this.worker = worker;
     }
 
     @Override
@@ -44,12 +52,12 @@ final class PythonLibraryEvaluatorId {
             return false;
         PythonLibraryEvaluatorId that = (PythonLibraryEvaluatorId) o;
         return libraryDataverseName.equals(that.libraryDataverseName) && libraryName.equals(that.libraryName)
-                && thread.equals(that.thread);
+                && thread.equals(that.thread) && worker == that.worker;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(libraryDataverseName, libraryName);
+        return Objects.hash(libraryDataverseName, libraryName, worker);
     }
 
     public DataverseName getLibraryDataverseName() {
@@ -26,9 +26,8 @@ import static org.msgpack.core.MessagePack.Code.isFixedArray;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.asterix.common.exceptions.AsterixException;
 import org.apache.asterix.common.exceptions.ErrorCode;
@@ -56,6 +55,8 @@ import org.apache.hyracks.data.std.primitive.VoidPointable;
 import org.apache.hyracks.data.std.util.ArrayBackedValueStorage;
 import org.apache.hyracks.dataflow.common.comm.io.ArrayTupleBuilder;
 import org.apache.hyracks.dataflow.common.data.accessors.FrameTupleReference;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.msgpack.core.MessagePack;
 import org.msgpack.core.MessagePackException;
 import org.msgpack.core.MessageUnpacker;
@@ -64,6 +65,7 @@ import org.msgpack.core.buffer.ArrayBufferInput;
 public final class ExternalAssignBatchRuntimeFactory extends AbstractOneInputOneOutputRuntimeFactory {
 
     private static final long serialVersionUID = 1L;
+    private static final Logger LOGGER = LogManager.getLogger();
     private final int[] outColumns;
     private final IExternalFunctionDescriptor[] fnDescs;
     private final int[][] fnArgColumns;
@@ -87,50 +89,64 @@ public final class ExternalAssignBatchRuntimeFactory extends AbstractOneInputOne
         return new AbstractOneInputOneOutputOneFramePushRuntime() {
 
             private ArrayBackedValueStorage outputWrapper;
-            private List<ArrayBackedValueStorage> argHolders;
+            // [function][worker]
+            private ArrayBackedValueStorage[][] argHolders;
             ArrayTupleBuilder tupleBuilder;
-            private List<Pair<Long, ILibraryEvaluator>> libraryEvaluators;
+            private Pair<Long, ILibraryEvaluator>[][] libraryEvaluators;
             private ATypeTag[][] nullCalls;
-            private int[] numCalls;
+            private int[][] numCalls;
             private VoidPointable ref;
             private MessageUnpacker unpacker;
             private ArrayBufferInput unpackerInput;
-            private List<Pair<ByteBuffer, Counter>> batchResults;
+            private Pair<ByteBuffer, Counter>[][] batchResults;
             private MessageUnpackerToADM unpackerToADM;
             private PointableAllocator pointableAllocator;
             private MsgPackPointableVisitor pointableVisitor;
             private TaggedValuePointable anyPointer;
+            // The tuples of a frame are divided into contiguous chunks, one per Python worker
+            private int numWorkers;
+            private final TupleChunks chunks = new TupleChunks();
+            // Statistics
+            private long numBatches;
+            private long numArgTuples;
+            private long sendTime;
+            private long waitTime;
 
             @Override
+            @SuppressWarnings("unchecked")
             public void open() throws HyracksDataException {
                 super.open();
                 initAccessAppend(ctx);
                 tupleBuilder = new ArrayTupleBuilder(projectionList.length);
                 tRef = new FrameTupleReference();
                 ref = VoidPointable.FACTORY.createPointable();
-                libraryEvaluators = new ArrayList<>();
                 try {
                     PythonLibraryEvaluatorFactory evalFactory = new PythonLibraryEvaluatorFactory(ctx);
-                    for (IExternalFunctionDescriptor fnDesc : fnDescs) {
-                        ILibraryEvaluator eval = evalFactory.getEvaluator(fnDesc.getFunctionInfo(), sourceLoc);
-                        long id = eval.initialize(fnDesc.getFunctionInfo());
-                        libraryEvaluators.add(new Pair<>(id, eval));
+                    numWorkers = evalFactory.getWorkersCount();
+                    libraryEvaluators = new Pair[fnDescs.length][numWorkers];
+                    for (int func = 0; func < fnDescs.length; func++) {
+                        for (int worker = 0; worker < numWorkers; worker++) {
+                            ILibraryEvaluator eval =
+                                    evalFactory.getEvaluator(fnDescs[func].getFunctionInfo(), sourceLoc, worker);
+                            long id = eval.initialize(fnDescs[func].getFunctionInfo());
+                            libraryEvaluators[func][worker] = new Pair<>(id, eval);
+                        }
                     }
                 } catch (IOException | AsterixException e) {
                     throw RuntimeDataException.create(ErrorCode.EXTERNAL_UDF_EXCEPTION, e, sourceLoc, e.getMessage());
                 }
-                argHolders = new ArrayList<>(fnArgColumns.length);
-                for (int i = 0; i < fnArgColumns.length; i++) {
-                    argHolders.add(new ArrayBackedValueStorage());
+                argHolders = new ArrayBackedValueStorage[fnArgColumns.length][numWorkers];
+                batchResults = new Pair[fnArgColumns.length][numWorkers];
+                for (int func = 0; func < fnArgColumns.length; func++) {
+                    for (int worker = 0; worker < numWorkers; worker++) {
+                        argHolders[func][worker] = new ArrayBackedValueStorage();
+                        batchResults[func][worker] = new Pair<>(
+                                ByteBuffer.allocate(ExternalDataConstants.DEFAULT_BUFFER_SIZE), new Counter(-1));
+                    }
                 }
                 outputWrapper = new ArrayBackedValueStorage();
-                nullCalls = new ATypeTag[argHolders.size()][0];
-                numCalls = new int[fnArgColumns.length];
-                batchResults = new ArrayList<>(argHolders.size());
-                for (int i = 0; i < argHolders.size(); i++) {
-                    batchResults.add(new Pair<>(ByteBuffer.allocate(ExternalDataConstants.DEFAULT_BUFFER_SIZE),
-                            new Counter(-1)));
-                }
+                nullCalls = new ATypeTag[fnArgColumns.length][0];
+                numCalls = new int[fnArgColumns.length][numWorkers];
                 unpackerInput = new ArrayBufferInput(new byte[0]);
                 unpacker = MessagePack.newDefaultUnpacker(unpackerInput);
                 unpackerToADM = new MessageUnpackerToADM();
@@ -139,15 +155,17 @@ public final class ExternalAssignBatchRuntimeFactory extends AbstractOneInputOne
                 anyPointer = TaggedValuePointable.FACTORY.createPointable();
             }
 
-            private void resetBuffers(int numTuples, int[] numCalls) {
+            private void resetBuffers(int numTuples) {
+                chunks.reset(numTuples, numWorkers);
                 for (int func = 0; func < fnArgColumns.length; func++) {
-                    argHolders.get(func).reset();
                     if (nullCalls[func].length < numTuples) {
                         nullCalls[func] = new ATypeTag[numTuples];
                     }
-                    numCalls[func] = numTuples;
                     Arrays.fill(nullCalls[func], ATypeTag.TYPE);
-                    for (Pair<ByteBuffer, Counter> batch : batchResults) {
+                    for (int chunk = 0; chunk < chunks.getNumChunks(); chunk++) {
+                        argHolders[func][chunk].reset();
+                        numCalls[func][chunk] = chunks.getChunkEnd(chunk) - chunks.getChunkStart(chunk);
+                        Pair<ByteBuffer, Counter> batch = batchResults[func][chunk];
                         batch.getFirst().clear();
                         batch.getFirst().position(0);
                         batch.getSecond().set(-1);
@@ -170,31 +188,35 @@ public final class ExternalAssignBatchRuntimeFactory extends AbstractOneInputOne
                 return argumentPresence;
             }
 
-            private void collectFunctionWarnings(List<Pair<ByteBuffer, Counter>> batchResults) throws IOException {
-                for (Pair<ByteBuffer, Counter> result : batchResults) {
-                    if (result.getSecond().get() > -1) {
-                        ByteBuffer resBuf = result.getFirst();
-                        unpackerInput.reset(resBuf.array(), resBuf.position() + resBuf.arrayOffset(),
-                                resBuf.remaining());
-                        unpacker.reset(unpackerInput);
-                        try {
-                            int numEntries = unpacker.unpackArrayHeader();
-                            for (int j = 0; j < numEntries; j++) {
-                                if (ctx.getWarningCollector().shouldWarn()) {
-                                    //TODO: in domain socket mode, a NUL can appear at the end of the stacktrace strings.
-                                    //      this should probably not happen but warnings with control characters should
-                                    //      also be properly escaped
-                                    ctx.getWarningCollector()
-                                            .warn(Warning.of(sourceLoc, ErrorCode.EXTERNAL_UDF_EXCEPTION,
-                                                    unpacker.unpackString().replace('\0', ' ')));
-                                }
-                            }
-                        } catch (MessagePackException e) {
+            private void collectFunctionWarnings() throws IOException {
+                for (int func = 0; func < fnArgColumns.length; func++) {
+                    for (int chunk = 0; chunk < chunks.getNumChunks(); chunk++) {
+                        collectFunctionWarnings(batchResults[func][chunk]);
+                    }
+                }
+            }
+
+            private void collectFunctionWarnings(Pair<ByteBuffer, Counter> result) throws IOException {
+                if (result.getSecond().get() > -1) {
+                    ByteBuffer resBuf = result.getFirst();
+                    unpackerInput.reset(resBuf.array(), resBuf.position() + resBuf.arrayOffset(), resBuf.remaining());
+                    unpacker.reset(unpackerInput);
+                    try {
+                        int numEntries = unpacker.unpackArrayHeader();
+                        for (int j = 0; j < numEntries; j++) {
                             if (ctx.getWarningCollector().shouldWarn()) {
+                                //TODO: in domain socket mode, a NUL can appear at the end of the stacktrace strings.
+                                //      this should probably not happen but warnings with control characters should
+                                //      also be properly escaped
                                 ctx.getWarningCollector().warn(Warning.of(sourceLoc, ErrorCode.EXTERNAL_UDF_EXCEPTION,
-                                        "Error retrieving returned warnings from Python UDF"));
+                                        unpacker.unpackString().replace('\0', ' ')));
                             }
                         }
+                    } catch (MessagePackException e) {
+                        if (ctx.getWarningCollector().shouldWarn()) {
+                            ctx.getWarningCollector().warn(Warning.of(sourceLoc, ErrorCode.EXTERNAL_UDF_EXCEPTION,
+                                    "Error retrieving returned warnings from Python UDF"));
+                        }
                     }
                 }
             }
@@ -207,12 +229,14 @@ public final class ExternalAssignBatchRuntimeFactory extends AbstractOneInputOne
                 tupleBuilder.reset();
                 try {
                     int numTuples = tAccess.getTupleCount();
-                    resetBuffers(numTuples, numCalls);
+                    resetBuffers(numTuples);
                     //build columns of arguments for each function
                     for (int t = 0; t < numTuples; t++) {
+                        int chunk = chunks.getChunk(t);
                         for (int func = 0; func < fnArgColumns.length; func++) {
                             tRef.reset(tAccess, t);
                             int[] cols = fnArgColumns[func];
+                            ArrayBackedValueStorage argHolder = argHolders[func][chunk];
                             //TODO: switch between fixarray/array16/array32 where appropriate
                             ATypeTag argumentStatus = ATypeTag.TYPE;
                             if (!fnDescs[func].getFunctionInfo().getNullCall()) {
@@ -226,69 +250,57 @@ public final class ExternalAssignBatchRuntimeFactory extends AbstractOneInputOne
                             }
                             if (argumentStatus == ATypeTag.TYPE) {
                                 if (cols.length > 0) {
-                                    argHolders.get(func).getDataOutput().writeByte(ARRAY16);
-                                    argHolders.get(func).getDataOutput().writeShort((short) cols.length);
+                                    argHolder.getDataOutput().writeByte(ARRAY16);
+                                    argHolder.getDataOutput().writeShort((short) cols.length);
                                 }
                                 for (int colIdx = 0; colIdx < cols.length; colIdx++) {
                                     ref.set(buffer.array(), tRef.getFieldStart(cols[colIdx]),
                                             tRef.getFieldLength(cols[colIdx]));
                                     IExternalLangIPCProto.visitValueRef(fnDescs[func].getArgumentTypes()[colIdx],
-                                            argHolders.get(func).getDataOutput(), ref, pointableAllocator,
-                                            pointableVisitor, fnDescs[func].getFunctionInfo().getNullCall());
+                                            argHolder.getDataOutput(), ref, pointableAllocator, pointableVisitor,
+                                            fnDescs[func].getFunctionInfo().getNullCall());
                                 }
                             } else {
-                                numCalls[func]--;
+                                numCalls[func][chunk]--;
                             }
                             if (cols.length == 0) {
-                                ExternalDataUtils.setVoidArgument(argHolders.get(func));
+                                ExternalDataUtils.setVoidArgument(argHolder);
                             }
                         }
                     }
 
-                    //TODO: maybe this could be done in parallel for each unique library evaluator?
-                    for (int argHolderIdx = 0; argHolderIdx < argHolders.size(); argHolderIdx++) {
-                        Pair<Long, ILibraryEvaluator> fnEval = libraryEvaluators.get(argHolderIdx);
-                        ByteBuffer columnResult = fnEval.getSecond().callMulti(fnEval.getFirst(),
-                                argHolders.get(argHolderIdx), numCalls[argHolderIdx]);
-                        if (columnResult != null) {
-                            Pair<ByteBuffer, Counter> resultholder = batchResults.get(argHolderIdx);
-                            if (resultholder.getFirst().capacity() < columnResult.remaining()) {
-                                ByteBuffer realloc =
-                                        ctx.reallocateFrame(resultholder.getFirst(),
-                                                ctx.getInitialFrameSize()
-                                                        * ((columnResult.remaining() / ctx.getInitialFrameSize()) + 1),
-                                                false);
-                                realloc.limit(columnResult.limit());
-                                resultholder.setFirst(realloc);
+                    for (int func = 0; func < fnArgColumns.length; func++) {
+                        // Send the chunks to all the workers first, so they evaluate them concurrently
+                        long startTime = System.nanoTime();
+                        for (int chunk = 0; chunk < chunks.getNumChunks(); chunk++) {
+                            if (numCalls[func][chunk] > 0) {
+                                Pair<Long, ILibraryEvaluator> fnEval = libraryEvaluators[func][chunk];
+                                fnEval.getSecond().sendMulti(fnEval.getFirst(), argHolders[func][chunk],
+                                        numCalls[func][chunk]);
+                                numBatches++;
+                                numArgTuples += numCalls[func][chunk];
                             }
-                            ByteBuffer resultBuf = resultholder.getFirst();
-                            //offset 1 to skip message type
-                            System.arraycopy(columnResult.array(), 1, resultBuf.array(), 0,
-                                    columnResult.remaining() - 1);
-                            //wrapper for results and warnings arrays. always length 2
-                            consumeAndGetBatchLength(resultBuf);
-                            int numResults = (int) consumeAndGetBatchLength(resultBuf);
-                            resultholder.getSecond().set(numResults);
-                        } else {
-                            if (ctx.getWarningCollector().shouldWarn()) {
-                                ctx.getWarningCollector()
-                                        .warn(Warning.of(sourceLoc, ErrorCode.EXTERNAL_UDF_EXCEPTION,
-                                                "Function "
-                                                        + fnDescs[argHolderIdx].getFunctionInfo()
-                                                                .getFunctionIdentifier().toString()
-                                                        + " failed to execute"));
+                        }
+                        long sentTime = System.nanoTime();
+                        for (int chunk = 0; chunk < chunks.getNumChunks(); chunk++) {
+                            if (numCalls[func][chunk] > 0) {
+                                ByteBuffer columnResult = libraryEvaluators[func][chunk].getSecond().receiveMulti();
+                                setBatchResult(func, chunk, columnResult);
                             }
                         }
+                        sendTime += sentTime - startTime;
+                        waitTime += System.nanoTime() - sentTime;
                     }
 
                     //decompose returned function columns into frame tuple format
                     for (int i = 0; i < numTuples; i++) {
+                        int chunk = chunks.getChunk(i);
                         tupleBuilder.reset();
                         for (int f = 0; f < projectionList.length; f++) {
                             int k = projectionToOutColumns[f];
                             if (k >= 0) {
                                 outputWrapper.reset();
-                                Pair<ByteBuffer, Counter> result = batchResults.get(k);
+                                Pair<ByteBuffer, Counter> result = batchResults[k][chunk];
                                 ATypeTag functionCalled = nullCalls[k][i];
                                 if (functionCalled == ATypeTag.TYPE) {
                                     if (result.getSecond().get() > 0) {
@@ -310,12 +322,38 @@ public final class ExternalAssignBatchRuntimeFactory extends AbstractOneInputOne
                         }
                         appendToFrameFromTupleBuilder(tupleBuilder);
                     }
-                    collectFunctionWarnings(batchResults);
+                    collectFunctionWarnings();
                 } catch (IOException e) {
                     throw HyracksDataException.create(e);
                 }
             }
 
+            private void setBatchResult(int func, int chunk, ByteBuffer columnResult) throws HyracksDataException {
+                if (columnResult != null) {
+                    Pair<ByteBuffer, Counter> resultholder = batchResults[func][chunk];
+                    if (resultholder.getFirst().capacity() < columnResult.remaining()) {
+                        int frameSize = ctx.getInitialFrameSize();
+                        ByteBuffer realloc = ctx.reallocateFrame(resultholder.getFirst(),
+                                frameSize * ((columnResult.remaining() / frameSize) + 1), false);
+                        realloc.limit(columnResult.limit());
+                        resultholder.setFirst(realloc);
+                    }
+                    ByteBuffer resultBuf = resultholder.getFirst();
+                    //offset 1 to skip message type
+                    System.arraycopy(columnResult.array(), 1, resultBuf.array(), 0, columnResult.remaining() - 1);
+                    //wrapper for results and warnings arrays. always length 2
+                    consumeAndGetBatchLength(resultBuf);
+                    int numResults = (int) consumeAndGetBatchLength(resultBuf);
+                    resultholder.getSecond().set(numResults);
+                } else {
+                    if (ctx.getWarningCollector().shouldWarn()) {
+                        ctx.getWarningCollector().warn(Warning.of(sourceLoc, ErrorCode.EXTERNAL_UDF_EXCEPTION,
+                                "Function " + fnDescs[func].getFunctionInfo().getFunctionIdentifier().toString()
+                                        + " failed to execute"));
+                    }
+                }
+            }
+
             private long consumeAndGetBatchLength(ByteBuffer buf) {
                 byte tag = buf.get();
                 if (isFixedArray(tag)) {
@@ -332,6 +370,54 @@ public final class ExternalAssignBatchRuntimeFactory extends AbstractOneInputOne
             public void flush() throws HyracksDataException {
                 appender.flush(writer);
             }
+
+            @Override
+            public void close() throws HyracksDataException {
+                if (LOGGER.isDebugEnabled()) {
+                    LOGGER.debug("Python UDF batches: {}, tuples: {}, workers: {}, send time: {} ms, wait time: {} ms",
+                            numBatches, numArgTuples, numWorkers, TimeUnit.NANOSECONDS.toMillis(sendTime),
+                            TimeUnit.NANOSECONDS.toMillis(waitTime));
+                }
+                super.close();
+            }
         };
     }
+
+    /**
+     * Divides the tuples of a frame into contiguous chunks of (almost) equal size, at most one per worker
+     */
+    static final class TupleChunks {
+
+        private int numTuples;
+        private int numChunks = 1;
+
+        void reset(int numTuples, int numWorkers) {
+            this.numTuples = numTuples;
+            numChunks = Math.max(1, Math.min(numWorkers, numTuples));
+        }
+
+        int getNumChunks() {
+            return numChunks;
+        }
+
+        int getChunkStart(int chunk) {
+            return (int) ((long) chunk * numTuples / numChunks);
+        }
+
+        int getChunkEnd(int chunk) {
+            return getChunkStart(chunk + 1);
+        }
+
+        int getChunk(int tuple) {
+            int chunk = (int) ((long) tuple * numChunks / numTuples);
+            // Adjust for rounding
+            while (tuple >= getChunkEnd(chunk)) {
+                chunk++;
+            }
+            while (tuple < getChunkStart(chunk)) {
+                chunk--;
+            }
+            return chunk;
+        }
+    }
 }
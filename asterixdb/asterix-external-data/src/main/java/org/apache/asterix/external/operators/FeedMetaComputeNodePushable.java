@@ -131,7 +131,7 @@ public class FeedMetaComputeNodePushable extends AbstractUnaryInputUnaryOutputOp
         coreOperator.setOutputFrameWriter(0, writer, recordDesc);
         if (fpa.flowControlEnabled()) {
             writer = new FeedRuntimeInputHandler(ctx, connectionId, runtimeId, coreOperator, fpa, fta,
-                    feedManager.getFramePool());
+                    feedManager.getFramePool(), feedManager.getSpillBudget());
         } else {
             writer = new SyncFeedRuntimeInputHandler(ctx, coreOperator, fta);
         }
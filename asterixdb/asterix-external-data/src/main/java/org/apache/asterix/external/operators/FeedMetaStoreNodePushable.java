@@ -31,6 +31,7 @@ import org.apache.asterix.external.feed.management.FeedConnectionId;
 import org.apache.asterix.external.feed.policy.FeedPolicyAccessor;
 import org.apache.asterix.external.util.FeedUtils;
 import org.apache.asterix.external.util.FeedUtils.FeedRuntimeType;
+import org.apache.asterix.runtime.operators.LSMPrimaryUpsertOperatorNodePushable;
 import org.apache.hyracks.api.comm.VSizeFrame;
 import org.apache.hyracks.api.context.IHyracksTaskContext;
 import org.apache.hyracks.api.dataflow.IActivity;
@@ -152,9 +153,12 @@ public class FeedMetaStoreNodePushable extends AbstractUnaryInputUnaryOutputOper
                 return;
             }
         }
+        if (insertOperator instanceof LSMPrimaryUpsertOperatorNodePushable) {
+            ((LSMPrimaryUpsertOperatorNodePushable) insertOperator).setBatchUpserts(policyAccessor.batchUpserts());
+        }
         if (policyAccessor.flowControlEnabled()) {
             writer = new FeedRuntimeInputHandler(ctx, connectionId, runtimeId, insertOperator, policyAccessor, fta,
-                    feedManager.getFramePool());
+                    feedManager.getFramePool(), feedManager.getSpillBudget());
         } else {
             writer = new SyncFeedRuntimeInputHandler(ctx, insertOperator, fta);
         }
@@ -40,6 +40,7 @@ import org.apache.asterix.om.base.AUnorderedList;
 import org.apache.asterix.om.types.AOrderedListType;
 import org.apache.asterix.om.types.ARecordType;
 import org.apache.asterix.om.types.ATypeTag;
+import org.apache.asterix.om.types.AUnionType;
 import org.apache.asterix.om.types.AbstractCollectionType;
 import org.apache.asterix.om.types.BuiltinType;
 import org.apache.asterix.om.types.IAType;
@@ -65,6 +66,7 @@ public abstract class AbstractJsonDataParser extends AbstractNestedDataParser<AD
     protected final ParserContext parserContext;
     protected final JsonFactory jsonFactory;
     protected final ARecordType rootType;
+    protected final ARecordType expectedType;
     protected final GeometryCoParser geometryCoParser;
     protected Supplier<String> dataSourceName = ExternalDataConstants.EMPTY_STRING;
     protected LongSupplier lineNumber = ExternalDataConstants.NO_LINES;
@@ -78,8 +80,21 @@ public abstract class AbstractJsonDataParser extends AbstractNestedDataParser<AD
      * @param jsonFactory Jackson JSON parser factory.
      */
     public AbstractJsonDataParser(ARecordType recordType, JsonFactory jsonFactory) {
+        this(recordType, null, jsonFactory);
+    }
+
+    /**
+     * Initialize JSONDataParser with GeometryCoParser and the requested fields
+     *
+     * @param recordType   defined type.
+     * @param expectedType requested fields (or {@code null} to parse the entire records). Undeclared fields that are
+     *                     not part of this type are skipped without being parsed.
+     * @param jsonFactory  Jackson JSON parser factory.
+     */
+    public AbstractJsonDataParser(ARecordType recordType, ARecordType expectedType, JsonFactory jsonFactory) {
         // recordType currently cannot be null, however this is to guarantee for any future changes.
         this.rootType = recordType != null ? recordType : RecordUtil.FULLY_OPEN_RECORD_TYPE;
+        this.expectedType = expectedType;
         this.jsonFactory = jsonFactory;
         //GeometryCoParser to parse GeoJSON objects to AsterixDB internal spatial types.
         geometryCoParser = new GeometryCoParser(jsonParser);
@@ -186,6 +201,26 @@ public abstract class AbstractJsonDataParser extends AbstractNestedDataParser<AD
 
     @Override
     protected final void parseObject(ARecordType recordType, DataOutput out) throws IOException {
+        parseObject(recordType, null, out);
+    }
+
+    /**
+     * Parse the root object using the requested fields (if any)
+     *
+     * @param out output
+     */
+    protected final void parseRootObject(DataOutput out) throws IOException {
+        parseObject(rootType, expectedType, out);
+    }
+
+    /**
+     * Parse an object
+     *
+     * @param recordType    defined type
+     * @param projectedType requested fields of the undeclared fields or {@code null} if all fields are requested
+     * @param out           output
+     */
+    private void parseObject(ARecordType recordType, ARecordType projectedType, DataOutput out) throws IOException {
         final IMutableValueStorage valueBuffer = parserContext.enterObject();
         final IARecordBuilder objectBuilder = parserContext.getObjectBuilder(recordType);
         final BitSet nullBitMap = parserContext.getNullBitmap(recordType.getFieldTypes().length);
@@ -206,11 +241,20 @@ public abstract class AbstractJsonDataParser extends AbstractNestedDataParser<AD
 
             if (fieldIndex < 0) {
                 //field is not defined and the type is open
-                parseValue(BuiltinType.ANY, valueBuffer.getDataOutput());
+                final IAType requestedType = getRequestedFieldType(projectedType, fieldName);
+                if (requestedType == null) {
+                    //the field is not requested. Skip the value (including its nested values) without parsing it
+                    jsonParser.skipChildren();
+                    continue;
+                }
+                parseRequestedValue(requestedType, valueBuffer.getDataOutput());
                 objectBuilder.addField(parserContext.getSerializedFieldName(fieldName), valueBuffer);
+            } else if (nullBitMap.get(fieldIndex)) {
+                //duplicate of a defined field (not detected by Jackson). Keep the first value, same as open fields
+                parseValue(BuiltinType.ANY, valueBuffer.getDataOutput());
             } else {
                 //field is defined
-                final IAType fieldType = recordType.getFieldType(fieldName);
+                final IAType fieldType = recordType.getFieldTypes()[fieldIndex];
 
                 //fail fast if the current field is not nullable
                 if (currentToken() == ADMToken.NULL && !isNullableType(fieldType)) {
@@ -235,6 +279,75 @@ public abstract class AbstractJsonDataParser extends AbstractNestedDataParser<AD
         objectBuilder.write(out, true);
     }
 
+    /**
+     * Parse an undeclared value and only keep the requested parts of it
+     *
+     * @param requestedType the requested type of the value. {@link ATypeTag#ANY} means the entire value is requested
+     * @param out           output
+     */
+    private void parseRequestedValue(IAType requestedType, DataOutput out) throws IOException {
+        final IAType type = getRequestedType(requestedType, currentToken());
+        if (type.getTypeTag() == ATypeTag.OBJECT) {
+            parseObject(RecordUtil.FULLY_OPEN_RECORD_TYPE, (ARecordType) type, out);
+        } else if (type.getTypeTag() == ATypeTag.ARRAY) {
+            parseRequestedArray(((AOrderedListType) type).getItemType(), out);
+        } else {
+            //The entire value is requested or the value does not match the requested type
+            parseValue(BuiltinType.ANY, out);
+        }
+    }
+
+    private void parseRequestedArray(IAType requestedItemType, DataOutput out) throws IOException {
+        final IMutableValueStorage valueBuffer = parserContext.enterCollection();
+        final IAsterixListBuilder arrayBuilder =
+                parserContext.getCollectionBuilder(AOrderedListType.FULL_OPEN_ORDEREDLIST_TYPE);
+        while (nextToken() != ADMToken.ARRAY_END) {
+            //Items cannot be skipped as their positions must be preserved
+            valueBuffer.reset();
+            parseRequestedValue(requestedItemType, valueBuffer.getDataOutput());
+            arrayBuilder.addItem(valueBuffer);
+        }
+        parserContext.exitCollection(valueBuffer, arrayBuilder);
+        arrayBuilder.write(out, true);
+    }
+
+    /**
+     * @return the requested type of an undeclared field or {@code null} if the field is not requested
+     */
+    private static IAType getRequestedFieldType(ARecordType projectedType, String fieldName) {
+        if (projectedType == null) {
+            return BuiltinType.ANY;
+        }
+        final int fieldIndex = projectedType.getFieldIndex(fieldName);
+        return fieldIndex < 0 ? null : projectedType.getFieldTypes()[fieldIndex];
+    }
+
+    /**
+     * @return the requested type that matches the current token. {@link BuiltinType#ANY} is returned if the current
+     * value is not an object or an array or if it does not match the requested type
+     */
+    private static IAType getRequestedType(IAType requestedType, ADMToken token) {
+        final ATypeTag tokenTypeTag;
+        if (token == ADMToken.OBJECT_START) {
+            tokenTypeTag = ATypeTag.OBJECT;
+        } else if (token == ADMToken.ARRAY_START) {
+            tokenTypeTag = ATypeTag.ARRAY;
+        } else {
+            return BuiltinType.ANY;
+        }
+
+        if (requestedType.getTypeTag() == ATypeTag.UNION) {
+            for (IAType type : ((AUnionType) requestedType).getUnionList()) {
+                if (type.getTypeTag() == tokenTypeTag) {
+                    return type;
+                }
+            }
+        } else if (requestedType.getTypeTag() == tokenTypeTag) {
+            return requestedType;
+        }
+        return BuiltinType.ANY;
+    }
+
     /**
      * Geometry in GeoJSON is an object
      *
@@ -44,6 +44,7 @@ import org.apache.asterix.om.types.ARecordType;
 import org.apache.asterix.om.types.ATypeTag;
 import org.apache.asterix.om.types.IAType;
 import org.apache.asterix.om.utils.NonTaggedFormatUtil;
+import org.apache.asterix.runtime.projection.DataProjectionFiltrationInfo;
 import org.apache.hyracks.api.context.IHyracksTaskContext;
 import org.apache.hyracks.api.exceptions.HyracksDataException;
 import org.apache.hyracks.api.exceptions.IWarningCollector;
@@ -71,11 +72,12 @@ public class DelimitedDataParser extends AbstractDataParser implements IStreamDa
     private final byte[] fieldTypeTags;
     private final int[] fldIds;
     private final ArrayBackedValueStorage[] nameBuffers;
+    private final boolean[] skippedFields;
     private final char[] nullChars;
 
     public DelimitedDataParser(IHyracksTaskContext ctx, IValueParserFactory[] valueParserFactories, char fieldDelimiter,
-            char quote, boolean hasHeader, ARecordType recordType, boolean isStreamParser, String nullString)
-            throws HyracksDataException {
+            char quote, boolean hasHeader, ARecordType recordType, ARecordType expectedType, boolean isStreamParser,
+            String nullString) throws HyracksDataException {
         this.dataSourceName = ExternalDataConstants.EMPTY_STRING;
         this.lineNumber = ExternalDataConstants.NO_LINES;
         this.warnings = ctx.getWarningCollector();
@@ -103,9 +105,11 @@ public class DelimitedDataParser extends AbstractDataParser implements IStreamDa
 
         fldIds = new int[n];
         nameBuffers = new ArrayBackedValueStorage[n];
+        skippedFields = new boolean[n];
         AMutableString str = new AMutableString(null);
         for (int i = 0; i < n; i++) {
             String name = recordType.getFieldNames()[i];
+            skippedFields[i] = canSkipField(expectedType, name, recordType.getFieldTypes()[i]);
             fldIds[i] = recBuilder.getFieldId(name);
             if (fldIds[i] < 0) {
                 if (!recordType.isOpen()) {
@@ -164,6 +168,10 @@ public class DelimitedDataParser extends AbstractDataParser implements IStreamDa
                     default:
                         throw new IllegalStateException();
                 }
+                if (skippedFields[i]) {
+                    // the field is not requested and its value cannot invalidate the record
+                    continue;
+                }
                 fieldValueBuffer.reset();
 
                 if (nullChars != null && NonTaggedFormatUtil.isOptional(recordType.getFieldTypes()[i]) && fieldNull()) {
@@ -256,6 +264,25 @@ public class DelimitedDataParser extends AbstractDataParser implements IStreamDa
         return dataSourceName.get();
     }
 
+    /**
+     * A field that is not requested can be skipped (i.e., not converted and not added to the record) only if it is
+     * optional and its value is always valid. Otherwise, the field must still be parsed as an invalid value drops
+     * the entire record.
+     *
+     * @param expectedType requested fields or {@code null} if the entire records are requested
+     * @param fieldName    declared field name
+     * @param fieldType    declared field type
+     * @return true if the field can be skipped, false otherwise
+     */
+    private static boolean canSkipField(ARecordType expectedType, String fieldName, IAType fieldType) {
+        if (expectedType == null || expectedType == DataProjectionFiltrationInfo.ALL_FIELDS_TYPE
+                || expectedType.getFieldIndex(fieldName) >= 0) {
+            return false;
+        }
+        return NonTaggedFormatUtil.isOptional(fieldType)
+                && TypeComputeUtils.getActualType(fieldType).getTypeTag() == ATypeTag.STRING;
+    }
+
     private static boolean canProcessEmptyField(IAType fieldType) {
         IAType type = TypeComputeUtils.getActualType(fieldType);
         // TODO(ali): investigate what it means for a field to have type NULL. there is no parser implemented for it
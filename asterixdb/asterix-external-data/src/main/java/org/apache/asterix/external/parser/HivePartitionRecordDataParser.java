@@ -0,0 +1,179 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.asterix.external.parser;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import org.apache.asterix.builders.RecordBuilder;
+import org.apache.asterix.common.exceptions.ErrorCode;
+import org.apache.asterix.common.exceptions.RuntimeDataException;
+import org.apache.asterix.external.api.IRawRecord;
+import org.apache.asterix.external.api.IRecordDataParser;
+import org.apache.asterix.external.util.HivePartitionValues;
+import org.apache.asterix.om.pointables.nonvisitor.ARecordPointable;
+import org.apache.asterix.om.types.ARecordType;
+import org.apache.asterix.om.types.ATypeTag;
+import org.apache.asterix.om.utils.NonTaggedFormatUtil;
+import org.apache.hyracks.api.exceptions.HyracksDataException;
+import org.apache.hyracks.data.std.util.ArrayBackedValueStorage;
+import org.apache.hyracks.util.LogRedactionUtil;
+
+/**
+ * Injects the partition values of the object keys of a Hive-style partitioned dataset into the records that are
+ * parsed by another parser. The partition values replace any values of the same fields in the records
+ * (see {@link HivePartitionValues}).
+ */
+public class HivePartitionRecordDataParser<T> implements IRecordDataParser<T> {
+    private final IRecordDataParser<T> recordParser;
+    private final ARecordType recordType;
+    private final Supplier<String> sourceName;
+    private final ArrayBackedValueStorage parsedRecord;
+    private final ARecordPointable recordPointable;
+    private final RecordBuilder recordBuilder;
+    private final ArrayBackedValueStorage fieldName;
+    private final ArrayBackedValueStorage fieldValue;
+    // The partition values of the current source: closed ones by their field index and open ones by their names
+    private final ArrayBackedValueStorage[] closedPartitionValues;
+    private final List<ArrayBackedValueStorage> openPartitionNames;
+    private final List<ArrayBackedValueStorage> openPartitionValues;
+    private String currentSourceName;
+    private boolean hasPartitionValues;
+
+    /**
+     * @param recordParser the parser of the records
+     * @param recordType   dataset declared type
+     * @param sourceName   the name (i.e., the object key) of the source of the current record
+     */
+    public HivePartitionRecordDataParser(IRecordDataParser<T> recordParser, ARecordType recordType,
+            Supplier<String> sourceName) {
+        this.recordParser = recordParser;
+        this.recordType = recordType;
+        this.sourceName = sourceName;
+        parsedRecord = new ArrayBackedValueStorage();
+        recordPointable = ARecordPointable.FACTORY.createPointable();
+        recordBuilder = new RecordBuilder();
+        fieldName = new ArrayBackedValueStorage();
+        fieldValue = new ArrayBackedValueStorage();
+        closedPartitionValues = new ArrayBackedValueStorage[recordType.getFieldNames().length];
+        openPartitionNames = new ArrayList<>();
+        openPartitionValues = new ArrayList<>();
+    }
+
+    @Override
+    public void configure(Supplier<String> dataSourceName, LongSupplier lineNumber) {
+        recordParser.configure(dataSourceName, lineNumber);
+    }
+
+    @Override
+    public boolean parse(IRawRecord<? extends T> record, DataOutput out) throws HyracksDataException {
+        parsedRecord.reset();
+        if (!recordParser.parse(record, parsedRecord.getDataOutput())) {
+            return false;
+        }
+
+        try {
+            setPartitionValues(sourceName.get());
+            if (hasPartitionValues) {
+                writeRecord(out);
+            } else {
+                out.write(parsedRecord.getByteArray(), parsedRecord.getStartOffset(), parsedRecord.getLength());
+            }
+        } catch (IOException e) {
+            throw HyracksDataException.create(e);
+        }
+        return true;
+    }
+
+    private void setPartitionValues(String name) throws IOException {
+        // Consecutive records mostly come from the same source
+        if (name == currentSourceName || name.equals(currentSourceName)) {
+            return;
+        }
+        currentSourceName = name;
+        Arrays.fill(closedPartitionValues, null);
+        openPartitionNames.clear();
+        openPartitionValues.clear();
+        hasPartitionValues = false;
+
+        for (Map.Entry<String, String> partition : HivePartitionValues.getPartitionValues(name).entrySet()) {
+            String partitionName = partition.getKey();
+            ATypeTag partitionType = HivePartitionValues.getPartitionType(recordType, partitionName);
+            if (partitionType == ATypeTag.MISSING) {
+                continue;
+            }
+
+            int fieldIndex = recordType.getFieldIndex(partitionName);
+            Object value = HivePartitionValues.parse(partition.getValue(), partitionType);
+            if (value == HivePartitionValues.INVALID || value == null && fieldIndex >= 0
+                    && !NonTaggedFormatUtil.isOptional(recordType.getFieldTypes()[fieldIndex])) {
+                throw new RuntimeDataException(ErrorCode.INVALID_HIVE_PARTITION_VALUE,
+                        LogRedactionUtil.userData(partition.getValue()), partitionName, partitionType,
+                        LogRedactionUtil.userData(name));
+            }
+
+            ArrayBackedValueStorage partitionValue = new ArrayBackedValueStorage();
+            HivePartitionValues.serialize(value, partitionType, partitionValue.getDataOutput());
+            if (fieldIndex >= 0) {
+                closedPartitionValues[fieldIndex] = partitionValue;
+            } else {
+                ArrayBackedValueStorage openPartitionName = new ArrayBackedValueStorage();
+                HivePartitionValues.serialize(partitionName, ATypeTag.STRING, openPartitionName.getDataOutput());
+                openPartitionNames.add(openPartitionName);
+                openPartitionValues.add(partitionValue);
+            }
+            hasPartitionValues = true;
+        }
+    }
+
+    private void writeRecord(DataOutput out) throws IOException {
+        recordPointable.set(parsedRecord);
+        recordBuilder.reset(recordType);
+        recordBuilder.init();
+        for (int i = 0; i < closedPartitionValues.length; i++) {
+            if (closedPartitionValues[i] != null) {
+                recordBuilder.addField(i, closedPartitionValues[i]);
+            } else {
+                fieldValue.reset();
+                recordPointable.getClosedFieldValue(recordType, i, fieldValue.getDataOutput());
+                recordBuilder.addField(i, fieldValue);
+            }
+        }
+
+        // The partition values are added first as the builder ignores the duplicate open fields
+        for (int i = 0; i < openPartitionNames.size(); i++) {
+            recordBuilder.addField(openPartitionNames.get(i), openPartitionValues.get(i));
+        }
+        int openFieldCount = recordPointable.getOpenFieldCount(recordType);
+        for (int i = 0; i < openFieldCount; i++) {
+            fieldName.reset();
+            recordPointable.getOpenFieldName(recordType, i, fieldName.getDataOutput());
+            fieldValue.reset();
+            recordPointable.getOpenFieldValue(recordType, i, fieldValue.getDataOutput());
+            recordBuilder.addField(fieldName, fieldValue);
+        }
+        recordBuilder.write(out, true);
+    }
+}
@@ -58,6 +58,20 @@ public class JSONDataParser extends AbstractJsonDataParser implements IStreamDat
         super(recordType, jsonFactory);
     }
 
+    /**
+     * Initialize JSONDataParser that only parses the requested fields
+     *
+     * @param recordType
+     *            defined type.
+     * @param expectedType
+     *            requested fields ({@code null} to parse the entire records).
+     * @param jsonFactory
+     *            Jackson JSON parser factory.
+     */
+    public JSONDataParser(ARecordType recordType, ARecordType expectedType, JsonFactory jsonFactory) {
+        super(recordType, expectedType, jsonFactory);
+    }
+
     @Override
     public void setInputStream(InputStream in) throws IOException {
         setInput(jsonFactory.createParser(in));
@@ -81,7 +95,7 @@ public class JSONDataParser extends AbstractJsonDataParser implements IStreamDat
             if (nextToken() != ADMToken.OBJECT_START) {
                 throw new ParseException(PARSER_DATA_PARSER_UNEXPECTED_TOKEN, currentToken(), ADMToken.OBJECT_START);
             }
-            parseObject(rootType, out);
+            parseRootObject(out);
             return true;
         } catch (IOException e) {
             throw createException(e);
@@ -100,7 +114,7 @@ public class JSONDataParser extends AbstractJsonDataParser implements IStreamDat
             if (nextToken() == ADMToken.EOF) {
                 return false;
             }
-            parseObject(rootType, out);
+            parseRootObject(out);
             return true;
         } catch (IOException e) {
             throw new RuntimeDataException(ErrorCode.RECORD_READER_MALFORMED_INPUT_STREAM, e);
@@ -18,6 +18,7 @@
  */
 package org.apache.asterix.external.parser.factory;
 
+import java.io.IOException;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -51,8 +52,15 @@ public class DelimitedDataParserFactory extends AbstractRecordStreamParserFactor
         char quote = ExternalDataUtils.validateGetQuote(configuration, delimiter);
         boolean hasHeader = ExternalDataUtils.hasHeader(configuration);
         String nullString = configuration.get(ExternalDataConstants.KEY_NULL_STR);
+        ARecordType expectedType;
+        try {
+            expectedType = ExternalDataUtils.getExpectedType(configuration);
+        } catch (IOException e) {
+            throw HyracksDataException.create(e);
+        }
         return new DelimitedDataParser(ctx, valueParserFactories, delimiter, quote, hasHeader, recordType,
-                ExternalDataUtils.getDataSourceType(configuration).equals(DataSourceType.STREAM), nullString);
+                expectedType, ExternalDataUtils.getDataSourceType(configuration).equals(DataSourceType.STREAM),
+                nullString);
     }
 
     @Override
@@ -18,9 +18,11 @@
  */
 package org.apache.asterix.external.parser.factory;
 
+import java.io.IOException;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.asterix.common.exceptions.AsterixException;
 import org.apache.asterix.common.exceptions.ErrorCode;
@@ -28,11 +30,13 @@ import org.apache.asterix.external.api.IRecordDataParser;
 import org.apache.asterix.external.api.IStreamDataParser;
 import org.apache.asterix.external.parser.JSONDataParser;
 import org.apache.asterix.external.util.ExternalDataConstants;
+import org.apache.asterix.external.util.ExternalDataUtils;
 import org.apache.asterix.om.types.AOrderedListType;
 import org.apache.asterix.om.types.ARecordType;
 import org.apache.asterix.om.types.ATypeTag;
 import org.apache.asterix.om.types.AUnionType;
 import org.apache.asterix.om.types.IAType;
+import org.apache.asterix.runtime.projection.DataProjectionFiltrationInfo;
 import org.apache.hyracks.api.context.IHyracksTaskContext;
 import org.apache.hyracks.api.exceptions.HyracksDataException;
 
@@ -57,6 +61,19 @@ public class JSONDataParserFactory extends AbstractRecordStreamParserFactory<cha
         jsonFactory.configure(JsonFactory.Feature.INTERN_FIELD_NAMES, true);
     }
 
+    @Override
+    public void configure(Map<String, String> configuration) {
+        super.configure(configuration);
+        /*
+         * Jackson's duplicate detection tracks the field names of every object, which is a noticeable part of the
+         * tokenization cost. When duplicates are ignored, the parser keeps the first value of a duplicate field
+         * instead (see AbstractJsonDataParser#parseObject)
+         */
+        boolean ignoreDuplicates = ExternalDataConstants.DUPLICATE_FIELDS_IGNORE
+                .equals(configuration.get(ExternalDataConstants.KEY_DUPLICATE_FIELDS));
+        jsonFactory.configure(JsonParser.Feature.STRICT_DUPLICATE_DETECTION, !ignoreDuplicates);
+    }
+
     @Override
     public IStreamDataParser createInputStreamParser(IHyracksTaskContext ctx, int partition)
             throws HyracksDataException {
@@ -84,7 +101,15 @@ public class JSONDataParserFactory extends AbstractRecordStreamParserFactory<cha
     }
 
     private JSONDataParser createParser() throws HyracksDataException {
-        return new JSONDataParser(recordType, jsonFactory);
+        ARecordType expectedType;
+        try {
+            expectedType = ExternalDataUtils.getExpectedType(configuration);
+        } catch (IOException e) {
+            throw HyracksDataException.create(e);
+        }
+        // the parser expects null when the entire records are requested
+        return new JSONDataParser(recordType,
+                expectedType == DataProjectionFiltrationInfo.ALL_FIELDS_TYPE ? null : expectedType, jsonFactory);
     }
 
     /*
@@ -131,7 +131,21 @@ public class ExternalDataConstants {
     public static final String KEY_NULL_STR = "null";
     public static final String KEY_REDACT_WARNINGS = "redact-warnings";
     public static final String KEY_REQUESTED_FIELDS = "requested-fields";
+    //Opt-in for pushing the requested fields down to the JSON and delimited text parsers
+    public static final String KEY_PROJECTION_PUSHDOWN = "projection-pushdown";
+    //Base64 encoded pushed-down filter that is used to skip data (e.g., Parquet row groups)
+    public static final String KEY_EXTERNAL_DATA_FILTER = "external-data-filter";
+    //Object keys are laid out as name=value segments (e.g., year=2023/month=01/...). The partition values of a key
+    //are injected into the records of its object (overriding any values of the same fields) and are used to prune
+    //objects. See HivePartitionValues for how the values are typed
+    public static final String KEY_HIVE_STYLE_PARTITIONING = "hive-style-partitioning";
     public static final String KEY_EXTERNAL_SCAN_BUFFER_SIZE = "external-scan-buffer-size";
+    //Objects larger than this size (e.g., 128MB) are read in line-aligned ranges by multiple partitions
+    public static final String KEY_SPLIT_SIZE = "split-size";
+    //How JSON duplicate field names are handled: "error" (default) or "ignore" (keep the first value)
+    public static final String KEY_DUPLICATE_FIELDS = "duplicate-fields";
+    public static final String DUPLICATE_FIELDS_ERROR = "error";
+    public static final String DUPLICATE_FIELDS_IGNORE = "ignore";
 
     /**
      * Keys for adapter name
@@ -145,6 +159,7 @@ public class ExternalDataConstants {
     public static final String KEY_ADAPTER_NAME_SOCKET = "socket";
     public static final String KEY_ALIAS_ADAPTER_NAME_SOCKET = "socket_adapter";
     public static final String KEY_ADAPTER_NAME_HTTP = "http_adapter";
+    public static final String KEY_ADAPTER_NAME_FILE_LOG = "file_log";
     public static final String KEY_ADAPTER_NAME_AWS_S3 = "S3";
     public static final String KEY_ADAPTER_NAME_AZURE_BLOB = "AZUREBLOB";
     public static final String KEY_ADAPTER_NAME_AZURE_DATA_LAKE = "AZUREDATALAKE";
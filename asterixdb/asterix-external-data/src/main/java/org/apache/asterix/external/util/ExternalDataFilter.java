@@ -0,0 +1,611 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.asterix.external.util;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.asterix.om.base.ABoolean;
+import org.apache.asterix.om.base.ADouble;
+import org.apache.asterix.om.base.AFloat;
+import org.apache.asterix.om.base.AInt16;
+import org.apache.asterix.om.base.AInt32;
+import org.apache.asterix.om.base.AInt64;
+import org.apache.asterix.om.base.AInt8;
+import org.apache.asterix.om.base.AString;
+import org.apache.asterix.om.base.IAObject;
+import org.apache.asterix.om.constants.AsterixConstantValue;
+import org.apache.asterix.om.types.ARecordType;
+import org.apache.asterix.om.types.ATypeTag;
+import org.apache.asterix.om.types.EnumDeserializer;
+import org.apache.asterix.om.types.IAType;
+import org.apache.asterix.runtime.projection.DataProjectionFiltrationInfo;
+import org.apache.commons.lang3.mutable.Mutable;
+import org.apache.hyracks.algebricks.core.algebra.base.ILogicalExpression;
+import org.apache.hyracks.algebricks.core.algebra.base.LogicalExpressionTag;
+import org.apache.hyracks.algebricks.core.algebra.expressions.AbstractFunctionCallExpression;
+import org.apache.hyracks.algebricks.core.algebra.expressions.ConstantExpression;
+import org.apache.hyracks.algebricks.core.algebra.functions.AlgebricksBuiltinFunctions;
+import org.apache.hyracks.algebricks.core.algebra.functions.AlgebricksBuiltinFunctions.ComparisonKind;
+import org.apache.hyracks.algebricks.core.algebra.functions.FunctionIdentifier;
+import org.apache.parquet.filter2.predicate.FilterApi;
+import org.apache.parquet.filter2.predicate.FilterPredicate;
+import org.apache.parquet.filter2.predicate.Operators;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.schema.GroupType;
+import org.apache.parquet.schema.LogicalTypeAnnotation;
+import org.apache.parquet.schema.LogicalTypeAnnotation.IntLogicalTypeAnnotation;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.PrimitiveType;
+import org.apache.parquet.schema.Type;
+
+/**
+ * A type-agnostic form of a pushed-down filter of an external dataset. It is built at compile time from the filter
+ * expression of a scan (AND/OR of comparisons between a value path and a constant) and it is used to skip data without
+ * reading it:
+ * <ul>
+ * <li>Parquet row groups using their min/max statistics and dictionaries. Only whole row groups are skipped; the
+ * pages of a selected row group are all read. External Parquet datasets do not declare their field types, so the
+ * actual Parquet {@link FilterPredicate} is created per file against the file's schema
+ * (see {@link #toParquetPredicate(MessageType)})</li>
+ * <li>Objects of Hive-style partitioned datasets using the partition values of their keys, which are interpreted
+ * as the declared types of the partition fields (see {@link #mayMatchPartition(Map)} and
+ * {@link HivePartitionValues})</li>
+ * </ul>
+ * Any comparison that cannot be evaluated (e.g., a missing, repeated or non-comparable column or partition) is
+ * dropped. Dropping a conjunct only makes the filter less selective; dropping a disjunct drops the whole disjunction.
+ * Records are still filtered by the query itself.
+ */
+public final class ExternalDataFilter {
+    private static final byte AND = 0;
+    private static final byte OR = 1;
+    private static final byte COMPARE = 2;
+
+    private static final byte LONG_VALUE = 0;
+    private static final byte DOUBLE_VALUE = 1;
+    private static final byte STRING_VALUE = 2;
+    private static final byte BOOLEAN_VALUE = 3;
+
+    private final byte kind;
+    private final List<ExternalDataFilter> args;
+    private final ComparisonKind comparisonKind;
+    private final String[] path;
+    private final Object value;
+    // the type of the compared field if it can be a partition field, MISSING otherwise
+    private final ATypeTag partitionType;
+
+    private ExternalDataFilter(byte kind, List<ExternalDataFilter> args) {
+        this.kind = kind;
+        this.args = args;
+        comparisonKind = null;
+        path = null;
+        value = null;
+        partitionType = null;
+    }
+
+    private ExternalDataFilter(ComparisonKind comparisonKind, String[] path, Object value, ATypeTag partitionType) {
+        kind = COMPARE;
+        args = null;
+        this.comparisonKind = comparisonKind;
+        this.path = path;
+        this.value = value;
+        this.partitionType = partitionType;
+    }
+
+    /* ****************************************
+     * Compile time
+     * ****************************************
+     */
+
+    /**
+     * Create a filter from the pushed-down filter expression (if any)
+     *
+     * @param projectionInfo projection and filtration information of the scan
+     * @return the filter or {@code null} if the filter expression cannot be used to skip data
+     */
+    public static ExternalDataFilter create(DataProjectionFiltrationInfo projectionInfo) {
+        return create(projectionInfo, null);
+    }
+
+    /**
+     * Create a filter from the pushed-down filter expression (if any)
+     *
+     * @param projectionInfo projection and filtration information of the scan
+     * @param datasetType    dataset declared type, which determines the types of the partition fields of a Hive-style
+     *                       partitioned dataset, or {@code null} if the dataset is not partitioned
+     * @return the filter or {@code null} if the filter expression cannot be used to skip data
+     */
+    public static ExternalDataFilter create(DataProjectionFiltrationInfo projectionInfo, ARecordType datasetType) {
+        ILogicalExpression filterExpression = projectionInfo.getFilterExpression();
+        Map<ILogicalExpression, ARecordType> filterPaths = projectionInfo.getActualPaths();
+        if (filterExpression == null || filterPaths.isEmpty()) {
+            return null;
+        }
+        return create(filterExpression, filterPaths, datasetType);
+    }
+
+    private static ExternalDataFilter create(ILogicalExpression expr, Map<ILogicalExpression, ARecordType> filterPaths,
+            ARecordType datasetType) {
+        if (expr.getExpressionTag() != LogicalExpressionTag.FUNCTION_CALL) {
+            return null;
+        }
+
+        AbstractFunctionCallExpression funcExpr = (AbstractFunctionCallExpression) expr;
+        FunctionIdentifier fid = funcExpr.getFunctionIdentifier();
+        if (AlgebricksBuiltinFunctions.AND.equals(fid) || AlgebricksBuiltinFunctions.OR.equals(fid)) {
+            return createJunction(funcExpr, filterPaths, datasetType);
+        }
+
+        ComparisonKind comparisonKind = AlgebricksBuiltinFunctions.getComparisonType(fid);
+        if (comparisonKind == null || comparisonKind == ComparisonKind.NEQ) {
+            return null;
+        }
+
+        ILogicalExpression arg0 = funcExpr.getArguments().get(0).getValue();
+        ILogicalExpression arg1 = funcExpr.getArguments().get(1).getValue();
+        if (arg1.getExpressionTag() == LogicalExpressionTag.CONSTANT) {
+            return createComparison(comparisonKind, filterPaths.get(arg0), arg1, datasetType);
+        } else if (arg0.getExpressionTag() == LogicalExpressionTag.CONSTANT) {
+            return createComparison(invert(comparisonKind), filterPaths.get(arg1), arg0, datasetType);
+        }
+        return null;
+    }
+
+    private static ExternalDataFilter createJunction(AbstractFunctionCallExpression funcExpr,
+            Map<ILogicalExpression, ARecordType> filterPaths, ARecordType datasetType) {
+        boolean isAnd = AlgebricksBuiltinFunctions.AND.equals(funcExpr.getFunctionIdentifier());
+        List<ExternalDataFilter> args = new ArrayList<>();
+        for (Mutable<ILogicalExpression> argRef : funcExpr.getArguments()) {
+            ExternalDataFilter arg = create(argRef.getValue(), filterPaths, datasetType);
+            if (arg != null) {
+                args.add(arg);
+            } else if (!isAnd) {
+                // An OR is only as selective as its least selective argument
+                return null;
+            }
+        }
+        return junction(isAnd ? AND : OR, args);
+    }
+
+    private static ExternalDataFilter createComparison(ComparisonKind comparisonKind, ARecordType filterPath,
+            ILogicalExpression constExpr, ARecordType datasetType) {
+        String[] path = getPath(filterPath);
+        if (path == null) {
+            return null;
+        }
+
+        Object value = getValue(((AsterixConstantValue) ((ConstantExpression) constExpr).getValue()).getObject());
+        if (value == null || value instanceof Boolean && comparisonKind != ComparisonKind.EQ) {
+            return null;
+        }
+        // Only top-level fields can be partition fields
+        ATypeTag partitionType = datasetType != null && path.length == 1
+                ? HivePartitionValues.getPartitionType(datasetType, path[0]) : ATypeTag.MISSING;
+        return new ExternalDataFilter(comparisonKind, path, value, partitionType);
+    }
+
+    /**
+     * @return the field names of a filter path or {@code null} if the path goes through an array
+     */
+    private static String[] getPath(ARecordType filterPath) {
+        if (filterPath == null) {
+            return null;
+        }
+
+        List<String> fieldNames = new ArrayList<>();
+        IAType type = filterPath;
+        while (type.getTypeTag() == ATypeTag.OBJECT) {
+            ARecordType recordType = (ARecordType) type;
+            fieldNames.add(recordType.getFieldNames()[0]);
+            type = recordType.getFieldTypes()[0];
+        }
+
+        if (type.getTypeTag().isDerivedType()) {
+            return null;
+        }
+        return fieldNames.toArray(new String[0]);
+    }
+
+    private static Object getValue(IAObject constant) {
+        switch (constant.getType().getTypeTag()) {
+            case TINYINT:
+                return (long) ((AInt8) constant).getByteValue();
+            case SMALLINT:
+                return (long) ((AInt16) constant).getShortValue();
+            case INTEGER:
+                return (long) ((AInt32) constant).getIntegerValue();
+            case BIGINT:
+                return ((AInt64) constant).getLongValue();
+            case FLOAT:
+                return nonNaN(((AFloat) constant).getFloatValue());
+            case DOUBLE:
+                return nonNaN(((ADouble) constant).getDoubleValue());
+            case STRING:
+                return ((AString) constant).getStringValue();
+            case BOOLEAN:
+                return ((ABoolean) constant).getBoolean();
+            default:
+                return null;
+        }
+    }
+
+    private static Double nonNaN(double value) {
+        return Double.isNaN(value) ? null : value;
+    }
+
+    private static ComparisonKind invert(ComparisonKind comparisonKind) {
+        switch (comparisonKind) {
+            case LT:
+                return ComparisonKind.GT;
+            case LE:
+                return ComparisonKind.GE;
+            case GT:
+                return ComparisonKind.LT;
+            case GE:
+                return ComparisonKind.LE;
+            default:
+                return comparisonKind;
+        }
+    }
+
+    private static ExternalDataFilter junction(byte kind, List<ExternalDataFilter> args) {
+        if (args.isEmpty()) {
+            return null;
+        } else if (args.size() == 1) {
+            return args.get(0);
+        }
+        return new ExternalDataFilter(kind, args);
+    }
+
+    /* ****************************************
+     * Parquet
+     * ****************************************
+     */
+
+    /**
+     * Drop the comparisons of the provided top-level fields (e.g., the partition fields of a Hive-style partitioned
+     * dataset, whose values come from the object keys rather than the data)
+     *
+     * @param fieldNames top-level field names
+     * @return the filter or {@code null} if none of the remaining comparisons can be used to skip data
+     */
+    public ExternalDataFilter withoutFields(Set<String> fieldNames) {
+        if (fieldNames.isEmpty()) {
+            return this;
+        } else if (kind == COMPARE) {
+            return path.length == 1 && fieldNames.contains(path[0]) ? null : this;
+        }
+
+        List<ExternalDataFilter> newArgs = new ArrayList<>(args.size());
+        for (ExternalDataFilter arg : args) {
+            ExternalDataFilter newArg = arg.withoutFields(fieldNames);
+            if (newArg != null) {
+                newArgs.add(newArg);
+            } else if (kind == OR) {
+                return null;
+            }
+        }
+        return junction(kind, newArgs);
+    }
+
+    /**
+     * Create a Parquet predicate that is compatible with the provided file schema
+     *
+     * @param schema Parquet file schema
+     * @return the predicate or {@code null} if none of the comparisons can be evaluated against the file schema
+     */
+    public FilterPredicate toParquetPredicate(MessageType schema) {
+        if (kind == COMPARE) {
+            return createPredicate(schema);
+        }
+
+        FilterPredicate predicate = null;
+        for (ExternalDataFilter arg : args) {
+            FilterPredicate argPredicate = arg.toParquetPredicate(schema);
+            if (argPredicate == null && kind == OR) {
+                return null;
+            } else if (argPredicate != null) {
+                predicate = predicate == null ? argPredicate
+                        : kind == AND ? FilterApi.and(predicate, argPredicate) : FilterApi.or(predicate, argPredicate);
+            }
+        }
+        return predicate;
+    }
+
+    private FilterPredicate createPredicate(MessageType schema) {
+        PrimitiveType columnType = getColumnType(schema);
+        if (columnType == null) {
+            return null;
+        }
+
+        String columnPath = String.join(".", path);
+        LogicalTypeAnnotation logicalType = columnType.getLogicalTypeAnnotation();
+        switch (columnType.getPrimitiveTypeName()) {
+            case BOOLEAN:
+                return value instanceof Boolean ? FilterApi.eq(FilterApi.booleanColumn(columnPath), (Boolean) value)
+                        : null;
+            case INT32:
+                Long intValue = isSignedInt(logicalType) ? getLongValue(value) : null;
+                return intValue != null && intValue == intValue.intValue()
+                        ? compare(FilterApi.intColumn(columnPath), intValue.intValue()) : null;
+            case INT64:
+                Long longValue = isSignedInt(logicalType) ? getLongValue(value) : null;
+                return longValue != null ? compare(FilterApi.longColumn(columnPath), longValue) : null;
+            case FLOAT:
+                Double floatValue = logicalType == null ? getDoubleValue(value) : null;
+                return floatValue != null && floatValue == floatValue.floatValue()
+                        ? compare(FilterApi.floatColumn(columnPath), floatValue.floatValue()) : null;
+            case DOUBLE:
+                Double doubleValue = logicalType == null ? getDoubleValue(value) : null;
+                return doubleValue != null ? compare(FilterApi.doubleColumn(columnPath), doubleValue) : null;
+            case BINARY:
+                return value instanceof String && isString(logicalType)
+                        ? compare(FilterApi.binaryColumn(columnPath), Binary.fromString((String) value)) : null;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * @return the type of the column or {@code null} if the column is missing, repeated or not a primitive
+     */
+    private PrimitiveType getColumnType(MessageType schema) {
+        GroupType groupType = schema;
+        for (int i = 0; i < path.length; i++) {
+            if (path[i].indexOf('.') >= 0 || !groupType.containsField(path[i])) {
+                return null;
+            }
+            Type type = groupType.getType(path[i]);
+            if (type.isRepetition(Type.Repetition.REPEATED)) {
+                return null;
+            } else if (i == path.length - 1) {
+                return type.isPrimitive() ? type.asPrimitiveType() : null;
+            } else if (type.isPrimitive() || type.getLogicalTypeAnnotation() != null) {
+                // Lists and maps are not supported
+                return null;
+            }
+            groupType = type.asGroupType();
+        }
+        return null;
+    }
+
+    private <T extends Comparable<T>, C extends Operators.Column<T> & Operators.SupportsLtGt> FilterPredicate compare(
+            C column, T columnValue) {
+        switch (comparisonKind) {
+            case EQ:
+                return FilterApi.eq(column, columnValue);
+            case LT:
+                return FilterApi.lt(column, columnValue);
+            case LE:
+                return FilterApi.ltEq(column, columnValue);
+            case GT:
+                return FilterApi.gt(column, columnValue);
+            default:
+                return FilterApi.gtEq(column, columnValue);
+        }
+    }
+
+    private static boolean isSignedInt(LogicalTypeAnnotation logicalType) {
+        return logicalType == null || logicalType instanceof IntLogicalTypeAnnotation
+                && ((IntLogicalTypeAnnotation) logicalType).isSigned();
+    }
+
+    private static boolean isString(LogicalTypeAnnotation logicalType) {
+        return logicalType == LogicalTypeAnnotation.stringType() || logicalType == LogicalTypeAnnotation.enumType();
+    }
+
+    private static Long getLongValue(Object value) {
+        if (value instanceof Long) {
+            return (Long) value;
+        } else if (value instanceof Double) {
+            double doubleValue = (Double) value;
+            long longValue = (long) doubleValue;
+            // Only integral values that are within the range of long
+            return doubleValue >= Long.MIN_VALUE && doubleValue < 0x1p63 && longValue == doubleValue ? longValue
+                    : null;
+        }
+        return null;
+    }
+
+    private static Double getDoubleValue(Object value) {
+        if (value instanceof Double) {
+            return (Double) value;
+        } else if (value instanceof Long) {
+            long longValue = (Long) value;
+            double doubleValue = longValue;
+            // Only longs that have an exact double representation
+            return (long) doubleValue == longValue ? doubleValue : null;
+        }
+        return null;
+    }
+
+    /* ****************************************
+     * Hive-style partitions
+     * ****************************************
+     */
+
+    /**
+     * Evaluate the filter against the partition values of an object (e.g., {@code year=2023/month=01/part-0.json})
+     *
+     * @param partitionValues the partition values of the object's key
+     *                        (see {@link HivePartitionValues#getPartitionValues(String)})
+     * @return {@code false} if none of the object's records can satisfy the filter, {@code true} otherwise
+     */
+    public boolean mayMatchPartition(Map<String, String> partitionValues) {
+        if (kind == COMPARE) {
+            String partitionValue = partitionType != ATypeTag.MISSING ? partitionValues.get(path[0]) : null;
+            return partitionValue == null
+                    || mayMatchPartition(HivePartitionValues.parse(partitionValue, partitionType));
+        }
+
+        for (ExternalDataFilter arg : args) {
+            boolean mayMatch = arg.mayMatchPartition(partitionValues);
+            if (kind == AND && !mayMatch) {
+                return false;
+            } else if (kind == OR && mayMatch) {
+                return true;
+            }
+        }
+        return kind == AND;
+    }
+
+    private boolean mayMatchPartition(Object partitionValue) {
+        if (partitionValue == null) {
+            // NULL does not satisfy any comparison
+            return false;
+        } else if (partitionValue == HivePartitionValues.INVALID) {
+            // Reading the object fails
+            return true;
+        }
+
+        int result;
+        if (value instanceof String && partitionValue instanceof String) {
+            result = compareCodePoints((String) partitionValue, (String) value);
+        } else if (value instanceof Boolean && partitionValue instanceof Boolean) {
+            result = Boolean.compare((Boolean) partitionValue, (Boolean) value);
+        } else if (value instanceof Number && partitionValue instanceof Number) {
+            result = compareNumbers((Number) partitionValue, (Number) value);
+        } else {
+            // Values of different kinds, leave it to the query
+            return true;
+        }
+
+        switch (comparisonKind) {
+            case EQ:
+                return result == 0;
+            case LT:
+                return result < 0;
+            case LE:
+                return result <= 0;
+            case GT:
+                return result > 0;
+            default:
+                return result >= 0;
+        }
+    }
+
+    private static int compareNumbers(Number left, Number right) {
+        if (left instanceof Long && right instanceof Long) {
+            return Long.compare((Long) left, (Long) right);
+        } else if (Double.isInfinite(left.doubleValue()) || Double.isInfinite(right.doubleValue())) {
+            return Double.compare(left.doubleValue(), right.doubleValue());
+        }
+        // Exact comparison of bigints and doubles
+        return toBigDecimal(left).compareTo(toBigDecimal(right));
+    }
+
+    private static BigDecimal toBigDecimal(Number value) {
+        return value instanceof Long ? BigDecimal.valueOf((Long) value) : new BigDecimal(value.doubleValue());
+    }
+
+    private static int compareCodePoints(String left, String right) {
+        int leftLength = left.length();
+        int rightLength = right.length();
+        int i = 0;
+        int j = 0;
+        while (i < leftLength && j < rightLength) {
+            int leftCodePoint = left.codePointAt(i);
+            int rightCodePoint = right.codePointAt(j);
+            if (leftCodePoint != rightCodePoint) {
+                return Integer.compare(leftCodePoint, rightCodePoint);
+            }
+            i += Character.charCount(leftCodePoint);
+            j += Character.charCount(rightCodePoint);
+        }
+        return Integer.compare(leftLength - i, rightLength - j);
+    }
+
+    /* ****************************************
+     * Serialization
+     * ****************************************
+     */
+
+    public void writeFields(DataOutput output) throws IOException {
+        output.writeByte(kind);
+        if (kind != COMPARE) {
+            output.writeInt(args.size());
+            for (ExternalDataFilter arg : args) {
+                arg.writeFields(output);
+            }
+            return;
+        }
+
+        output.writeByte(comparisonKind.ordinal());
+        output.writeInt(path.length);
+        for (String fieldName : path) {
+            output.writeUTF(fieldName);
+        }
+        output.writeByte(partitionType.serialize());
+        if (value instanceof Long) {
+            output.writeByte(LONG_VALUE);
+            output.writeLong((Long) value);
+        } else if (value instanceof Double) {
+            output.writeByte(DOUBLE_VALUE);
+            output.writeDouble((Double) value);
+        } else if (value instanceof String) {
+            byte[] bytes = ((String) value).getBytes(StandardCharsets.UTF_8);
+            output.writeByte(STRING_VALUE);
+            output.writeInt(bytes.length);
+            output.write(bytes);
+        } else {
+            output.writeByte(BOOLEAN_VALUE);
+            output.writeBoolean((Boolean) value);
+        }
+    }
+
+    public static ExternalDataFilter create(DataInput input) throws IOException {
+        byte kind = input.readByte();
+        if (kind != COMPARE) {
+            int numberOfArgs = input.readInt();
+            List<ExternalDataFilter> args = new ArrayList<>(numberOfArgs);
+            for (int i = 0; i < numberOfArgs; i++) {
+                args.add(create(input));
+            }
+            return new ExternalDataFilter(kind, args);
+        }
+
+        ComparisonKind comparisonKind = ComparisonKind.values()[input.readByte()];
+        String[] path = new String[input.readInt()];
+        for (int i = 0; i < path.length; i++) {
+            path[i] = input.readUTF();
+        }
+        ATypeTag partitionType = EnumDeserializer.ATYPETAGDESERIALIZER.deserialize(input.readByte());
+        Object value;
+        byte valueType = input.readByte();
+        if (valueType == LONG_VALUE) {
+            value = input.readLong();
+        } else if (valueType == DOUBLE_VALUE) {
+            value = input.readDouble();
+        } else if (valueType == STRING_VALUE) {
+            byte[] bytes = new byte[input.readInt()];
+            input.readFully(bytes);
+            value = new String(bytes, StandardCharsets.UTF_8);
+        } else {
+            value = input.readBoolean();
+        }
+        return new ExternalDataFilter(comparisonKind, path, value, partitionType);
+    }
+}
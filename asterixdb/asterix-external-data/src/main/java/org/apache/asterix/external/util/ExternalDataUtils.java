@@ -32,7 +32,9 @@ import static org.apache.asterix.external.util.google.gcs.GCSUtils.validatePrope
 import static org.apache.asterix.runtime.evaluators.functions.StringEvaluatorUtils.RESERVED_REGEX_CHARS;
 import static org.msgpack.core.MessagePack.Code.ARRAY16;
 
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
@@ -43,6 +45,7 @@ import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.BiPredicate;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
@@ -75,6 +78,7 @@ import org.apache.asterix.om.types.TypeTagUtil;
 import org.apache.asterix.runtime.evaluators.common.NumberUtils;
 import org.apache.asterix.runtime.projection.DataProjectionFiltrationInfo;
 import org.apache.asterix.runtime.projection.FunctionCallInformation;
+import org.apache.commons.lang3.StringUtils;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hyracks.algebricks.common.exceptions.AlgebricksException;
 import org.apache.hyracks.algebricks.common.exceptions.NotImplementedException;
@@ -569,6 +573,50 @@ public class ExternalDataUtils {
             throw new RuntimeDataException(ErrorCode.INVALID_REQ_PARAM_VAL, ExternalDataConstants.KEY_REDACT_WARNINGS,
                     value);
         }
+        value = configuration.get(ExternalDataConstants.KEY_HIVE_STYLE_PARTITIONING);
+        if (value != null && !isBoolean(value)) {
+            throw new RuntimeDataException(ErrorCode.INVALID_REQ_PARAM_VAL,
+                    ExternalDataConstants.KEY_HIVE_STYLE_PARTITIONING, value);
+        }
+        value = configuration.get(ExternalDataConstants.KEY_DUPLICATE_FIELDS);
+        if (value != null && !value.equals(ExternalDataConstants.DUPLICATE_FIELDS_ERROR)
+                && !value.equals(ExternalDataConstants.DUPLICATE_FIELDS_IGNORE)) {
+            throw new RuntimeDataException(ErrorCode.INVALID_REQ_PARAM_VAL, ExternalDataConstants.KEY_DUPLICATE_FIELDS,
+                    value);
+        }
+        value = configuration.get(ExternalDataConstants.KEY_SPLIT_SIZE);
+        if (value != null && parseSplitSize(value) <= 0) {
+            throw new RuntimeDataException(ErrorCode.INVALID_REQ_PARAM_VAL, ExternalDataConstants.KEY_SPLIT_SIZE,
+                    value);
+        }
+    }
+
+    /**
+     * @return the size of the ranges large objects are split into, or 0 if objects should be read entirely
+     */
+    public static long getSplitSize(Map<String, String> configuration) {
+        String value = configuration.get(ExternalDataConstants.KEY_SPLIT_SIZE);
+        return value == null ? 0 : Math.max(parseSplitSize(value), 0);
+    }
+
+    /**
+     * An object can be split if each line is a record. Headers are only present at the beginning of an object and
+     * compressed objects cannot be read starting from an arbitrary offset.
+     */
+    public static boolean isSplittable(Map<String, String> configuration, String fileName) {
+        return getSplitSize(configuration) > 0 && !hasHeader(configuration) && !isGzipFile(fileName);
+    }
+
+    public static boolean isGzipFile(String fileName) {
+        return StringUtils.endsWithIgnoreCase(fileName, ".gz") || StringUtils.endsWithIgnoreCase(fileName, ".gzip");
+    }
+
+    private static long parseSplitSize(String value) {
+        try {
+            return StorageUtil.getByteValue(value);
+        } catch (IllegalArgumentException e) {
+            return -1;
+        }
     }
 
     private static boolean isHeaderRequiredFor(String format) {
@@ -851,12 +899,54 @@ public class ExternalDataUtils {
             includeExcludeMatcher = new IncludeExcludeMatcher(Collections.emptyList(), (matchers1, key) -> true);
         }
 
+        if (isHiveStylePartitioned(configuration)) {
+            includeExcludeMatcher = addPartitionPruning(configuration, includeExcludeMatcher);
+        }
         return includeExcludeMatcher;
     }
 
-    public static boolean supportsPushdown(Map<String, String> properties) {
-        //Currently, only Apache Parquet format is supported
-        return isParquetFormat(properties);
+    /**
+     * Skip the objects whose partition values (i.e., the {@code name=value} segments of their keys) do not satisfy
+     * the pushed-down filter (if any). The partition values are injected into the records of the objects
+     * (see {@link HivePartitionValues}), so the skipped objects have no record that satisfies the filter.
+     */
+    private static IncludeExcludeMatcher addPartitionPruning(Map<String, String> configuration,
+            IncludeExcludeMatcher includeExcludeMatcher) {
+        ExternalDataFilter filter;
+        try {
+            filter = deserializeFilterFromString(configuration.get(ExternalDataConstants.KEY_EXTERNAL_DATA_FILTER));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+
+        if (filter == null) {
+            return includeExcludeMatcher;
+        }
+        BiPredicate<List<Matcher>, String> predicate = includeExcludeMatcher.getPredicate();
+        return new IncludeExcludeMatcher(includeExcludeMatcher.getMatchersList(),
+                (matchers1, key) -> predicate.test(matchers1, key)
+                        && filter.mayMatchPartition(HivePartitionValues.getPartitionValues(key)));
+    }
+
+    /**
+     * @param properties          external dataset configuration
+     * @param columnFilterEnabled whether filters can be pushed down (i.e., {@code compiler.column.filter})
+     * @return true if values accesses (or filters) can be pushed down to the dataset
+     */
+    public static boolean supportsPushdown(Map<String, String> properties, boolean columnFilterEnabled) {
+        //Currently, Apache Parquet, JSON and delimited text (projections only, if enabled by the dataset), and
+        //Hive-style partitioned datasets (filters only, if filters can be pushed down) are supported
+        return isParquetFormat(properties) || isTextProjectionPushdown(properties)
+                || columnFilterEnabled && isHiveStylePartitioned(properties);
+    }
+
+    private static boolean isTextProjectionPushdown(Map<String, String> properties) {
+        return isTrue(properties, ExternalDataConstants.KEY_PROJECTION_PUSHDOWN)
+                && (isJsonFormat(properties) || isDelimitedFormat(properties));
+    }
+
+    public static boolean isHiveStylePartitioned(Map<String, String> properties) {
+        return isTrue(properties, ExternalDataConstants.KEY_HIVE_STYLE_PARTITIONING);
     }
 
     /**
@@ -885,12 +975,43 @@ public class ExternalDataUtils {
                 || ExternalDataConstants.FORMAT_PARQUET.equals(properties.get(ExternalDataConstants.KEY_FORMAT));
     }
 
+    public static boolean isJsonFormat(Map<String, String> properties) {
+        String format = properties.get(ExternalDataConstants.KEY_FORMAT);
+        return ExternalDataConstants.FORMAT_JSON_LOWER_CASE.equals(format)
+                || ExternalDataConstants.FORMAT_JSON_UPPER_CASE.equals(format);
+    }
+
+    public static boolean isDelimitedFormat(Map<String, String> properties) {
+        String format = properties.get(ExternalDataConstants.KEY_FORMAT);
+        return ExternalDataConstants.FORMAT_DELIMITED_TEXT.equals(format)
+                || ExternalDataConstants.FORMAT_CSV.equals(format) || ExternalDataConstants.FORMAT_TSV.equals(format);
+    }
+
+    /**
+     * Get the expected type (i.e., the requested fields) that was pushed down to the data source
+     *
+     * @param properties external dataset configuration
+     * @return the requested fields or {@link DataProjectionFiltrationInfo#ALL_FIELDS_TYPE} if none were pushed down
+     */
+    public static ARecordType getExpectedType(Map<String, String> properties) throws IOException {
+        return deserializeExpectedTypeFromString(properties.get(ExternalDataConstants.KEY_REQUESTED_FIELDS));
+    }
+
     public static void setExternalDataProjectionInfo(DataProjectionFiltrationInfo projectionInfo,
-            Map<String, String> properties) throws IOException {
+            Map<String, String> properties, ARecordType datasetType) throws IOException {
         properties.put(ExternalDataConstants.KEY_REQUESTED_FIELDS,
                 serializeExpectedTypeToString(projectionInfo.getProjectionInfo()));
         properties.put(ExternalDataConstants.KEY_HADOOP_ASTERIX_FUNCTION_CALL_INFORMATION,
                 serializeFunctionCallInfoToString(projectionInfo.getFunctionCallInfoMap()));
+        ExternalDataFilter filter = null;
+        if (isHiveStylePartitioned(properties)) {
+            filter = ExternalDataFilter.create(projectionInfo, datasetType);
+        } else if (isParquetFormat(properties)) {
+            filter = ExternalDataFilter.create(projectionInfo);
+        }
+        if (filter != null) {
+            properties.put(ExternalDataConstants.KEY_EXTERNAL_DATA_FILTER, serializeFilterToString(filter));
+        }
     }
 
     /**
@@ -912,6 +1033,28 @@ public class ExternalDataUtils {
         return encoder.encodeToString(byteArrayOutputStream.toByteArray());
     }
 
+    /**
+     * Deserialize {@link ARecordType} from a Base64 string
+     *
+     * @param encoded the expected type as Base64 string or the type name of EMPTY_TYPE or ALL_FIELDS_TYPE
+     * @return the expected type
+     */
+    static ARecordType deserializeExpectedTypeFromString(String encoded) throws IOException {
+        if (encoded == null || encoded.isEmpty()
+                || encoded.equals(DataProjectionFiltrationInfo.ALL_FIELDS_TYPE.getTypeName())) {
+            //By default, return the entire records
+            return DataProjectionFiltrationInfo.ALL_FIELDS_TYPE;
+        } else if (encoded.equals(DataProjectionFiltrationInfo.EMPTY_TYPE.getTypeName())) {
+            //No fields were requested
+            return DataProjectionFiltrationInfo.EMPTY_TYPE;
+        }
+        //A subset of the fields was requested
+        Base64.Decoder decoder = Base64.getDecoder();
+        byte[] typeBytes = decoder.decode(encoded);
+        DataInputStream dataInputStream = new DataInputStream(new ByteArrayInputStream(typeBytes));
+        return DataProjectionFiltrationInfo.createTypeField(dataInputStream);
+    }
+
     /**
      * Serialize {@link FunctionCallInformation} map as Base64 string to pass it to
      * {@link org.apache.hadoop.conf.Configuration}
@@ -928,6 +1071,37 @@ public class ExternalDataUtils {
         return encoder.encodeToString(byteArrayOutputStream.toByteArray());
     }
 
+    /**
+     * Serialize {@link ExternalDataFilter} as Base64 string to pass it to
+     * {@link org.apache.hadoop.conf.Configuration}
+     *
+     * @param filter filter
+     * @return the filter as Base64 string
+     */
+    private static String serializeFilterToString(ExternalDataFilter filter) throws IOException {
+        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+        DataOutputStream dataOutputStream = new DataOutputStream(byteArrayOutputStream);
+        Base64.Encoder encoder = Base64.getEncoder();
+        filter.writeFields(dataOutputStream);
+        return encoder.encodeToString(byteArrayOutputStream.toByteArray());
+    }
+
+    /**
+     * Deserialize {@link ExternalDataFilter} from a Base64 string
+     *
+     * @param encoded the filter as Base64 string
+     * @return the filter or {@code null} if no filter was pushed down
+     */
+    static ExternalDataFilter deserializeFilterFromString(String encoded) throws IOException {
+        if (encoded == null || encoded.isEmpty()) {
+            return null;
+        }
+        Base64.Decoder decoder = Base64.getDecoder();
+        byte[] filterBytes = decoder.decode(encoded);
+        DataInputStream dataInputStream = new DataInputStream(new ByteArrayInputStream(filterBytes));
+        return ExternalDataFilter.create(dataInputStream);
+    }
+
     public static int roundUpToNearestFrameSize(int size, int framesize) {
         return ((size / framesize) + 1) * framesize;
     }
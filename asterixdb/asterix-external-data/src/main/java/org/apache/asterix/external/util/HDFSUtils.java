@@ -234,6 +234,15 @@ public class HDFSUtils {
         }
         conf.set(ExternalDataConstants.KEY_REQUESTED_FIELDS, requestedValues);
 
+        //Filter that is used to skip row groups (if any)
+        String filter = configuration.get(ExternalDataConstants.KEY_EXTERNAL_DATA_FILTER);
+        if (filter != null) {
+            conf.set(ExternalDataConstants.KEY_EXTERNAL_DATA_FILTER, filter);
+            //Partition values come from the object keys rather than the columns
+            conf.setBoolean(ExternalDataConstants.KEY_HIVE_STYLE_PARTITIONING,
+                    ExternalDataUtils.isHiveStylePartitioned(configuration));
+        }
+
         //Parse JSON string as ADM?
         conf.set(ParquetOptions.HADOOP_PARSE_JSON_STRING,
                 configuration.getOrDefault(ParquetOptions.PARSE_JSON_STRING, ExternalDataConstants.TRUE));
@@ -256,19 +265,17 @@ public class HDFSUtils {
     }
 
     public static ARecordType getExpectedType(Configuration configuration) throws IOException {
-        String encoded = configuration.get(ExternalDataConstants.KEY_REQUESTED_FIELDS, "");
-        if (encoded.isEmpty() || encoded.equals(DataProjectionFiltrationInfo.ALL_FIELDS_TYPE.getTypeName())) {
-            //By default, return the entire records
-            return DataProjectionFiltrationInfo.ALL_FIELDS_TYPE;
-        } else if (encoded.equals(DataProjectionFiltrationInfo.EMPTY_TYPE.getTypeName())) {
-            //No fields were requested
-            return DataProjectionFiltrationInfo.EMPTY_TYPE;
-        }
-        //A subset of the fields was requested
-        Base64.Decoder decoder = Base64.getDecoder();
-        byte[] typeBytes = decoder.decode(encoded);
-        DataInputStream dataInputStream = new DataInputStream(new ByteArrayInputStream(typeBytes));
-        return DataProjectionFiltrationInfo.createTypeField(dataInputStream);
+        return ExternalDataUtils.deserializeExpectedTypeFromString(
+                configuration.get(ExternalDataConstants.KEY_REQUESTED_FIELDS, ""));
+    }
+
+    public static ExternalDataFilter getExternalDataFilter(Configuration configuration) throws IOException {
+        return ExternalDataUtils.deserializeFilterFromString(
+                configuration.get(ExternalDataConstants.KEY_EXTERNAL_DATA_FILTER));
+    }
+
+    public static boolean isHiveStylePartitioned(Configuration configuration) {
+        return configuration.getBoolean(ExternalDataConstants.KEY_HIVE_STYLE_PARTITIONING, false);
     }
 
     public static void setFunctionCallInformationMap(Map<String, FunctionCallInformation> funcCallInfoMap,
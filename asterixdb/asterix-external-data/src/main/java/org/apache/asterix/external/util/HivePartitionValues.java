@@ -0,0 +1,237 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.asterix.external.util;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import org.apache.asterix.om.types.ARecordType;
+import org.apache.asterix.om.types.ATypeTag;
+import org.apache.asterix.om.types.AUnionType;
+import org.apache.asterix.om.types.IAType;
+import org.apache.asterix.om.utils.NonTaggedFormatUtil;
+import org.apache.hyracks.util.string.UTF8StringUtil;
+
+/**
+ * Partition values of Hive-style partitioned datasets, whose object keys are laid out as {@code name=value} segments
+ * (e.g., {@code year=2023/month=01/part-0.json}). Every record of an object gets the partition values of its key as
+ * fields, which replace any values of the same fields in the record. Pruning objects by their partition values is
+ * therefore equivalent to filtering their records by the same values.
+ * <p>
+ * A partition value is interpreted as the declared type of its field if the field is declared with a supported type
+ * (string, boolean, or a numeric type). A partition field that is not declared by an open type is inferred as a bigint
+ * if its value is an integer (e.g., {@code 01} is 1), as a double if it is a decimal number, and as a string otherwise.
+ * Fields that are declared with other types, or that are not declared by a closed type, are not partition fields.
+ * The value {@value #DEFAULT_PARTITION} is NULL.
+ */
+public final class HivePartitionValues {
+    public static final String DEFAULT_PARTITION = "__HIVE_DEFAULT_PARTITION__";
+    // the value of a partition that cannot be interpreted as the declared type of its field
+    public static final Object INVALID = new Object();
+    private static final Pattern INTEGER = Pattern.compile("[+-]?\\d+");
+    private static final Pattern DECIMAL = Pattern.compile("[+-]?(\\d+\\.?\\d*|\\.\\d+)([eE][+-]?\\d+)?");
+
+    private HivePartitionValues() {
+    }
+
+    /**
+     * Get the partition values of an object key. For example, the key {@code data/year=2023/month=01/part-0.json}
+     * has the partition values {@code {year: "2023", month: "01"}}
+     *
+     * @param key object key
+     * @return the partition values (if any) in the order of the key's segments
+     */
+    public static Map<String, String> getPartitionValues(String key) {
+        Map<String, String> partitionValues = new LinkedHashMap<>();
+        int start = 0;
+        int end = key.indexOf('/');
+        // The last segment is the object's name
+        while (end >= 0) {
+            int separator = key.indexOf('=', start);
+            if (separator > start && separator < end) {
+                String name = key.substring(start, separator);
+                String value = URLDecoder.decode(key.substring(separator + 1, end), StandardCharsets.UTF_8);
+                partitionValues.put(name, value);
+            }
+            start = end + 1;
+            end = key.indexOf('/', start);
+        }
+        return partitionValues;
+    }
+
+    /**
+     * @param datasetType dataset declared type
+     * @param fieldName   top-level field name
+     * @return the type of the partition field, {@link ATypeTag#ANY} if its type is inferred from its values, or
+     * {@link ATypeTag#MISSING} if the field cannot be a partition field
+     */
+    public static ATypeTag getPartitionType(ARecordType datasetType, String fieldName) {
+        IAType fieldType = datasetType.getFieldType(fieldName);
+        if (fieldType == null) {
+            return datasetType.isOpen() ? ATypeTag.ANY : ATypeTag.MISSING;
+        }
+        if (NonTaggedFormatUtil.isOptional(fieldType)) {
+            fieldType = ((AUnionType) fieldType).getActualType();
+        }
+        switch (fieldType.getTypeTag()) {
+            case TINYINT:
+            case SMALLINT:
+            case INTEGER:
+            case BIGINT:
+            case FLOAT:
+            case DOUBLE:
+            case BOOLEAN:
+            case STRING:
+                return fieldType.getTypeTag();
+            default:
+                return ATypeTag.MISSING;
+        }
+    }
+
+    /**
+     * Interpret a partition value
+     *
+     * @param value         the partition value as it appears in the key
+     * @param partitionType the type of the partition field (see {@link #getPartitionType(ARecordType, String)})
+     * @return a {@link Long}, {@link Double}, {@link String}, {@link Boolean}, {@code null} for NULL, or
+     * {@link #INVALID} if the value cannot be interpreted as the type of the partition field
+     */
+    public static Object parse(String value, ATypeTag partitionType) {
+        if (DEFAULT_PARTITION.equals(value)) {
+            return null;
+        }
+        switch (partitionType) {
+            case TINYINT:
+                return parseLong(value, Byte.MIN_VALUE, Byte.MAX_VALUE);
+            case SMALLINT:
+                return parseLong(value, Short.MIN_VALUE, Short.MAX_VALUE);
+            case INTEGER:
+                return parseLong(value, Integer.MIN_VALUE, Integer.MAX_VALUE);
+            case BIGINT:
+                return parseLong(value, Long.MIN_VALUE, Long.MAX_VALUE);
+            case FLOAT:
+                Object doubleValue = parseDouble(value);
+                if (doubleValue == INVALID || Float.isInfinite(((Double) doubleValue).floatValue())) {
+                    return INVALID;
+                }
+                // the value is stored as a float
+                return (double) ((Double) doubleValue).floatValue();
+            case DOUBLE:
+                return parseDouble(value);
+            case BOOLEAN:
+                if (ExternalDataConstants.TRUE.equalsIgnoreCase(value)
+                        || ExternalDataConstants.FALSE.equalsIgnoreCase(value)) {
+                    return Boolean.parseBoolean(value);
+                }
+                return INVALID;
+            case STRING:
+                return value;
+            case ANY:
+                return infer(value);
+            default:
+                return INVALID;
+        }
+    }
+
+    /**
+     * Serialize a partition value (see {@link #parse(String, ATypeTag)}) as a tagged value of the partition type
+     *
+     * @param value         the interpreted partition value
+     * @param partitionType the type of the partition field
+     * @param out           output
+     */
+    public static void serialize(Object value, ATypeTag partitionType, DataOutput out) throws IOException {
+        if (value == null) {
+            out.writeByte(ATypeTag.SERIALIZED_NULL_TYPE_TAG);
+            return;
+        }
+        ATypeTag valueType = partitionType == ATypeTag.ANY ? getInferredType(value) : partitionType;
+        out.writeByte(valueType.serialize());
+        switch (valueType) {
+            case TINYINT:
+                out.writeByte(((Long) value).intValue());
+                break;
+            case SMALLINT:
+                out.writeShort(((Long) value).intValue());
+                break;
+            case INTEGER:
+                out.writeInt(((Long) value).intValue());
+                break;
+            case BIGINT:
+                out.writeLong((Long) value);
+                break;
+            case FLOAT:
+                out.writeFloat(((Double) value).floatValue());
+                break;
+            case DOUBLE:
+                out.writeDouble((Double) value);
+                break;
+            case BOOLEAN:
+                out.writeBoolean((Boolean) value);
+                break;
+            default:
+                UTF8StringUtil.writeUTF8((String) value, out);
+                break;
+        }
+    }
+
+    private static Object infer(String value) {
+        if (INTEGER.matcher(value).matches()) {
+            try {
+                return Long.parseLong(value);
+            } catch (NumberFormatException e) {
+                // out of the range of bigint
+                return Double.parseDouble(value);
+            }
+        }
+        return DECIMAL.matcher(value).matches() ? parseDouble(value) : value;
+    }
+
+    private static ATypeTag getInferredType(Object value) {
+        if (value instanceof Long) {
+            return ATypeTag.BIGINT;
+        }
+        return value instanceof Double ? ATypeTag.DOUBLE : ATypeTag.STRING;
+    }
+
+    private static Object parseLong(String value, long minValue, long maxValue) {
+        if (!INTEGER.matcher(value).matches()) {
+            return INVALID;
+        }
+        try {
+            long longValue = Long.parseLong(value);
+            return longValue >= minValue && longValue <= maxValue ? longValue : INVALID;
+        } catch (NumberFormatException e) {
+            return INVALID;
+        }
+    }
+
+    private static Object parseDouble(String value) {
+        if (!DECIMAL.matcher(value).matches()) {
+            return INVALID;
+        }
+        double doubleValue = Double.parseDouble(value);
+        return Double.isInfinite(doubleValue) ? INVALID : doubleValue;
+    }
+}
@@ -20,10 +20,14 @@ package org.apache.asterix.external.feed.test;
 
 import java.io.FilenameFilter;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.Arrays;
 
+import org.apache.asterix.common.memory.ConcurrentSpillBudget;
 import org.apache.asterix.external.feed.dataflow.FrameSpiller;
+import org.apache.asterix.external.feed.policy.FeedPolicyAccessor;
 import org.apache.hyracks.api.comm.VSizeFrame;
 import org.apache.hyracks.api.context.IHyracksTaskContext;
 import org.apache.hyracks.test.support.TestUtils;
@@ -172,4 +176,48 @@ public class FeedSpillerUnitTest extends TestCase {
             Assert.fail(th.getMessage());
         }
     }
+
+    /*
+     * 3. Test compressed frames and the node-wide budget
+     * Write 10 frames with a distinct content each.
+     * Check the compressed frames are smaller than the uncompressed ones.
+     * Check a spill is rejected once the node-wide budget is exhausted.
+     * Read the frames back and check their content.
+     * Check the node-wide budget is fully released.
+     */
+    @org.junit.Test
+    public void testCompressedSpillWithGlobalBudget() {
+        try {
+            removeSpillFiles();
+            IHyracksTaskContext ctx = TestUtils.create(DEFAULT_FRAME_SIZE);
+            ConcurrentSpillBudget globalBudget = new ConcurrentSpillBudget("test", DEFAULT_FRAME_SIZE);
+            FrameSpiller spiller = new FrameSpiller(ctx, TEST_DATAVERSE + "_" + TEST_FEED + "_" + TEST_DATASET,
+                    FeedPolicyAccessor.NO_LIMIT, globalBudget, true);
+            spiller.open();
+            VSizeFrame frame = new VSizeFrame(ctx);
+            for (int i = 0; i < 10; i++) {
+                Arrays.fill(frame.getBuffer().array(), 1, DEFAULT_FRAME_SIZE, (byte) i);
+                Assert.assertTrue(spiller.spill(frame.getBuffer()));
+            }
+            Assert.assertEquals(10, spiller.remaining());
+            Assert.assertTrue(spiller.getSpilledBytes() < DEFAULT_FRAME_SIZE);
+            Assert.assertEquals(spiller.getSpilledBytes(), globalBudget.getUsed());
+            Assert.assertTrue(globalBudget.acquire(DEFAULT_FRAME_SIZE - globalBudget.getUsed()));
+            Assert.assertFalse(spiller.spill(frame.getBuffer()));
+            globalBudget.release(DEFAULT_FRAME_SIZE - spiller.getSpilledBytes());
+            for (int i = 0; i < 10; i++) {
+                ByteBuffer buffer = spiller.next();
+                Assert.assertEquals(DEFAULT_FRAME_SIZE, buffer.capacity());
+                Assert.assertEquals((byte) i, buffer.get(DEFAULT_FRAME_SIZE - 1));
+            }
+            Assert.assertNull(spiller.next());
+            Assert.assertEquals(0, spiller.getSpilledBytes());
+            Assert.assertEquals(0, globalBudget.getUsed());
+            spiller.close();
+            Assert.assertEquals(0, countSpillFiles());
+        } catch (Throwable th) {
+            th.printStackTrace();
+            Assert.fail(th.getMessage());
+        }
+    }
 }
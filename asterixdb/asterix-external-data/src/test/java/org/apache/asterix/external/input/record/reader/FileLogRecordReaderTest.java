@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.asterix.external.input.record.reader;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.apache.asterix.external.api.IRawRecord;
+import org.apache.asterix.external.input.record.reader.log.AbstractOffsetTrackingRecordReader;
+import org.apache.asterix.external.input.record.reader.log.FileLogRecordReader;
+import org.apache.hyracks.api.comm.VSizeFrame;
+import org.apache.hyracks.api.context.IHyracksTaskContext;
+import org.apache.hyracks.dataflow.common.io.MessagingFrameTupleAppender;
+import org.apache.hyracks.test.support.TestUtils;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class FileLogRecordReaderTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void readAppendedRecords() throws Exception {
+        Path log = folder.newFile("log.adm").toPath();
+        append(log, "{\"id\":1}\n{\"id\":2}\r\n\n{\"id\":");
+        try (FileLogRecordReader reader = new FileLogRecordReader(log, 0, 0, 0)) {
+            Assert.assertEquals("{\"id\":1}", next(reader));
+            Assert.assertEquals(9, reader.getOffset());
+            Assert.assertEquals("{\"id\":2}", next(reader));
+            Assert.assertEquals(19, reader.getOffset());
+            // the empty line is skipped and the incomplete record stays pending
+            Assert.assertNull(reader.next());
+            Assert.assertEquals(20, reader.getOffset());
+            append(log, "3}\n");
+            Assert.assertEquals("{\"id\":3}", next(reader));
+            Assert.assertEquals(29, reader.getOffset());
+            Assert.assertNull(reader.next());
+        }
+    }
+
+    @Test
+    public void resumeFromMarkedOffset() throws Exception {
+        Path log = folder.newFile("log.adm").toPath();
+        append(log, "{\"id\":1}\n{\"id\":2}\n{\"id\":3}\n");
+        IHyracksTaskContext ctx = TestUtils.create(32768);
+        VSizeFrame marker = new VSizeFrame(ctx);
+        try (FileLogRecordReader reader = new FileLogRecordReader(log, 3, 0, 0)) {
+            // no marker before any record is consumed
+            Assert.assertFalse(reader.getProgressReporter().mark(marker));
+            next(reader);
+            next(reader);
+            Assert.assertTrue(reader.getProgressReporter().mark(marker));
+            Assert.assertFalse(reader.getProgressReporter().mark(marker));
+        }
+        ByteBuffer buffer = marker.getBuffer();
+        Assert.assertEquals(MessagingFrameTupleAppender.MARKER_MESSAGE, buffer.get());
+        Assert.assertEquals(3, AbstractOffsetTrackingRecordReader.getPartition(buffer));
+        long offset = AbstractOffsetTrackingRecordReader.getOffset(buffer);
+        Assert.assertEquals(18, offset);
+        try (FileLogRecordReader reader = new FileLogRecordReader(log, 3, offset, 0)) {
+            Assert.assertEquals("{\"id\":3}", next(reader));
+            Assert.assertNull(reader.next());
+        }
+    }
+
+    private static String next(FileLogRecordReader reader) throws Exception {
+        IRawRecord<char[]> record = reader.next();
+        Assert.assertNotNull(record);
+        // records end with a new line
+        return new String(record.get(), 0, record.size() - 1);
+    }
+
+    private static void append(Path log, String data) throws IOException {
+        Files.write(log, data.getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.asterix.external.input.record.reader.hdfs.parquet;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.asterix.external.util.ExternalDataFilter;
+import org.apache.asterix.om.base.AInt64;
+import org.apache.asterix.om.constants.AsterixConstantValue;
+import org.apache.asterix.om.functions.BuiltinFunctions;
+import org.apache.asterix.om.types.ARecordType;
+import org.apache.asterix.om.types.BuiltinType;
+import org.apache.asterix.om.types.IAType;
+import org.apache.asterix.runtime.projection.DataProjectionFiltrationInfo;
+import org.apache.commons.lang3.mutable.Mutable;
+import org.apache.commons.lang3.mutable.MutableObject;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.Path;
+import org.apache.hyracks.algebricks.core.algebra.base.ILogicalExpression;
+import org.apache.hyracks.algebricks.core.algebra.base.LogicalVariable;
+import org.apache.hyracks.algebricks.core.algebra.expressions.ConstantExpression;
+import org.apache.hyracks.algebricks.core.algebra.expressions.ScalarFunctionCallExpression;
+import org.apache.hyracks.algebricks.core.algebra.expressions.VariableReferenceExpression;
+import org.apache.hyracks.algebricks.core.algebra.functions.AlgebricksBuiltinFunctions;
+import org.apache.hyracks.algebricks.core.algebra.functions.FunctionIdentifier;
+import org.apache.parquet.HadoopReadOptions;
+import org.apache.parquet.example.data.Group;
+import org.apache.parquet.example.data.simple.SimpleGroupFactory;
+import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.parquet.hadoop.ParquetInputFormat;
+import org.apache.parquet.hadoop.ParquetWriter;
+import org.apache.parquet.hadoop.example.ExampleParquetWriter;
+import org.apache.parquet.hadoop.example.GroupReadSupport;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.apache.parquet.hadoop.util.HadoopInputFile;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.MessageTypeParser;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class FilteredParquetRecordReaderTest {
+    private static final MessageType SCHEMA = MessageTypeParser.parseMessageType("message test { required int64 id; }");
+    private static final int NUM_RECORDS = 10000;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final Map<ILogicalExpression, ARecordType> paths = new HashMap<>();
+    private final Configuration conf = new Configuration();
+    private Path path;
+    private List<BlockMetaData> rowGroups;
+
+    @Before
+    public void writeFile() throws IOException {
+        path = new Path(new File(folder.getRoot(), "ids.parquet").toURI());
+        // small row groups and pages so that the file has many row groups with disjoint id ranges
+        SimpleGroupFactory groupFactory = new SimpleGroupFactory(SCHEMA);
+        try (ParquetWriter<Group> writer = ExampleParquetWriter.builder(path).withConf(conf).withType(SCHEMA)
+                .withRowGroupSize(1024).withPageSize(512).withDictionaryEncoding(false).build()) {
+            for (long id = 0; id < NUM_RECORDS; id++) {
+                writer.write(groupFactory.newGroup().append("id", id));
+            }
+        }
+        try (ParquetFileReader reader = ParquetFileReader.open(HadoopInputFile.fromPath(path, conf))) {
+            rowGroups = reader.getFooter().getBlocks();
+        }
+        Assert.assertTrue(rowGroups.size() > 2);
+        conf.set(ParquetInputFormat.READ_SUPPORT_CLASS, GroupReadSupport.class.getName());
+    }
+
+    @Test
+    public void testSkipRowGroups() throws IOException {
+        long threshold = NUM_RECORDS - 10;
+        // id >= threshold
+        ExternalDataFilter filter = create(
+                call(AlgebricksBuiltinFunctions.GE, field(1, "id"), constant(new AInt64(threshold))));
+        long expectedCount = 0;
+        int expectedRowGroups = 0;
+        for (BlockMetaData rowGroup : rowGroups) {
+            if ((Long) rowGroup.getColumns().get(0).getStatistics().genericGetMax() >= threshold) {
+                expectedCount += rowGroup.getRowCount();
+                expectedRowGroups++;
+            }
+        }
+
+        Assert.assertTrue(expectedRowGroups < rowGroups.size());
+        List<Long> ids = read(filter, expectedRowGroups);
+        Assert.assertEquals(expectedCount, ids.size());
+        // only whole row groups are skipped, the records themselves are filtered by the query
+        Assert.assertEquals(NUM_RECORDS - expectedCount, (long) ids.get(0));
+        Assert.assertEquals(NUM_RECORDS - 1, (long) ids.get(ids.size() - 1));
+    }
+
+    @Test
+    public void testSkipAllRowGroups() throws IOException {
+        // id < 0
+        ExternalDataFilter filter =
+                create(call(AlgebricksBuiltinFunctions.LT, field(1, "id"), constant(new AInt64(0L))));
+        Assert.assertTrue(read(filter, 0).isEmpty());
+    }
+
+    @Test
+    public void testFilterOnMissingColumn() throws IOException {
+        // the filter cannot be evaluated against the file's statistics, so nothing is skipped
+        ExternalDataFilter filter =
+                create(call(AlgebricksBuiltinFunctions.EQ, field(1, "name"), constant(new AInt64(0L))));
+        Assert.assertEquals(NUM_RECORDS, read(filter, rowGroups.size()).size());
+    }
+
+    private List<Long> read(ExternalDataFilter filter, int expectedRowGroups) throws IOException {
+        long length = HadoopInputFile.fromPath(path, conf).getLength();
+        List<Long> ids = new ArrayList<>();
+        try (FilteredParquetRecordReader<Group> reader = new FilteredParquetRecordReader<>(conf, path,
+                HadoopReadOptions.builder(conf).withRange(0, length).build(), filter)) {
+            Assert.assertEquals(expectedRowGroups, reader.getSelectedRowGroupCount());
+            while (reader.nextKeyValue()) {
+                ids.add(reader.getCurrentValue().getLong("id", 0));
+            }
+            Assert.assertEquals(1.0f, reader.getProgress(), 0.0f);
+        }
+        return ids;
+    }
+
+    private ExternalDataFilter create(ILogicalExpression filterExpression) {
+        DataProjectionFiltrationInfo info = new DataProjectionFiltrationInfo(
+                DataProjectionFiltrationInfo.ALL_FIELDS_TYPE, Collections.emptyMap(), paths, paths, filterExpression);
+        return ExternalDataFilter.create(info);
+    }
+
+    private ILogicalExpression field(int id, String fieldName) {
+        ILogicalExpression expr = new VariableReferenceExpression(new LogicalVariable(id));
+        IAType[] fieldTypes = { BuiltinType.ANY };
+        paths.put(expr, new ARecordType("FilterPath" + id, new String[] { fieldName }, fieldTypes, false));
+        return expr;
+    }
+
+    private static ILogicalExpression constant(AInt64 value) {
+        return new ConstantExpression(new AsterixConstantValue(value));
+    }
+
+    private static ILogicalExpression call(FunctionIdentifier fid, ILogicalExpression... args) {
+        List<Mutable<ILogicalExpression>> argRefs = new ArrayList<>();
+        for (ILogicalExpression arg : args) {
+            argRefs.add(new MutableObject<>(arg));
+        }
+        return new ScalarFunctionCallExpression(BuiltinFunctions.getBuiltinFunctionInfo(fid), argRefs);
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.asterix.external.input.stream;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LineAlignedRangeInputStreamTest {
+    private static final String DATA = "{\"id\":1}\n{\"id\":22}\n\n{\"id\":333}\n{\"id\":4444}";
+
+    @Test
+    public void testRangesReadEachLineOnce() throws IOException {
+        byte[] bytes = DATA.getBytes(StandardCharsets.UTF_8);
+        for (int splitSize = 1; splitSize <= bytes.length + 1; splitSize++) {
+            StringBuilder result = new StringBuilder();
+            for (int start = 0; start < bytes.length; start += splitSize) {
+                int end = Math.min(start + splitSize, bytes.length);
+                result.append(readRange(bytes, start, end));
+            }
+            Assert.assertEquals("split size " + splitSize, DATA, result.toString());
+        }
+    }
+
+    @Test
+    public void testRangeWithoutLineStart() throws IOException {
+        byte[] bytes = DATA.getBytes(StandardCharsets.UTF_8);
+        Assert.assertEquals("", readRange(bytes, 1, 5));
+        Assert.assertEquals("{\"id\":1}\n", readRange(bytes, 0, 1));
+        Assert.assertEquals("{\"id\":22}\n", readRange(bytes, 9, 10));
+    }
+
+    private static String readRange(byte[] bytes, int start, int end) throws IOException {
+        int offset = Math.max(start - 1, 0);
+        InputStream in = new ByteArrayInputStream(bytes, offset, bytes.length - offset);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (LineAlignedRangeInputStream rangeStream = new LineAlignedRangeInputStream(in, start, end)) {
+            byte[] buffer = new byte[3];
+            int length;
+            while ((length = rangeStream.read(buffer, 0, buffer.length)) >= 0) {
+                out.write(buffer, 0, length);
+            }
+        }
+        return out.toString(StandardCharsets.UTF_8.name());
+    }
+}
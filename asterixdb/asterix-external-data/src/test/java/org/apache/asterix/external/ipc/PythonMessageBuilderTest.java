@@ -0,0 +1,72 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.asterix.external.ipc;
+
+import java.nio.ByteBuffer;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.msgpack.core.MessagePack;
+import org.msgpack.core.MessageUnpacker;
+
+public class PythonMessageBuilderTest {
+
+    @Test
+    public void testRowInit() throws Exception {
+        MessageUnpacker unpacker = init("roundtrip", "Tests", "roundtrip", false);
+        Assert.assertEquals(3, unpacker.unpackArrayHeader());
+        Assert.assertEquals("roundtrip", unpacker.unpackString());
+        Assert.assertEquals("Tests", unpacker.unpackString());
+        Assert.assertEquals("roundtrip", unpacker.unpackString());
+        Assert.assertFalse(unpacker.hasNext());
+    }
+
+    @Test
+    public void testColumnarInit() throws Exception {
+        MessageUnpacker unpacker = init("roundtrip", "Tests", "columnar_add", true);
+        Assert.assertEquals(4, unpacker.unpackArrayHeader());
+        Assert.assertEquals("roundtrip", unpacker.unpackString());
+        Assert.assertEquals("Tests", unpacker.unpackString());
+        Assert.assertEquals("columnar_add", unpacker.unpackString());
+        Assert.assertTrue(unpacker.unpackBoolean());
+        Assert.assertFalse(unpacker.hasNext());
+    }
+
+    @Test
+    public void testColumnarInitWithoutClass() throws Exception {
+        MessageUnpacker unpacker = init("sentiment", null, "score", true);
+        // the class is sent as nil to keep the function and the flag at fixed positions
+        Assert.assertEquals(4, unpacker.unpackArrayHeader());
+        Assert.assertEquals("sentiment", unpacker.unpackString());
+        Assert.assertTrue(unpacker.tryUnpackNil());
+        Assert.assertEquals("score", unpacker.unpackString());
+        Assert.assertTrue(unpacker.unpackBoolean());
+        Assert.assertFalse(unpacker.hasNext());
+    }
+
+    private static MessageUnpacker init(String module, String clazz, String fn, boolean columnar) throws Exception {
+        PythonMessageBuilder builder = new PythonMessageBuilder();
+        builder.reset();
+        builder.init(module, clazz, fn, columnar);
+        ByteBuffer buf = builder.getBuf();
+        MessageUnpacker unpacker = MessagePack.newDefaultUnpacker(buf.array(), 0, builder.getLength());
+        Assert.assertEquals(MessageType.INIT.ordinal(), unpacker.unpackInt());
+        return unpacker;
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.asterix.external.library;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+import org.apache.asterix.external.api.IExternalLangIPCProto;
+import org.apache.asterix.om.functions.IExternalFunctionInfo;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+public class AbstractLibrarySocketEvaluatorTest {
+
+    @Test
+    public void testColumnarResource() throws Exception {
+        IExternalLangIPCProto proto = initialize("Tests.columnar_add",
+                Collections.singletonMap(AbstractLibrarySocketEvaluator.KEY_COLUMNAR, "true"));
+        Mockito.verify(proto).init("roundtrip", "Tests", "columnar_add", true);
+    }
+
+    @Test
+    public void testRowFunction() throws Exception {
+        IExternalLangIPCProto proto = initialize("Tests.roundtrip",
+                Collections.singletonMap(AbstractLibrarySocketEvaluator.KEY_COLUMNAR, "false"));
+        Mockito.verify(proto).init("roundtrip", "Tests", "roundtrip", false);
+        proto = initialize("roundtrip", null);
+        Mockito.verify(proto).init("roundtrip", null, "roundtrip", false);
+    }
+
+    private static IExternalLangIPCProto initialize(String identifier, Map<String, String> resources)
+            throws Exception {
+        IExternalFunctionInfo finfo = Mockito.mock(IExternalFunctionInfo.class);
+        Mockito.when(finfo.getExternalIdentifier()).thenReturn(Arrays.asList("roundtrip", identifier));
+        Mockito.when(finfo.getResources()).thenReturn(resources);
+        IExternalLangIPCProto proto = Mockito.mock(IExternalLangIPCProto.class);
+        AbstractLibrarySocketEvaluator evaluator = new AbstractLibrarySocketEvaluator(null, null, null, null, null) {
+            @Override
+            public void start() {
+                // not started
+            }
+
+            @Override
+            public void deallocate() {
+                // nothing to release
+            }
+        };
+        evaluator.proto = proto;
+        evaluator.initialize(finfo);
+        return proto;
+    }
+}
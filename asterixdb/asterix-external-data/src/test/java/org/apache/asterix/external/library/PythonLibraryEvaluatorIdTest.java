@@ -0,0 +1,52 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.asterix.external.library;
+
+import org.apache.asterix.common.metadata.DataverseName;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PythonLibraryEvaluatorIdTest {
+
+    @Test
+    public void testWorkers() throws Exception {
+        DataverseName dv = DataverseName.createSinglePartName("test");
+        Thread thread = Thread.currentThread();
+        PythonLibraryEvaluatorId id = new PythonLibraryEvaluatorId(dv, "testlib", thread);
+        Assert.assertEquals(id, new PythonLibraryEvaluatorId(dv, "testlib", thread, 0));
+        Assert.assertEquals(id.hashCode(), new PythonLibraryEvaluatorId(dv, "testlib", thread, 0).hashCode());
+        // each worker of a thread gets its own Python process
+        Assert.assertNotEquals(id, new PythonLibraryEvaluatorId(dv, "testlib", thread, 1));
+        Assert.assertNotEquals(new PythonLibraryEvaluatorId(dv, "testlib", thread, 1),
+                new PythonLibraryEvaluatorId(dv, "testlib", thread, 2));
+        Assert.assertEquals(new PythonLibraryEvaluatorId(dv, "testlib", thread, 1),
+                new PythonLibraryEvaluatorId(dv, "testlib", thread, 1));
+    }
+
+    @Test
+    public void testThreadsAndLibraries() throws Exception {
+        DataverseName dv = DataverseName.createSinglePartName("test");
+        Thread thread = Thread.currentThread();
+        PythonLibraryEvaluatorId id = new PythonLibraryEvaluatorId(dv, "testlib", thread, 1);
+        Assert.assertNotEquals(id, new PythonLibraryEvaluatorId(dv, "testlib", new Thread(), 1));
+        Assert.assertNotEquals(id, new PythonLibraryEvaluatorId(dv, "otherlib", thread, 1));
+        Assert.assertNotEquals(id,
+                new PythonLibraryEvaluatorId(DataverseName.createSinglePartName("other"), "testlib", thread, 1));
+    }
+}
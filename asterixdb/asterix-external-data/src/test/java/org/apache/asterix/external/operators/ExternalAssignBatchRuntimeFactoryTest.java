@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.asterix.external.operators;
+
+import org.apache.asterix.external.operators.ExternalAssignBatchRuntimeFactory.TupleChunks;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ExternalAssignBatchRuntimeFactoryTest {
+
+    @Test
+    public void testEvenChunks() {
+        TupleChunks chunks = reset(12, 4);
+        Assert.assertEquals(4, chunks.getNumChunks());
+        for (int chunk = 0; chunk < 4; chunk++) {
+            Assert.assertEquals(chunk * 3, chunks.getChunkStart(chunk));
+            Assert.assertEquals(chunk * 3 + 3, chunks.getChunkEnd(chunk));
+        }
+        assertChunks(chunks, 12);
+    }
+
+    @Test
+    public void testUnevenChunks() {
+        TupleChunks chunks = reset(10, 4);
+        Assert.assertEquals(4, chunks.getNumChunks());
+        int[] expectedStarts = { 0, 2, 5, 7, 10 };
+        for (int chunk = 0; chunk <= 4; chunk++) {
+            Assert.assertEquals(expectedStarts[chunk], chunks.getChunkStart(chunk));
+        }
+        assertChunks(chunks, 10);
+        for (int tuples = 1; tuples < 200; tuples++) {
+            for (int workers = 1; workers < 9; workers++) {
+                assertChunks(reset(tuples, workers), tuples);
+            }
+        }
+    }
+
+    @Test
+    public void testFrameSmallerThanWorkers() {
+        TupleChunks chunks = reset(3, 8);
+        // no empty chunks are sent to the workers, each tuple gets its own chunk
+        Assert.assertEquals(3, chunks.getNumChunks());
+        for (int tuple = 0; tuple < 3; tuple++) {
+            Assert.assertEquals(tuple, chunks.getChunk(tuple));
+            Assert.assertEquals(tuple, chunks.getChunkStart(tuple));
+            Assert.assertEquals(tuple + 1, chunks.getChunkEnd(tuple));
+        }
+        assertChunks(chunks, 3);
+    }
+
+    @Test
+    public void testSingleWorker() {
+        TupleChunks chunks = reset(7, 1);
+        Assert.assertEquals(1, chunks.getNumChunks());
+        Assert.assertEquals(0, chunks.getChunkStart(0));
+        Assert.assertEquals(7, chunks.getChunkEnd(0));
+        assertChunks(chunks, 7);
+    }
+
+    @Test
+    public void testEmptyFrame() {
+        TupleChunks chunks = reset(0, 4);
+        Assert.assertEquals(1, chunks.getNumChunks());
+        Assert.assertEquals(0, chunks.getChunkStart(0));
+        Assert.assertEquals(0, chunks.getChunkEnd(0));
+    }
+
+    @Test
+    public void testReset() {
+        TupleChunks chunks = reset(2, 4);
+        Assert.assertEquals(2, chunks.getNumChunks());
+        chunks.reset(100, 4);
+        Assert.assertEquals(4, chunks.getNumChunks());
+        assertChunks(chunks, 100);
+    }
+
+    private static TupleChunks reset(int numTuples, int numWorkers) {
+        TupleChunks chunks = new TupleChunks();
+        chunks.reset(numTuples, numWorkers);
+        return chunks;
+    }
+
+    /**
+     * Checks that the chunks are non-empty, contiguous, cover all the tuples, and agree with {@code getChunk}
+     */
+    private static void assertChunks(TupleChunks chunks, int numTuples) {
+        int numChunks = chunks.getNumChunks();
+        Assert.assertEquals(0, chunks.getChunkStart(0));
+        Assert.assertEquals(numTuples, chunks.getChunkEnd(numChunks - 1));
+        for (int chunk = 0; chunk < numChunks; chunk++) {
+            int start = chunks.getChunkStart(chunk);
+            int end = chunks.getChunkEnd(chunk);
+            Assert.assertTrue(end > start);
+            if (chunk > 0) {
+                Assert.assertEquals(chunks.getChunkEnd(chunk - 1), start);
+            }
+            for (int tuple = start; tuple < end; tuple++) {
+                Assert.assertEquals(chunk, chunks.getChunk(tuple));
+            }
+        }
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.asterix.external.parser.test;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.asterix.dataflow.data.nontagged.serde.ARecordSerializerDeserializer;
+import org.apache.asterix.external.api.IRecordDataParser;
+import org.apache.asterix.external.input.record.CharArrayRecord;
+import org.apache.asterix.external.parser.HivePartitionRecordDataParser;
+import org.apache.asterix.external.parser.factory.JSONDataParserFactory;
+import org.apache.asterix.external.util.ExternalDataConstants;
+import org.apache.asterix.om.base.ABoolean;
+import org.apache.asterix.om.base.AInt64;
+import org.apache.asterix.om.base.ANull;
+import org.apache.asterix.om.base.ARecord;
+import org.apache.asterix.om.base.AString;
+import org.apache.asterix.om.base.IAObject;
+import org.apache.asterix.om.types.ARecordType;
+import org.apache.asterix.om.types.AUnionType;
+import org.apache.asterix.om.types.BuiltinType;
+import org.apache.asterix.om.types.IAType;
+import org.apache.hyracks.api.exceptions.HyracksDataException;
+import org.apache.hyracks.data.std.util.ArrayBackedValueStorage;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class HivePartitionRecordDataParserTest {
+    private static final ARecordType TYPE = new ARecordType("testType", new String[] { "id", "year" },
+            new IAType[] { BuiltinType.AINT64, AUnionType.createUnknownableType(BuiltinType.AINT64) }, true);
+
+    @Test
+    public void testInjectPartitionValues() throws Exception {
+        ARecord record = parse("data/year=2023/month=01/country=us/part-0.json",
+                "{\"id\":1,\"year\":1999,\"month\":\"x\",\"a\":true}");
+        Assert.assertEquals(5, record.numberOfFields());
+        Assert.assertEquals(1L, ((AInt64) record.getValueByPos(0)).getLongValue());
+        // The partition values replace the values of the records
+        Assert.assertEquals(2023L, ((AInt64) record.getValueByPos(1)).getLongValue());
+        Assert.assertEquals(1L, ((AInt64) getOpenField(record, "month")).getLongValue());
+        Assert.assertEquals("us", ((AString) getOpenField(record, "country")).getStringValue());
+        Assert.assertTrue(((ABoolean) getOpenField(record, "a")).getBoolean());
+    }
+
+    @Test
+    public void testDefaultPartition() throws Exception {
+        ARecord record = parse("year=__HIVE_DEFAULT_PARTITION__/part-0.json", "{\"id\":1,\"year\":1999}");
+        Assert.assertEquals(ANull.NULL, record.getValueByPos(1));
+    }
+
+    @Test
+    public void testNoPartitionValues() throws Exception {
+        ARecord record = parse("data/part-0.json", "{\"id\":1,\"year\":1999}");
+        Assert.assertEquals(2, record.numberOfFields());
+        Assert.assertEquals(1999L, ((AInt64) record.getValueByPos(1)).getLongValue());
+    }
+
+    @Test(expected = HyracksDataException.class)
+    public void testInvalidPartitionValue() throws Exception {
+        parse("year=last/part-0.json", "{\"id\":1}");
+    }
+
+    private static ARecord parse(String key, String json) throws Exception {
+        Map<String, String> configuration = new HashMap<>();
+        configuration.put(ExternalDataConstants.KEY_FORMAT, ExternalDataConstants.FORMAT_JSON_LOWER_CASE);
+        JSONDataParserFactory factory = new JSONDataParserFactory();
+        factory.configure(configuration);
+        factory.setRecordType(TYPE);
+        IRecordDataParser<char[]> parser =
+                new HivePartitionRecordDataParser<>(factory.createRecordParser(null), TYPE, () -> key);
+
+        CharArrayRecord record = new CharArrayRecord();
+        char[] chars = json.toCharArray();
+        record.setValue(chars, 0, chars.length);
+        ArrayBackedValueStorage output = new ArrayBackedValueStorage();
+        Assert.assertTrue(parser.parse(record, output.getDataOutput()));
+        // Skip the type tag
+        DataInputStream in =
+                new DataInputStream(new ByteArrayInputStream(output.getByteArray(), 1, output.getLength() - 1));
+        return new ARecordSerializerDeserializer(TYPE).deserialize(in);
+    }
+
+    private static IAObject getOpenField(ARecord record, String fieldName) {
+        return record.getValueByPos(record.getType().getFieldIndex(fieldName));
+    }
+}
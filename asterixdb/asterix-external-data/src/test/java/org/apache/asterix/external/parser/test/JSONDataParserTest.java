@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.asterix.external.parser.test;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.asterix.dataflow.data.nontagged.serde.ARecordSerializerDeserializer;
+import org.apache.asterix.external.api.IRecordDataParser;
+import org.apache.asterix.external.input.record.CharArrayRecord;
+import org.apache.asterix.external.parser.JSONDataParser;
+import org.apache.asterix.external.parser.factory.JSONDataParserFactory;
+import org.apache.asterix.external.util.ExternalDataConstants;
+import org.apache.asterix.om.base.AInt64;
+import org.apache.asterix.om.base.AOrderedList;
+import org.apache.asterix.om.base.ARecord;
+import org.apache.asterix.om.base.AString;
+import org.apache.asterix.om.types.AOrderedListType;
+import org.apache.asterix.om.types.ARecordType;
+import org.apache.asterix.om.types.BuiltinType;
+import org.apache.asterix.om.types.IAType;
+import org.apache.asterix.runtime.projection.DataProjectionFiltrationInfo;
+import org.apache.hyracks.api.exceptions.HyracksDataException;
+import org.apache.hyracks.data.std.util.ArrayBackedValueStorage;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.fasterxml.jackson.core.JsonFactory;
+
+public class JSONDataParserTest {
+    private static final ARecordType TYPE =
+            new ARecordType("testType", new String[] { "id" }, new IAType[] { BuiltinType.AINT64 }, true);
+    private static final String DUPLICATES = "{\"id\":1,\"a\":\"x\",\"id\":2,\"a\":{\"b\":[1,2]}}";
+
+    @Test
+    public void testIgnoreDuplicateFields() throws Exception {
+        ARecord record = parse(ExternalDataConstants.DUPLICATE_FIELDS_IGNORE, DUPLICATES);
+        Assert.assertEquals(1L, ((AInt64) record.getValueByPos(0)).getLongValue());
+        int openFieldIndex = record.getType().getFieldIndex("a");
+        Assert.assertEquals("x", ((AString) record.getValueByPos(openFieldIndex)).getStringValue());
+        Assert.assertEquals(2, record.numberOfFields());
+    }
+
+    @Test(expected = HyracksDataException.class)
+    public void testDuplicateFieldsError() throws Exception {
+        parse(null, DUPLICATES);
+    }
+
+    @Test
+    public void testRequestedFields() throws Exception {
+        ARecordType aType = new ARecordType("a", new String[] { "b" }, new IAType[] { BuiltinType.ANY }, true);
+        ARecordType cItemType = new ARecordType("c", new String[] { "x" }, new IAType[] { BuiltinType.ANY }, true);
+        ARecordType expectedType = new ARecordType("root", new String[] { "a", "c" },
+                new IAType[] { aType, new AOrderedListType(cItemType, "cList") }, true);
+        String json = "{\"id\":1,\"a\":{\"b\":5,\"z\":\"x\"},\"skipped\":{\"d\":[1,{\"e\":2}]},"
+                + "\"c\":[{\"x\":1,\"y\":2},3]}";
+        ARecord record = parseRecord(new JSONDataParser(TYPE, expectedType, new JsonFactory()), json);
+
+        Assert.assertEquals(1L, ((AInt64) record.getValueByPos(0)).getLongValue());
+        Assert.assertEquals(3, record.numberOfFields());
+        Assert.assertEquals(-1, record.getType().getFieldIndex("skipped"));
+        ARecord a = (ARecord) record.getValueByPos(record.getType().getFieldIndex("a"));
+        Assert.assertEquals(1, a.numberOfFields());
+        Assert.assertEquals(5L, ((AInt64) a.getValueByPos(0)).getLongValue());
+        AOrderedList c = (AOrderedList) record.getValueByPos(record.getType().getFieldIndex("c"));
+        Assert.assertEquals(2, c.size());
+        Assert.assertEquals(1, ((ARecord) c.getItem(0)).numberOfFields());
+        Assert.assertEquals(3L, ((AInt64) c.getItem(1)).getLongValue());
+    }
+
+    @Test
+    public void testNoRequestedFields() throws Exception {
+        JSONDataParser parser = new JSONDataParser(TYPE, DataProjectionFiltrationInfo.EMPTY_TYPE, new JsonFactory());
+        ARecord record = parseRecord(parser, "{\"id\":1,\"a\":{\"b\":5},\"c\":[1,2]}");
+        Assert.assertEquals(1L, ((AInt64) record.getValueByPos(0)).getLongValue());
+        Assert.assertEquals(1, record.numberOfFields());
+    }
+
+    private static ARecord parse(String duplicateFields, String json) throws Exception {
+        Map<String, String> configuration = new HashMap<>();
+        configuration.put(ExternalDataConstants.KEY_FORMAT, ExternalDataConstants.FORMAT_JSON_LOWER_CASE);
+        if (duplicateFields != null) {
+            configuration.put(ExternalDataConstants.KEY_DUPLICATE_FIELDS, duplicateFields);
+        }
+        JSONDataParserFactory factory = new JSONDataParserFactory();
+        factory.configure(configuration);
+        factory.setRecordType(TYPE);
+        return parseRecord(factory.createRecordParser(null), json);
+    }
+
+    private static ARecord parseRecord(IRecordDataParser<char[]> parser, String json) throws Exception {
+        CharArrayRecord record = new CharArrayRecord();
+        char[] chars = json.toCharArray();
+        record.setValue(chars, 0, chars.length);
+        ArrayBackedValueStorage output = new ArrayBackedValueStorage();
+        parser.parse(record, output.getDataOutput());
+        // Skip the type tag
+        DataInputStream in =
+                new DataInputStream(new ByteArrayInputStream(output.getByteArray(), 1, output.getLength() - 1));
+        return new ARecordSerializerDeserializer(TYPE).deserialize(in);
+    }
+}
@@ -24,9 +24,14 @@ import java.nio.CharBuffer;
 import java.nio.charset.CharsetDecoder;
 import java.nio.charset.CoderResult;
 import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
+import org.apache.asterix.external.api.IRecordDataParser;
 import org.apache.asterix.external.input.record.CharArrayRecord;
 import org.apache.asterix.external.parser.ADMDataParser;
+import org.apache.asterix.external.parser.factory.JSONDataParserFactory;
 import org.apache.asterix.external.util.ExternalDataConstants;
 import org.apache.asterix.om.pointables.base.DefaultOpenFieldType;
 import org.apache.hyracks.data.std.util.ArrayBackedValueStorage;
@@ -81,6 +86,47 @@ public class ParserPerformanceTest {
         System.err.println("AdmParser time = " + admParserTime);
     }
 
+    /**
+     * Parses tweet-like records with the JSON parser, with and without duplicate field detection.
+     */
+    public void benchmarkJson() throws Exception {
+        int numRecords = 1 << 20;
+        char[][] records = new char[numRecords][];
+        for (int i = 0; i < numRecords; i++) {
+            records[i] = getTweet(i).toCharArray();
+        }
+        for (int round = 0; round < 5; round++) {
+            for (String duplicateFields : new String[] { ExternalDataConstants.DUPLICATE_FIELDS_ERROR,
+                    ExternalDataConstants.DUPLICATE_FIELDS_IGNORE }) {
+                Map<String, String> configuration = new HashMap<>();
+                configuration.put(ExternalDataConstants.KEY_DUPLICATE_FIELDS, duplicateFields);
+                JSONDataParserFactory factory = new JSONDataParserFactory();
+                factory.configure(configuration);
+                factory.setRecordType(DefaultOpenFieldType.NESTED_OPEN_RECORD_TYPE);
+                IRecordDataParser<char[]> parser = factory.createRecordParser(null);
+                CharArrayRecord record = new CharArrayRecord();
+                ArrayBackedValueStorage output = new ArrayBackedValueStorage();
+                long start = System.nanoTime();
+                for (char[] chars : records) {
+                    record.setValue(chars, 0, chars.length);
+                    output.reset();
+                    parser.parse(record, output.getDataOutput());
+                }
+                long time = System.nanoTime() - start;
+                System.err.println("JSON parser (duplicate-fields = " + duplicateFields + ") time = "
+                        + TimeUnit.NANOSECONDS.toMillis(time) + " ms for " + numRecords + " records");
+            }
+        }
+    }
+
+    private static String getTweet(int i) {
+        return "{\"id\":" + i + ",\"created_at\":\"2023-01-01T00:00:00\",\"text\":\"this is tweet number " + i
+                + "\",\"user\":{\"id\":" + i * 7 + ",\"name\":\"user" + i + "\",\"screen_name\":\"u" + i
+                + "\",\"followers_count\":" + i + ",\"verified\":false,\"location\":\"Irvine, CA\"},"
+                + "\"entities\":{\"hashtags\":[{\"text\":\"a\",\"indices\":[1,2]},{\"text\":\"b\",\"indices\":[3,4]}],"
+                + "\"urls\":[]},\"retweet_count\":3,\"favorite_count\":5,\"lang\":\"en\",\"coordinates\":null}";
+    }
+
     private static void set(final byte[] content, final CharsetDecoder decoder, final CharBuffer chars,
             final CharArrayRecord record) throws IOException {
         chars.clear();
@@ -0,0 +1,167 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.asterix.external.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.asterix.om.base.ADouble;
+import org.apache.asterix.om.base.AInt64;
+import org.apache.asterix.om.base.AString;
+import org.apache.asterix.om.base.IAObject;
+import org.apache.asterix.om.constants.AsterixConstantValue;
+import org.apache.asterix.om.functions.BuiltinFunctions;
+import org.apache.asterix.om.types.ARecordType;
+import org.apache.asterix.om.types.AUnionType;
+import org.apache.asterix.om.types.BuiltinType;
+import org.apache.asterix.om.types.IAType;
+import org.apache.asterix.runtime.projection.DataProjectionFiltrationInfo;
+import org.apache.commons.lang3.mutable.Mutable;
+import org.apache.commons.lang3.mutable.MutableObject;
+import org.apache.hyracks.algebricks.core.algebra.base.ILogicalExpression;
+import org.apache.hyracks.algebricks.core.algebra.base.LogicalVariable;
+import org.apache.hyracks.algebricks.core.algebra.expressions.ConstantExpression;
+import org.apache.hyracks.algebricks.core.algebra.expressions.ScalarFunctionCallExpression;
+import org.apache.hyracks.algebricks.core.algebra.expressions.VariableReferenceExpression;
+import org.apache.hyracks.algebricks.core.algebra.functions.AlgebricksBuiltinFunctions;
+import org.apache.hyracks.algebricks.core.algebra.functions.FunctionIdentifier;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ExternalDataFilterTest {
+    // Undeclared fields of an open type are inferred from the partition values, e.g., of Parquet datasets
+    private static final ARecordType OPEN_TYPE = new ARecordType("OpenType", new String[0], new IAType[0], true);
+    private final Map<ILogicalExpression, ARecordType> paths = new HashMap<>();
+
+    @Test
+    public void testPartitionPruning() {
+        ILogicalExpression year = field(1, "year");
+        ILogicalExpression month = field(2, "month");
+        ILogicalExpression name = field(3, "name");
+
+        // year >= 2023 AND month < 3 AND name = "x"
+        ExternalDataFilter filter = create(call(AlgebricksBuiltinFunctions.AND,
+                call(AlgebricksBuiltinFunctions.GE, year, constant(new AInt64(2023L))),
+                call(AlgebricksBuiltinFunctions.GT, constant(new AInt64(3L)), month),
+                call(AlgebricksBuiltinFunctions.EQ, name, constant(new AString("x")))), OPEN_TYPE);
+
+        Assert.assertTrue(mayMatch(filter, "year=2023/month=02/part-0.json"));
+        Assert.assertTrue(mayMatch(filter, "year=2024/month=1/part-0.json"));
+        Assert.assertFalse(mayMatch(filter, "year=2022/month=02/part-0.json"));
+        Assert.assertFalse(mayMatch(filter, "year=2023/month=03/part-0.json"));
+        // Unknown partitions are never pruned
+        Assert.assertTrue(mayMatch(filter, "day=01/part-0.json"));
+        // NULL does not satisfy any comparison
+        Assert.assertFalse(mayMatch(filter, "year=__HIVE_DEFAULT_PARTITION__/month=01/part-0.json"));
+        // A string does not compare with a number
+        Assert.assertTrue(mayMatch(filter, "year=last/part-0.json"));
+
+        // year = 2020 OR name = "x": the second disjunct cannot be evaluated against the partitions
+        filter = create(call(AlgebricksBuiltinFunctions.OR,
+                call(AlgebricksBuiltinFunctions.EQ, year, constant(new AInt64(2020L))),
+                call(AlgebricksBuiltinFunctions.EQ, name, constant(new AString("x")))), OPEN_TYPE);
+        Assert.assertTrue(mayMatch(filter, "year=2023/part-0.json"));
+
+        // name > "b"
+        filter = create(call(AlgebricksBuiltinFunctions.GT, name, constant(new AString("b"))), OPEN_TYPE);
+        Assert.assertTrue(mayMatch(filter, "name=c/part-0.json"));
+        Assert.assertFalse(mayMatch(filter, "name=a/part-0.json"));
+
+        // month = 1.5
+        filter = create(call(AlgebricksBuiltinFunctions.EQ, month, constant(new ADouble(1.5))), OPEN_TYPE);
+        Assert.assertTrue(mayMatch(filter, "month=1.50/part-0.json"));
+        Assert.assertFalse(mayMatch(filter, "month=1/part-0.json"));
+
+        // Without a dataset type (i.e., not partitioned), nothing is pruned
+        filter = create(call(AlgebricksBuiltinFunctions.EQ, month, constant(new AInt64(1L))), null);
+        Assert.assertTrue(mayMatch(filter, "month=2/part-0.json"));
+    }
+
+    @Test
+    public void testPartitionPruningByDeclaredTypes() {
+        ILogicalExpression year = field(1, "year");
+        ILogicalExpression month = field(2, "month");
+        ILogicalExpression day = field(3, "day");
+        // year is a bigint, month is an optional string, and day is not declared by the closed type
+        ARecordType datasetType = new ARecordType("DatasetType", new String[] { "year", "month" },
+                new IAType[] { BuiltinType.AINT64, AUnionType.createUnknownableType(BuiltinType.ASTRING) }, false);
+
+        // year = 2023 AND month = "01" AND day = 1
+        ExternalDataFilter filter = create(call(AlgebricksBuiltinFunctions.AND,
+                call(AlgebricksBuiltinFunctions.EQ, year, constant(new AInt64(2023L))),
+                call(AlgebricksBuiltinFunctions.EQ, month, constant(new AString("01"))),
+                call(AlgebricksBuiltinFunctions.EQ, day, constant(new AInt64(1L)))), datasetType);
+
+        Assert.assertTrue(mayMatch(filter, "year=2023/month=01/day=02/part-0.json"));
+        Assert.assertTrue(mayMatch(filter, "year=02023/month=01/part-0.json"));
+        Assert.assertFalse(mayMatch(filter, "year=2022/month=01/part-0.json"));
+        // month is a string, so "1" is not "01"
+        Assert.assertFalse(mayMatch(filter, "year=2023/month=1/part-0.json"));
+        // Invalid values are left to the reader, which fails
+        Assert.assertTrue(mayMatch(filter, "year=last/month=01/part-0.json"));
+    }
+
+    @Test
+    public void testWithoutFields() {
+        ILogicalExpression year = field(1, "year");
+        ILogicalExpression name = field(2, "name");
+        ILogicalExpression yearEquals = call(AlgebricksBuiltinFunctions.EQ, year, constant(new AInt64(2023L)));
+        ILogicalExpression nameEquals = call(AlgebricksBuiltinFunctions.EQ, name, constant(new AString("x")));
+
+        ExternalDataFilter filter = create(call(AlgebricksBuiltinFunctions.AND, yearEquals, nameEquals), null);
+        ExternalDataFilter nameFilter = filter.withoutFields(Collections.singleton("year"));
+        Assert.assertNotNull(nameFilter);
+        Assert.assertSame(nameFilter, nameFilter.withoutFields(Collections.singleton("month")));
+        Assert.assertNull(nameFilter.withoutFields(Collections.singleton("name")));
+
+        filter = create(call(AlgebricksBuiltinFunctions.OR, yearEquals, nameEquals), null);
+        Assert.assertNull(filter.withoutFields(Collections.singleton("year")));
+    }
+
+    private ExternalDataFilter create(ILogicalExpression filterExpression, ARecordType datasetType) {
+        DataProjectionFiltrationInfo info = new DataProjectionFiltrationInfo(
+                DataProjectionFiltrationInfo.ALL_FIELDS_TYPE, Collections.emptyMap(), paths, paths, filterExpression);
+        return ExternalDataFilter.create(info, datasetType);
+    }
+
+    private ILogicalExpression field(int id, String fieldName) {
+        ILogicalExpression expr = new VariableReferenceExpression(new LogicalVariable(id));
+        IAType[] fieldTypes = { BuiltinType.ANY };
+        paths.put(expr, new ARecordType("FilterPath" + id, new String[] { fieldName }, fieldTypes, false));
+        return expr;
+    }
+
+    private static ILogicalExpression constant(IAObject value) {
+        return new ConstantExpression(new AsterixConstantValue(value));
+    }
+
+    private static ILogicalExpression call(FunctionIdentifier fid, ILogicalExpression... args) {
+        List<Mutable<ILogicalExpression>> argRefs = new ArrayList<>();
+        Arrays.stream(args).forEach(arg -> argRefs.add(new MutableObject<>(arg)));
+        return new ScalarFunctionCallExpression(BuiltinFunctions.getBuiltinFunctionInfo(fid), argRefs);
+    }
+
+    private static boolean mayMatch(ExternalDataFilter filter, String key) {
+        return filter.mayMatchPartition(HivePartitionValues.getPartitionValues(key));
+    }
+}
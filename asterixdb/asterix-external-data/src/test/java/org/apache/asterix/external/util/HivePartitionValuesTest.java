@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.asterix.external.util;
+
+import java.util.Map;
+
+import org.apache.asterix.om.types.ARecordType;
+import org.apache.asterix.om.types.ATypeTag;
+import org.apache.asterix.om.types.AUnionType;
+import org.apache.asterix.om.types.BuiltinType;
+import org.apache.asterix.om.types.IAType;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class HivePartitionValuesTest {
+
+    @Test
+    public void testPartitionValues() {
+        Map<String, String> values = HivePartitionValues.getPartitionValues("data/year=2023/month=01/a=b%2Fc/x.json");
+        Assert.assertEquals(3, values.size());
+        Assert.assertEquals("2023", values.get("year"));
+        Assert.assertEquals("01", values.get("month"));
+        Assert.assertEquals("b/c", values.get("a"));
+        Assert.assertTrue(HivePartitionValues.getPartitionValues("year=2023.json").isEmpty());
+    }
+
+    @Test
+    public void testPartitionTypes() {
+        ARecordType openType = new ARecordType("OpenType", new String[] { "a", "b", "c" }, new IAType[] {
+                BuiltinType.AINT32, AUnionType.createUnknownableType(BuiltinType.ASTRING), BuiltinType.ADATE }, true);
+        Assert.assertEquals(ATypeTag.INTEGER, HivePartitionValues.getPartitionType(openType, "a"));
+        Assert.assertEquals(ATypeTag.STRING, HivePartitionValues.getPartitionType(openType, "b"));
+        // Unsupported declared types are not partition fields
+        Assert.assertEquals(ATypeTag.MISSING, HivePartitionValues.getPartitionType(openType, "c"));
+        Assert.assertEquals(ATypeTag.ANY, HivePartitionValues.getPartitionType(openType, "d"));
+
+        ARecordType closedType = new ARecordType("ClosedType", new String[] { "a" },
+                new IAType[] { BuiltinType.AINT32 }, false);
+        Assert.assertEquals(ATypeTag.MISSING, HivePartitionValues.getPartitionType(closedType, "d"));
+    }
+
+    @Test
+    public void testParse() {
+        Assert.assertEquals(1L, HivePartitionValues.parse("01", ATypeTag.ANY));
+        Assert.assertEquals(-1.5e3, HivePartitionValues.parse("-1.5e3", ATypeTag.ANY));
+        Assert.assertEquals(1e19, HivePartitionValues.parse("10000000000000000000", ATypeTag.ANY));
+        Assert.assertEquals("NaN", HivePartitionValues.parse("NaN", ATypeTag.ANY));
+        Assert.assertEquals("2023-01-01", HivePartitionValues.parse("2023-01-01", ATypeTag.ANY));
+        Assert.assertNull(HivePartitionValues.parse(HivePartitionValues.DEFAULT_PARTITION, ATypeTag.ANY));
+
+        Assert.assertEquals("01", HivePartitionValues.parse("01", ATypeTag.STRING));
+        Assert.assertEquals(127L, HivePartitionValues.parse("127", ATypeTag.TINYINT));
+        Assert.assertSame(HivePartitionValues.INVALID, HivePartitionValues.parse("128", ATypeTag.TINYINT));
+        Assert.assertSame(HivePartitionValues.INVALID, HivePartitionValues.parse("1.0", ATypeTag.BIGINT));
+        Assert.assertEquals((double) 0.1f, HivePartitionValues.parse("0.1", ATypeTag.FLOAT));
+        Assert.assertEquals(1.0, HivePartitionValues.parse("1", ATypeTag.DOUBLE));
+        Assert.assertSame(HivePartitionValues.INVALID, HivePartitionValues.parse("Infinity", ATypeTag.DOUBLE));
+        Assert.assertEquals(true, HivePartitionValues.parse("TRUE", ATypeTag.BOOLEAN));
+        Assert.assertSame(HivePartitionValues.INVALID, HivePartitionValues.parse("1", ATypeTag.BOOLEAN));
+    }
+}
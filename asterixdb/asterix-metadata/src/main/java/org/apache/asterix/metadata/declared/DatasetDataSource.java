@@ -134,7 +134,8 @@ public class DatasetDataSource extends DataSource {
                 ExternalDatasetDetails edd = (ExternalDatasetDetails) externalDataset.getDatasetDetails();
                 PhysicalOptimizationConfig physicalOptimizationConfig = context.getPhysicalOptimizationConfig();
                 int externalScanBufferSize = physicalOptimizationConfig.getExternalScanBufferSize();
-                Map<String, String> properties = addExternalProjectionInfo(projectionInfo, edd.getProperties());
+                Map<String, String> properties =
+                        addExternalProjectionInfo(projectionInfo, edd.getProperties(), (ARecordType) itemType);
                 properties = addSubPath(externalDataSource.getProperties(), properties);
                 properties.put(KEY_EXTERNAL_SCAN_BUFFER_SIZE, String.valueOf(externalScanBufferSize));
                 ITypedAdapterFactory adapterFactory = metadataProvider.getConfiguredAdapterFactory(externalDataset,
@@ -173,14 +174,14 @@ public class DatasetDataSource extends DataSource {
     }
 
     private Map<String, String> addExternalProjectionInfo(IProjectionFiltrationInfo<?> projectionInfo,
-            Map<String, String> properties) {
+            Map<String, String> properties, ARecordType datasetType) {
         Map<String, String> propertiesCopy = properties;
         if (projectionInfo != null) {
             //properties could be cached and reused, so we make a copy per query
             propertiesCopy = new HashMap<>(properties);
             try {
                 DataProjectionFiltrationInfo externalProjectionInfo = (DataProjectionFiltrationInfo) projectionInfo;
-                ExternalDataUtils.setExternalDataProjectionInfo(externalProjectionInfo, propertiesCopy);
+                ExternalDataUtils.setExternalDataProjectionInfo(externalProjectionInfo, propertiesCopy, datasetType);
             } catch (IOException e) {
                 throw new IllegalStateException(e);
             }
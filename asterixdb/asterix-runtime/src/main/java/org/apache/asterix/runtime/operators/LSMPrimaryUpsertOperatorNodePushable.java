@@ -20,6 +20,7 @@ package org.apache.asterix.runtime.operators;
 
 import java.io.DataOutput;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.ByteBuffer;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
@@ -90,6 +91,7 @@ import org.apache.logging.log4j.Logger;
 
 import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
 import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntArrays;
 import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
 import it.unimi.dsi.fastutil.ints.IntSet;
 
@@ -133,6 +135,14 @@ public class LSMPrimaryUpsertOperatorNodePushable extends LSMIndexInsertUpdateDe
     private long lastRecordInTimeStamp = 0L;
     private final Int2ObjectMap<IntSet> partition2TuplesMap = new Int2ObjectOpenHashMap<>();
     private final boolean hasSecondaries;
+    // batched upserts: each frame is sorted by primary key and only the last change to a key is applied
+    private boolean batchUpserts = false;
+    private final PermutingFrameTupleReference batchKey;
+    private final PermutingFrameTupleReference otherBatchKey;
+    private FrameTupleAccessor batchAccessor;
+    private VSizeFrame batchFrame;
+    private FrameTupleAppender batchAppender;
+    private int[] batchTupleIndexes;
 
     public LSMPrimaryUpsertOperatorNodePushable(IHyracksTaskContext ctx, int partition,
             IIndexDataflowHelperFactory indexHelperFactory, int[] fieldPermutation, RecordDescriptor inputRecDesc,
@@ -156,6 +166,8 @@ public class LSMPrimaryUpsertOperatorNodePushable extends LSMIndexInsertUpdateDe
         int[] searchKeyPermutations = new int[numOfPrimaryKeys];
         System.arraycopy(fieldPermutation, 0, searchKeyPermutations, 0, searchKeyPermutations.length);
         key.setFieldPermutation(searchKeyPermutations);
+        batchKey = new PermutingFrameTupleReference(searchKeyPermutations);
+        otherBatchKey = new PermutingFrameTupleReference(searchKeyPermutations);
         hasMeta = (fieldPermutation.length > numOfPrimaryKeys + 1) && (filterFieldIndex < 0
                 || (filterFieldIndex >= 0 && (fieldPermutation.length > numOfPrimaryKeys + 2)));
         this.metaFieldIndex = numOfPrimaryKeys + 1;
@@ -174,6 +186,17 @@ public class LSMPrimaryUpsertOperatorNodePushable extends LSMIndexInsertUpdateDe
         tupleProjector = projectorFactory.createTupleProjector(ctx);
     }
 
+    /**
+     * Enables batched upserts, which is meant for ingestion (e.g. feeds) where only the final state of a record
+     * matters. Every incoming frame is treated as a micro-batch: its tuples are sorted by primary key, so that the
+     * primary index is searched and modified in key order, and only the last change to each key is applied. The
+     * superseded changes are neither applied nor logged and are not propagated to the secondary indexes.
+     * Must be called before {@link #open()}.
+     */
+    public void setBatchUpserts(boolean batchUpserts) {
+        this.batchUpserts = batchUpserts;
+    }
+
     protected void beforeModification(ITupleReference tuple) {
         // this is used for extensions to modify tuples before persistence
         // do nothing in the master branch
@@ -291,6 +314,12 @@ public class LSMPrimaryUpsertOperatorNodePushable extends LSMIndexInsertUpdateDe
             tb = new ArrayTupleBuilder(recordDesc.getFieldCount());
             dos = tb.getDataOutput();
             appender = new FrameTupleAppender(new VSizeFrame(ctx), true);
+            if (batchUpserts) {
+                batchAccessor = new FrameTupleAccessor(inputRecDesc);
+                batchFrame = new VSizeFrame(ctx);
+                batchAppender = new FrameTupleAppender();
+                batchTupleIndexes = new int[0];
+            }
             INcApplicationContext appCtx =
                     (INcApplicationContext) ctx.getJobletContext().getServiceContext().getApplicationContext();
             for (int i = 0; i < indexHelpers.length; i++) {
@@ -392,7 +421,7 @@ public class LSMPrimaryUpsertOperatorNodePushable extends LSMIndexInsertUpdateDe
 
     @Override
     public void nextFrame(ByteBuffer buffer) throws HyracksDataException {
-        accessor.reset(buffer);
+        accessor.reset(batchUpserts ? sortAndDeduplicate(buffer) : buffer);
         partition2TuplesMap.clear();
         int itemCount = accessor.getTupleCount();
         for (int i = 0; i < itemCount; i++) {
@@ -417,6 +446,55 @@ public class LSMPrimaryUpsertOperatorNodePushable extends LSMIndexInsertUpdateDe
         }
     }
 
+    /**
+     * Sorts the tuples of the frame by primary key, keeping only the last tuple of each key
+     *
+     * @return a frame containing the tuples to apply in the order they should be applied
+     */
+    private ByteBuffer sortAndDeduplicate(ByteBuffer buffer) throws HyracksDataException {
+        batchAccessor.reset(buffer);
+        int tupleCount = batchAccessor.getTupleCount();
+        if (batchTupleIndexes.length < tupleCount) {
+            batchTupleIndexes = new int[tupleCount];
+        }
+        for (int i = 0; i < tupleCount; i++) {
+            batchTupleIndexes[i] = i;
+        }
+        // the batch cannot be larger than the incoming frame
+        batchFrame.ensureFrameSize(buffer.capacity());
+        batchAppender.reset(batchFrame, true);
+        try {
+            // ties are broken by the arrival order so that the last change to a key ends up last
+            IntArrays.quickSort(batchTupleIndexes, 0, tupleCount, (a, b) -> {
+                int cmp = compareKeys(a, b);
+                return cmp != 0 ? cmp : Integer.compare(a, b);
+            });
+            for (int i = 0; i < tupleCount; i++) {
+                int tupleIndex = batchTupleIndexes[i];
+                if (i + 1 < tupleCount && compareKeys(tupleIndex, batchTupleIndexes[i + 1]) == 0) {
+                    // superseded by a later change to the same key
+                    continue;
+                }
+                if (!batchAppender.append(batchAccessor, tupleIndex)) {
+                    throw new HyracksDataException("Batch of upserts does not fit in a frame");
+                }
+            }
+        } catch (UncheckedIOException e) {
+            throw HyracksDataException.create(e.getCause());
+        }
+        return batchFrame.getBuffer();
+    }
+
+    private int compareKeys(int tupleIndex, int otherTupleIndex) {
+        batchKey.reset(batchAccessor, tupleIndex);
+        otherBatchKey.reset(batchAccessor, otherTupleIndex);
+        try {
+            return keySearchCmp.compare(batchKey, otherBatchKey);
+        } catch (HyracksDataException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     protected void appendFilterToOutput() throws IOException {
         // if with filters, append the filter
         if (isFiltered) {
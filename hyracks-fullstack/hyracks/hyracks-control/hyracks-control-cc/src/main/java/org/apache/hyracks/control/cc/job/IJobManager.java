@@ -125,4 +125,9 @@ public interface IJobManager {
      * @return the maximum number of jobs to queue before rejecting new jobs
      */
     int getJobQueueCapacity();
+
+    /**
+     * @return the highest priority that a queued job can have
+     */
+    int getJobQueueMaxPriority();
 }
@@ -296,6 +296,11 @@ public class JobManager implements IJobManager {
         return ccs.getCCConfig().getJobQueueCapacity();
     }
 
+    @Override
+    public int getJobQueueMaxPriority() {
+        return ccs.getCCConfig().getJobQueueMaxPriority();
+    }
+
     private void pickJobsToRun() throws HyracksException {
         List<JobRun> selectedRuns = jobQueue.pull();
         for (JobRun run : selectedRuns) {
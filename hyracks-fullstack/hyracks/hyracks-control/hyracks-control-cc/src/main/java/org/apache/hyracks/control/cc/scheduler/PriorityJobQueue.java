@@ -0,0 +1,278 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.hyracks.control.cc.scheduler;
+
+import java.io.Serializable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Queue;
+
+import org.apache.hyracks.api.exceptions.ErrorCode;
+import org.apache.hyracks.api.exceptions.HyracksException;
+import org.apache.hyracks.api.job.JobId;
+import org.apache.hyracks.api.job.JobSpecification;
+import org.apache.hyracks.api.job.JobStatus;
+import org.apache.hyracks.api.job.resource.IJobCapacityController;
+import org.apache.hyracks.control.cc.job.IJobManager;
+import org.apache.hyracks.control.cc.job.JobRun;
+import org.apache.hyracks.util.annotations.GuardedBy;
+import org.apache.hyracks.util.annotations.NotThreadSafe;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * A job queue that admits jobs with a higher priority first and shares the cluster capacity among the groups of
+ * jobs with the same priority. The priority and the group of a job are taken from the job properties
+ * {@link #JOB_PRIORITY_PROPERTY} and {@link #JOB_GROUP_PROPERTY} (e.g., set per query with
+ * {@code SET `job.queue.priority` "10";} and {@code SET `job.queue.group` "reports";}). Within a priority, the group
+ * with the least recent usage goes first, and the jobs of a group are admitted in arrival order. The usage of a group
+ * is the number of its admitted jobs, which decays by {@link #USAGE_DECAY} on every pull so that a group that stops
+ * submitting jobs gradually regains its share instead of being reset.
+ * <p>
+ * Priorities are capped at the configured maximum (see {@link IJobManager#getJobQueueMaxPriority()}), so a job cannot
+ * go ahead of others by setting an arbitrarily high priority unless the cluster allows it.
+ */
+@NotThreadSafe
+@GuardedBy("JobManager")
+public class PriorityJobQueue implements IJobQueue {
+
+    public static final String JOB_PRIORITY_PROPERTY = "job.queue.priority";
+    public static final String JOB_GROUP_PROPERTY = "job.queue.group";
+    public static final int DEFAULT_PRIORITY = 0;
+    public static final String DEFAULT_GROUP = "";
+    static final double USAGE_DECAY = 0.5;
+    // usages below this are forgotten
+    private static final double MIN_USAGE = 0.001;
+
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    private final Map<JobId, JobRun> jobListMap = new LinkedHashMap<>();
+    // the decayed number of admitted jobs of each group
+    private final Map<String, Double> groupUsages = new HashMap<>();
+    private final IJobManager jobManager;
+    private final IJobCapacityController jobCapacityController;
+    private final int jobQueueCapacity;
+    private final int maxPriority;
+
+    public PriorityJobQueue(IJobManager jobManager, IJobCapacityController jobCapacityController) {
+        this.jobManager = jobManager;
+        this.jobCapacityController = jobCapacityController;
+        this.jobQueueCapacity = jobManager.getJobQueueCapacity();
+        this.maxPriority = jobManager.getJobQueueMaxPriority();
+    }
+
+    @Override
+    public void add(JobRun run) throws HyracksException {
+        int size = jobListMap.size();
+        if (size >= jobQueueCapacity) {
+            throw HyracksException.create(ErrorCode.JOB_QUEUE_FULL, jobQueueCapacity);
+        }
+        jobListMap.put(run.getJobId(), run);
+    }
+
+    @Override
+    public JobRun remove(JobId jobId) {
+        return jobListMap.remove(jobId);
+    }
+
+    @Override
+    public JobRun get(JobId jobId) {
+        return jobListMap.get(jobId);
+    }
+
+    @Override
+    public List<JobRun> pull() {
+        List<JobRun> jobRuns = new ArrayList<>();
+        PriorityQueue<Candidates> candidates = getCandidates();
+        while (!candidates.isEmpty()) {
+            Candidates next = candidates.poll();
+            double usage = getUsage(next.group);
+            if (next.usage != usage) {
+                // the group had a job admitted since it was queued
+                next.usage = usage;
+                candidates.add(next);
+                continue;
+            }
+            JobRun run = next.poll();
+            if (!next.isEmpty()) {
+                candidates.add(next);
+            }
+            JobSpecification job = run.getJobSpecification();
+            // Cluster maximum capacity can change over time, thus we have to re-check if the job should be rejected
+            // or not.
+            try {
+                IJobCapacityController.JobSubmissionStatus status = jobCapacityController.allocate(job);
+                // Checks if the job can be executed immediately.
+                if (status == IJobCapacityController.JobSubmissionStatus.EXECUTE) {
+                    jobRuns.add(run);
+                    jobListMap.remove(run.getJobId());
+                    groupUsages.put(next.group, usage + 1);
+                    if (LOGGER.isDebugEnabled()) {
+                        LOGGER.debug("job {} with priority {} of group '{}' admitted after waiting {} ms in the queue",
+                                run.getJobId(), next.priority, next.group,
+                                System.currentTimeMillis() - run.getCreateTime());
+                    }
+                }
+            } catch (HyracksException exception) {
+                // The required capacity exceeds maximum capacity.
+                List<Exception> exceptions = new ArrayList<>();
+                exceptions.add(exception);
+                jobListMap.remove(run.getJobId()); // Removes the job from the queue.
+                try {
+                    // Fails the job.
+                    jobManager.prepareComplete(run, JobStatus.FAILURE_BEFORE_EXECUTION, exceptions);
+                } catch (HyracksException e) {
+                    LOGGER.log(Level.ERROR, e.getMessage(), e);
+                }
+            }
+        }
+        decayUsages();
+        return jobRuns;
+    }
+
+    @Override
+    public Collection<JobRun> jobs() {
+        return Collections.unmodifiableCollection(jobListMap.values());
+    }
+
+    @Override
+    public void clear() {
+        jobListMap.clear();
+        groupUsages.clear();
+    }
+
+    /**
+     * @return the queued jobs of each priority and group in arrival order, ordered by the priority (highest first),
+     * the usage of the group (lowest first), and the arrival of the group's next job
+     */
+    private PriorityQueue<Candidates> getCandidates() {
+        Map<Candidates, Candidates> groups = new HashMap<>();
+        int arrival = 0;
+        for (JobRun run : jobListMap.values()) {
+            JobSpecification job = run.getJobSpecification();
+            Candidates key = new Candidates(getPriority(job), getGroup(job));
+            groups.computeIfAbsent(key, k -> {
+                k.usage = getUsage(k.group);
+                return k;
+            }).add(run, arrival++);
+        }
+        PriorityQueue<Candidates> candidates = new PriorityQueue<>(Math.max(groups.size(), 1));
+        candidates.addAll(groups.values());
+        return candidates;
+    }
+
+    private void decayUsages() {
+        groupUsages.replaceAll((group, usage) -> usage * USAGE_DECAY);
+        groupUsages.values().removeIf(usage -> usage < MIN_USAGE);
+    }
+
+    private double getUsage(String group) {
+        return groupUsages.getOrDefault(group, 0.0);
+    }
+
+    private int getPriority(JobSpecification job) {
+        return Math.min(getRequestedPriority(job), maxPriority);
+    }
+
+    private static int getRequestedPriority(JobSpecification job) {
+        Serializable priority = job.getProperty(JOB_PRIORITY_PROPERTY);
+        if (priority instanceof Number) {
+            return ((Number) priority).intValue();
+        }
+        if (priority instanceof String) {
+            try {
+                return Integer.parseInt((String) priority);
+            } catch (NumberFormatException e) {
+                LOGGER.log(Level.WARN, "ignoring invalid job priority: " + priority);
+            }
+        }
+        return DEFAULT_PRIORITY;
+    }
+
+    private static String getGroup(JobSpecification job) {
+        Serializable group = job.getProperty(JOB_GROUP_PROPERTY);
+        return group != null ? String.valueOf(group) : DEFAULT_GROUP;
+    }
+
+    /**
+     * The queued jobs of a priority and a group in arrival order. Equality is by priority and group.
+     */
+    private static class Candidates implements Comparable<Candidates> {
+        private final int priority;
+        private final String group;
+        private final Queue<JobRun> runs = new ArrayDeque<>();
+        private final Queue<Integer> arrivals = new ArrayDeque<>();
+        // the usage of the group when these candidates were (re-)queued
+        private double usage;
+
+        private Candidates(int priority, String group) {
+            this.priority = priority;
+            this.group = group;
+        }
+
+        private void add(JobRun run, int arrival) {
+            runs.add(run);
+            arrivals.add(arrival);
+        }
+
+        private JobRun poll() {
+            arrivals.poll();
+            return runs.poll();
+        }
+
+        private boolean isEmpty() {
+            return runs.isEmpty();
+        }
+
+        @Override
+        public int compareTo(Candidates other) {
+            int result = Integer.compare(other.priority, priority);
+            if (result == 0) {
+                result = Double.compare(usage, other.usage);
+            }
+            return result != 0 ? result : Integer.compare(arrivals.peek(), other.arrivals.peek());
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Candidates other = (Candidates) o;
+            return priority == other.priority && group.equals(other.group);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(priority, group);
+        }
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.hyracks.control.cc.scheduler;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.hyracks.api.exceptions.HyracksException;
+import org.apache.hyracks.api.job.JobId;
+import org.apache.hyracks.api.job.JobSpecification;
+import org.apache.hyracks.api.job.resource.IJobCapacityController;
+import org.apache.hyracks.control.cc.job.IJobManager;
+import org.apache.hyracks.control.cc.job.JobRun;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class PriorityJobQueueTest {
+
+    private static final int MAX_PRIORITY = 10;
+
+    private IJobCapacityController jobCapacityController;
+    private PriorityJobQueue jobQueue;
+
+    @Before
+    public void setup() {
+        IJobManager jobManager = mock(IJobManager.class);
+        when(jobManager.getJobQueueCapacity()).thenReturn(16);
+        when(jobManager.getJobQueueMaxPriority()).thenReturn(MAX_PRIORITY);
+        jobCapacityController = mock(IJobCapacityController.class);
+        jobQueue = new PriorityJobQueue(jobManager, jobCapacityController);
+    }
+
+    @Test
+    public void testPriority() throws HyracksException {
+        JobRun low1 = mockJobRun(1, 0, "a");
+        JobRun high = mockJobRun(2, 10, "a");
+        JobRun low2 = mockJobRun(3, 0, "a");
+        jobQueue.add(low1);
+        jobQueue.add(high);
+        jobQueue.add(low2);
+        Assert.assertEquals(Arrays.asList(high, low1, low2), jobQueue.pull());
+        Assert.assertTrue(jobQueue.jobs().isEmpty());
+    }
+
+    @Test
+    public void testMaxPriority() throws HyracksException {
+        JobRun max = mockJobRun(1, MAX_PRIORITY, "a");
+        JobRun aboveMax = mockJobRun(2, 1000, "b");
+        JobRun intMax = mockJobRun(3, Integer.MAX_VALUE, "c");
+        JobRun low = mockJobRun(4, -5, "d");
+        JobRun def = mockJobRun(5, PriorityJobQueue.DEFAULT_PRIORITY, "e");
+        for (JobRun run : Arrays.asList(low, def, max, aboveMax, intMax)) {
+            jobQueue.add(run);
+        }
+        // priorities above the maximum are capped, so those jobs do not go ahead of the ones with the maximum
+        Assert.assertEquals(Arrays.asList(max, aboveMax, intMax, def, low), jobQueue.pull());
+    }
+
+    @Test
+    public void testDefaultMaxPriority() throws HyracksException {
+        IJobManager jobManager = mock(IJobManager.class);
+        when(jobManager.getJobQueueCapacity()).thenReturn(16);
+        when(jobManager.getJobQueueMaxPriority()).thenReturn(PriorityJobQueue.DEFAULT_PRIORITY);
+        jobQueue = new PriorityJobQueue(jobManager, jobCapacityController);
+        JobRun def = mockJobRun(1, PriorityJobQueue.DEFAULT_PRIORITY, "a");
+        JobRun high = mockJobRun(2, 10, "b");
+        JobRun low = mockJobRun(3, -1, "c");
+        for (JobRun run : Arrays.asList(low, def, high)) {
+            jobQueue.add(run);
+        }
+        // without a configured maximum, a job can lower its priority but not raise it above the default
+        Assert.assertEquals(Arrays.asList(def, high, low), jobQueue.pull());
+    }
+
+    @Test
+    public void testFairSharing() throws HyracksException {
+        JobRun a1 = mockJobRun(1, 0, "a");
+        JobRun a2 = mockJobRun(2, 0, "a");
+        JobRun a3 = mockJobRun(3, 0, "a");
+        JobRun b1 = mockJobRun(4, 0, "b");
+        for (JobRun run : Arrays.asList(a1, a2, a3, b1)) {
+            jobQueue.add(run);
+        }
+        Assert.assertEquals(Arrays.asList(a1, b1, a2, a3), jobQueue.pull());
+    }
+
+    @Test
+    public void testUsageDecays() throws HyracksException {
+        JobRun a1 = mockJobRun(1, 0, "a");
+        jobQueue.add(a1);
+        Assert.assertEquals(Arrays.asList(a1), jobQueue.pull());
+        JobRun b1 = mockJobRun(2, 0, "b");
+        jobQueue.add(b1);
+        Assert.assertEquals(Arrays.asList(b1), jobQueue.pull());
+        // a was admitted longer ago, so its usage decayed more than b's although b's job arrives first
+        JobRun b2 = mockJobRun(3, 0, "b");
+        JobRun a2 = mockJobRun(4, 0, "a");
+        jobQueue.add(b2);
+        jobQueue.add(a2);
+        Assert.assertEquals(Arrays.asList(a2, b2), jobQueue.pull());
+        // usage is eventually forgotten and jobs are admitted in arrival order again
+        for (int i = 0; i < 16; i++) {
+            jobQueue.pull();
+        }
+        JobRun b3 = mockJobRun(5, 0, "b");
+        JobRun a3 = mockJobRun(6, 0, "a");
+        jobQueue.add(b3);
+        jobQueue.add(a3);
+        Assert.assertEquals(Arrays.asList(b3, a3), jobQueue.pull());
+    }
+
+    @Test
+    public void testPriorityBeforeUsage() throws HyracksException {
+        JobRun a1 = mockJobRun(1, 10, "a");
+        JobRun a2 = mockJobRun(2, 10, "a");
+        JobRun b1 = mockJobRun(3, 0, "b");
+        JobRun a3 = mockJobRun(4, 0, "a");
+        // a3 arrives before b1, but a has used more capacity by the time the lower priority is admitted
+        for (JobRun run : Arrays.asList(a3, b1, a1, a2)) {
+            jobQueue.add(run);
+        }
+        Assert.assertEquals(Arrays.asList(a1, a2, b1, a3), jobQueue.pull());
+    }
+
+    @Test
+    public void testDeferredJobsStayQueued() throws HyracksException {
+        JobRun deferred = mockJobRun(1, 10, "a", IJobCapacityController.JobSubmissionStatus.QUEUE);
+        JobRun run = mockJobRun(2, 0, "b");
+        jobQueue.add(deferred);
+        jobQueue.add(run);
+        List<JobRun> pulled = jobQueue.pull();
+        Assert.assertEquals(Arrays.asList(run), pulled);
+        Assert.assertEquals(Arrays.asList(deferred), Arrays.asList(jobQueue.jobs().toArray()));
+    }
+
+    private JobRun mockJobRun(long id, int priority, String group) throws HyracksException {
+        return mockJobRun(id, priority, group, IJobCapacityController.JobSubmissionStatus.EXECUTE);
+    }
+
+    private JobRun mockJobRun(long id, int priority, String group, IJobCapacityController.JobSubmissionStatus status)
+            throws HyracksException {
+        JobRun run = mock(JobRun.class);
+        JobSpecification job = mock(JobSpecification.class);
+        when(run.getJobId()).thenReturn(new JobId(id));
+        when(run.getJobSpecification()).thenReturn(job);
+        when(job.getProperty(PriorityJobQueue.JOB_PRIORITY_PROPERTY)).thenReturn(priority);
+        when(job.getProperty(PriorityJobQueue.JOB_GROUP_PROPERTY)).thenReturn(group);
+        when(jobCapacityController.allocate(job)).thenReturn(status);
+        return run;
+    }
+}
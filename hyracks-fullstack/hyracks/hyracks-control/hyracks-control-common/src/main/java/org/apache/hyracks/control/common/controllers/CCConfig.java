@@ -73,6 +73,7 @@ public class CCConfig extends ControllerConfig {
         CLUSTER_TOPOLOGY(STRING),
         JOB_QUEUE_CLASS(STRING, "org.apache.hyracks.control.cc.scheduler.FIFOJobQueue"),
         JOB_QUEUE_CAPACITY(POSITIVE_INTEGER, 4096),
+        JOB_QUEUE_MAX_PRIORITY(NONNEGATIVE_INTEGER, 0),
         JOB_MANAGER_CLASS(STRING, "org.apache.hyracks.control.cc.job.JobManager"),
         ENFORCE_FRAME_WRITER_PROTOCOL(BOOLEAN, false),
         CORES_MULTIPLIER(POSITIVE_INTEGER, 3),
@@ -185,9 +186,15 @@ public class CCConfig extends ControllerConfig {
                 case CLUSTER_TOPOLOGY:
                     return "Sets the XML file that defines the cluster topology";
                 case JOB_QUEUE_CLASS:
-                    return "Specify the implementation class name for the job queue";
+                    return "Specify the implementation class name for the job queue (FIFOJobQueue admits jobs in "
+                            + "arrival order, PriorityJobQueue admits jobs by priority and shares capacity among "
+                            + "job groups, which queries set with the job.queue.priority and job.queue.group "
+                            + "parameters)";
                 case JOB_QUEUE_CAPACITY:
                     return "The maximum number of jobs to queue before rejecting new jobs";
+                case JOB_QUEUE_MAX_PRIORITY:
+                    return "The highest priority that a job can have in the PriorityJobQueue; jobs that set a higher "
+                            + "job.queue.priority are queued with this priority";
                 case JOB_MANAGER_CLASS:
                     return "Specify the implementation class name for the job manager";
                 case ENFORCE_FRAME_WRITER_PROTOCOL:
@@ -436,6 +443,10 @@ public class CCConfig extends ControllerConfig {
         return getAppConfig().getInt(Option.JOB_QUEUE_CAPACITY);
     }
 
+    public int getJobQueueMaxPriority() {
+        return getAppConfig().getInt(Option.JOB_QUEUE_MAX_PRIORITY);
+    }
+
     public boolean getEnforceFrameWriterProtocol() {
         return getAppConfig().getBoolean(Option.ENFORCE_FRAME_WRITER_PROTOCOL);
     }
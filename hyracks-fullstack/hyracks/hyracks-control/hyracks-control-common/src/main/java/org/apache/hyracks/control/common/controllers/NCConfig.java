@@ -79,9 +79,11 @@ public class NCConfig extends ControllerConfig {
                 "<value of " + ControllerConfig.Option.DEFAULT_DIR.cmdline() + ">/iodevice"),
         NET_THREAD_COUNT(POSITIVE_INTEGER, 1),
         NET_BUFFER_COUNT(POSITIVE_INTEGER, 1),
+        NET_INPUT_BUFFER_COUNT(POSITIVE_INTEGER, 5),
         RESULT_TTL(LONG, 86400000L),
         RESULT_SWEEP_THRESHOLD(LONG, 60000L),
         RESULT_MANAGER_MEMORY(INTEGER_BYTE_UNIT, -1),
+        RESULT_MANAGER_PARTITION_MEMORY(INTEGER_BYTE_UNIT, -1),
         @SuppressWarnings("RedundantCast") // not redundant- false positive from IDEA
         APP_CLASS(STRING, (String) null),
         NCSERVICE_PID(INTEGER, -1),
@@ -100,6 +102,7 @@ public class NCConfig extends ControllerConfig {
         PYTHON_ARGS(STRING_ARRAY, (String[]) null),
         PYTHON_ENV(STRING_ARRAY, (String[]) null),
         PYTHON_DS_PATH(STRING, (String) null),
+        PYTHON_WORKERS_PER_PARTITION(POSITIVE_INTEGER, 1),
         CREDENTIAL_FILE(
                 OptionTypes.STRING,
                 (Function<IApplicationConfig, String>) appConfig -> FileUtil
@@ -209,6 +212,10 @@ public class NCConfig extends ControllerConfig {
                     return "Number of threads to use for Network I/O";
                 case NET_BUFFER_COUNT:
                     return "Number of network buffers per input/output channel";
+                case NET_INPUT_BUFFER_COUNT:
+                    return "Maximum number of receive buffers, and thus frame credits granted to the sender, per "
+                            + "network or local input channel of a task; buffers are only allocated when the sender "
+                            + "uses them";
                 case RESULT_TTL:
                     return "Limits the amount of time results for asynchronous jobs should be retained by the system "
                             + "in milliseconds";
@@ -217,6 +224,9 @@ public class NCConfig extends ControllerConfig {
                             + "milliseconds";
                 case RESULT_MANAGER_MEMORY:
                     return "Memory usable for result caching at this Node Controller in bytes";
+                case RESULT_MANAGER_PARTITION_MEMORY:
+                    return "Maximum result caching memory a single result partition can hold in bytes before it "
+                            + "spills its own pages to disk instead of evicting other results (-1 means no limit)";
                 case APP_CLASS:
                     return "Application NC Main Class";
                 case NCSERVICE_PID:
@@ -251,6 +261,8 @@ public class NCConfig extends ControllerConfig {
                     return "List of environment variables to set when invoking the Python interpreter for Python UDFs. E.g. FOO=1";
                 case PYTHON_DS_PATH:
                     return "Path to systemd socket for fenced Python UDFs. Requires JDK17+, *nix operating system, and ";
+                case PYTHON_WORKERS_PER_PARTITION:
+                    return "Number of Python processes per partition used to evaluate batched Python UDF calls";
                 case CREDENTIAL_FILE:
                     return "Path to HTTP basic credentials";
                 default:
@@ -548,6 +560,14 @@ public class NCConfig extends ControllerConfig {
         configManager.set(nodeId, Option.NET_BUFFER_COUNT, netBufferCount);
     }
 
+    public int getNetInputBufferCount() {
+        return appConfig.getInt(Option.NET_INPUT_BUFFER_COUNT);
+    }
+
+    public void setNetInputBufferCount(int netInputBufferCount) {
+        configManager.set(nodeId, Option.NET_INPUT_BUFFER_COUNT, netInputBufferCount);
+    }
+
     public long getResultTTL() {
         return appConfig.getLong(Option.RESULT_TTL);
     }
@@ -572,6 +592,14 @@ public class NCConfig extends ControllerConfig {
         configManager.set(nodeId, Option.RESULT_MANAGER_MEMORY, resultManagerMemory);
     }
 
+    public int getResultManagerPartitionMemory() {
+        return appConfig.getInt(Option.RESULT_MANAGER_PARTITION_MEMORY);
+    }
+
+    public void setResultManagerPartitionMemory(int resultManagerPartitionMemory) {
+        configManager.set(nodeId, Option.RESULT_MANAGER_PARTITION_MEMORY, resultManagerPartitionMemory);
+    }
+
     public String getAppClass() {
         return appConfig.getString(Option.APP_CLASS);
     }
@@ -19,15 +19,17 @@
 
 package org.apache.hyracks.control.common.ipc;
 
+import static org.apache.hyracks.api.util.JavaSerializationUtils.getSerializationProvider;
+
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
 import java.io.OutputStream;
 import java.io.Serializable;
+import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.net.URL;
 import java.nio.ByteBuffer;
@@ -423,21 +425,21 @@ public class CCNCFunctions {
 
         public static Object deserialize(ByteBuffer buffer, int length) throws Exception {
             ByteArrayInputStream bais = new ByteArrayInputStream(buffer.array(), buffer.position(), length);
-            ObjectInputStream dis = new ObjectInputStream(bais);
+            DataInputStream dis = new DataInputStream(bais);
 
             HeartbeatData hbData = new HeartbeatData();
             hbData.readFields(dis);
             String nodeId = dis.readUTF();
-            InetSocketAddress ncAddress = (InetSocketAddress) dis.readObject();
+            InetSocketAddress ncAddress = readInetSocketAddress(dis);
             return new NodeHeartbeatFunction(nodeId, hbData, ncAddress);
         }
 
         public static void serialize(OutputStream out, Object object) throws Exception {
             NodeHeartbeatFunction fn = (NodeHeartbeatFunction) object;
-            ObjectOutputStream dos = new ObjectOutputStream(out);
+            DataOutputStream dos = new DataOutputStream(out);
             fn.hbData.write(dos);
             dos.writeUTF(fn.nodeId);
-            dos.writeObject(fn.ncAddress);
+            writeInetSocketAddress(dos, fn.ncAddress);
         }
     }
 
@@ -684,6 +686,25 @@ public class CCNCFunctions {
         public int getPartition() {
             return partition;
         }
+
+        public static Object deserialize(ByteBuffer buffer, int length) throws Exception {
+            ByteArrayInputStream bais = new ByteArrayInputStream(buffer.array(), buffer.position(), length);
+            DataInputStream dis = new DataInputStream(bais);
+
+            JobId jobId = JobId.create(dis);
+            ResultSetId rsId = new ResultSetId(dis.readLong());
+            int partition = dis.readInt();
+
+            return new ReportResultPartitionWriteCompletionFunction(jobId, rsId, partition);
+        }
+
+        public static void serialize(OutputStream out, Object object) throws Exception {
+            ReportResultPartitionWriteCompletionFunction fn = (ReportResultPartitionWriteCompletionFunction) object;
+            DataOutputStream dos = new DataOutputStream(out);
+            fn.jobId.writeFields(dos);
+            dos.writeLong(fn.rsId.getId());
+            dos.writeInt(fn.partition);
+        }
     }
 
     public static class NodeRegistrationResult extends Function {
@@ -1382,6 +1403,31 @@ public class CCNCFunctions {
         public HyracksDataException getException() {
             return exception;
         }
+
+        public static Object deserialize(ByteBuffer buffer, int length) throws Exception {
+            ByteArrayInputStream bais = new ByteArrayInputStream(buffer.array(), buffer.position(), length);
+            DataInputStream dis = new DataInputStream(bais);
+
+            CcId ccId = CcId.valueOf(dis.readShort() & 0xffff);
+            HyracksDataException exception = null;
+            if (dis.readBoolean()) {
+                // exceptions are rare here, so they are still java serialized
+                try (ObjectInputStream ois = getSerializationProvider().newObjectInputStream(dis)) {
+                    exception = (HyracksDataException) ois.readObject();
+                }
+            }
+            return new NodeHeartbeatAckFunction(ccId, exception);
+        }
+
+        public static void serialize(OutputStream out, Object object) throws Exception {
+            NodeHeartbeatAckFunction fn = (NodeHeartbeatAckFunction) object;
+            DataOutputStream dos = new DataOutputStream(out);
+            dos.writeShort(fn.getCcId().shortValue());
+            dos.writeBoolean(fn.exception != null);
+            if (fn.exception != null) {
+                JavaSerializationBasedPayloadSerializerDeserializer.serialize(dos, fn.exception);
+            }
+        }
     }
 
     public static class ShutdownRequestFunction extends CCIdentifiedFunction {
@@ -1530,6 +1576,14 @@ public class CCNCFunctions {
                 case CLEANUP_JOBLET:
                     CleanupJobletFunction.serialize(out, object);
                     return;
+
+                case REPORT_RESULT_PARTITION_WRITE_COMPLETION:
+                    ReportResultPartitionWriteCompletionFunction.serialize(out, object);
+                    return;
+
+                case NODE_HEARTBEAT_ACK:
+                    NodeHeartbeatAckFunction.serialize(out, object);
+                    return;
             }
             JavaSerializationBasedPayloadSerializerDeserializer.serialize(out, object);
         }
@@ -1559,12 +1613,43 @@ public class CCNCFunctions {
 
                 case CLEANUP_JOBLET:
                     return CleanupJobletFunction.deserialize(buffer, length);
+
+                case REPORT_RESULT_PARTITION_WRITE_COMPLETION:
+                    return ReportResultPartitionWriteCompletionFunction.deserialize(buffer, length);
+
+                case NODE_HEARTBEAT_ACK:
+                    return NodeHeartbeatAckFunction.deserialize(buffer, length);
             }
 
             return javaSerde.deserializeObject(buffer, length, flag);
         }
     }
 
+    private static InetSocketAddress readInetSocketAddress(DataInputStream dis) throws IOException {
+        if (!dis.readBoolean()) {
+            return null;
+        }
+        String host = dis.readUTF();
+        byte[] address = new byte[dis.readByte()];
+        dis.readFully(address);
+        int port = dis.readInt();
+        // the address is restored from its bytes so that no name lookup happens on the receiving side
+        return address.length == 0 ? InetSocketAddress.createUnresolved(host, port)
+                : new InetSocketAddress(InetAddress.getByAddress(host, address), port);
+    }
+
+    private static void writeInetSocketAddress(DataOutputStream dos, InetSocketAddress address) throws IOException {
+        dos.writeBoolean(address != null);
+        if (address == null) {
+            return;
+        }
+        dos.writeUTF(address.getHostString());
+        byte[] addressBytes = address.isUnresolved() ? new byte[0] : address.getAddress().getAddress();
+        dos.writeByte(addressBytes.length);
+        dos.write(addressBytes);
+        dos.writeInt(address.getPort());
+    }
+
     private static PartitionId readPartitionId(DataInputStream dis) throws IOException {
         long jobId = dis.readLong();
         int cdid = dis.readInt();
@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.hyracks.control.common.ipc;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+
+import org.apache.hyracks.api.control.CcId;
+import org.apache.hyracks.api.exceptions.HyracksDataException;
+import org.apache.hyracks.api.job.JobId;
+import org.apache.hyracks.api.result.ResultSetId;
+import org.apache.hyracks.control.common.heartbeat.HeartbeatData;
+import org.apache.hyracks.ipc.impl.Message;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CCNCFunctionsTest {
+
+    private final CCNCFunctions.SerializerDeserializer serde = new CCNCFunctions.SerializerDeserializer();
+
+    @Test
+    public void testNodeHeartbeat() throws Exception {
+        HeartbeatData hbData = new HeartbeatData();
+        hbData.heapUsedSize = 42;
+        hbData.numCores = 8;
+        InetAddress address = InetAddress.getByAddress("nc1", new byte[] { 10, 0, 0, 1 });
+        InetSocketAddress ncAddress = new InetSocketAddress(address, 1099);
+        CCNCFunctions.NodeHeartbeatFunction fn =
+                roundTrip(new CCNCFunctions.NodeHeartbeatFunction("nc1", hbData, ncAddress));
+        Assert.assertEquals("nc1", fn.getNodeId());
+        Assert.assertEquals(42, fn.getHeartbeatData().heapUsedSize);
+        Assert.assertEquals(8, fn.getHeartbeatData().numCores);
+        Assert.assertEquals(ncAddress, fn.getNcAddress());
+        Assert.assertEquals("nc1", fn.getNcAddress().getHostString());
+
+        InetSocketAddress unresolved = InetSocketAddress.createUnresolved("nc2", 1098);
+        fn = roundTrip(new CCNCFunctions.NodeHeartbeatFunction("nc2", hbData, unresolved));
+        Assert.assertEquals(unresolved, fn.getNcAddress());
+
+        fn = roundTrip(new CCNCFunctions.NodeHeartbeatFunction("nc3", hbData, null));
+        Assert.assertNull(fn.getNcAddress());
+    }
+
+    @Test
+    public void testNodeHeartbeatAck() throws Exception {
+        CCNCFunctions.NodeHeartbeatAckFunction fn =
+                roundTrip(new CCNCFunctions.NodeHeartbeatAckFunction(CcId.valueOf(0xfffe), null));
+        Assert.assertEquals(CcId.valueOf(0xfffe), fn.getCcId());
+        Assert.assertNull(fn.getException());
+
+        fn = roundTrip(new CCNCFunctions.NodeHeartbeatAckFunction(CcId.valueOf(1), new HyracksDataException("ack")));
+        Assert.assertEquals(CcId.valueOf(1), fn.getCcId());
+        Assert.assertEquals("ack", fn.getException().getMessage());
+    }
+
+    @Test
+    public void testReportResultPartitionWriteCompletion() throws Exception {
+        CCNCFunctions.ReportResultPartitionWriteCompletionFunction fn = roundTrip(
+                new CCNCFunctions.ReportResultPartitionWriteCompletionFunction(new JobId(7), new ResultSetId(3), 2));
+        Assert.assertEquals(new JobId(7), fn.getJobId());
+        Assert.assertEquals(new ResultSetId(3), fn.getResultSetId());
+        Assert.assertEquals(2, fn.getPartition());
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T roundTrip(T fn) throws Exception {
+        byte[] bytes = serde.serializeObject(fn);
+        return (T) serde.deserializeObject(ByteBuffer.wrap(bytes), bytes.length, Message.NORMAL);
+    }
+}
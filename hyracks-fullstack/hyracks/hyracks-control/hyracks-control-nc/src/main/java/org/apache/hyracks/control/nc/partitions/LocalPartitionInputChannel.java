@@ -0,0 +1,189 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.hyracks.control.nc.partitions;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Queue;
+
+import org.apache.hyracks.api.channels.IInputChannel;
+import org.apache.hyracks.api.channels.IInputChannelMonitor;
+import org.apache.hyracks.api.comm.IFrameWriter;
+import org.apache.hyracks.api.context.IHyracksCommonContext;
+import org.apache.hyracks.api.exceptions.HyracksDataException;
+import org.apache.hyracks.api.partitions.PartitionId;
+import org.apache.hyracks.net.protocols.muxdemux.AbstractChannelWriteInterface;
+
+/**
+ * An input channel for a partition that is produced on the same node. The producer writes its frames directly into
+ * the buffers of this channel instead of sending them through the network manager.
+ */
+public class LocalPartitionInputChannel implements IInputChannel {
+    private final int nBuffers;
+
+    private final Queue<ByteBuffer> emptyQueue;
+
+    private final Queue<ByteBuffer> fullQueue;
+
+    private final PartitionId pid;
+
+    private final PartitionManager manager;
+
+    private final FrameWriter writer;
+
+    private IHyracksCommonContext ctx;
+
+    // the number of buffers allocated so far, buffers are allocated when the producer needs them (guarded by this)
+    private int nAllocatedBuffers;
+
+    private IInputChannelMonitor monitor;
+
+    private Object attachment;
+
+    private boolean aborted;
+
+    public LocalPartitionInputChannel(int nBuffers, PartitionId pid, PartitionManager manager) {
+        this.nBuffers = nBuffers;
+        this.emptyQueue = new ArrayDeque<>(nBuffers);
+        fullQueue = new ArrayDeque<>(nBuffers);
+        this.pid = pid;
+        this.manager = manager;
+        writer = new FrameWriter();
+    }
+
+    @Override
+    public void registerMonitor(IInputChannelMonitor monitor) {
+        this.monitor = monitor;
+    }
+
+    @Override
+    public void setAttachment(Object attachment) {
+        this.attachment = attachment;
+    }
+
+    @Override
+    public Object getAttachment() {
+        return attachment;
+    }
+
+    @Override
+    public synchronized ByteBuffer getNextBuffer() {
+        return fullQueue.poll();
+    }
+
+    @Override
+    public void recycleBuffer(ByteBuffer buffer) {
+        buffer.clear();
+        synchronized (this) {
+            emptyQueue.add(buffer);
+            notifyAll();
+        }
+    }
+
+    @Override
+    public void open(IHyracksCommonContext ctx) throws HyracksDataException {
+        synchronized (this) {
+            this.ctx = ctx;
+        }
+        manager.registerLocalPartitionRequest(pid, this);
+    }
+
+    @Override
+    public void close() throws HyracksDataException {
+
+    }
+
+    @Override
+    public void fail() {
+        // do nothing (covered by job lifecycle)
+    }
+
+    public PartitionId getPartitionId() {
+        return pid;
+    }
+
+    IFrameWriter getWriter() {
+        return writer;
+    }
+
+    void abort(int ecode) {
+        synchronized (this) {
+            aborted = true;
+            notifyAll();
+        }
+        monitor.notifyFailure(this, ecode);
+    }
+
+    private class FrameWriter implements IFrameWriter {
+        @Override
+        public void open() throws HyracksDataException {
+            // no op
+        }
+
+        @Override
+        public void nextFrame(ByteBuffer buffer) throws HyracksDataException {
+            // frames larger than the channel buffers are split the same way the network output channel splits them
+            while (buffer.hasRemaining()) {
+                ByteBuffer destFrame;
+                synchronized (LocalPartitionInputChannel.this) {
+                    if (emptyQueue.isEmpty() && nAllocatedBuffers < nBuffers && !aborted) {
+                        emptyQueue.add(ctx.allocateFrame());
+                        nAllocatedBuffers++;
+                    }
+                    while (emptyQueue.isEmpty() && !aborted) {
+                        try {
+                            LocalPartitionInputChannel.this.wait();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            throw HyracksDataException.create(e);
+                        }
+                    }
+                    if (aborted) {
+                        throw new HyracksDataException("Local partition channel has been aborted");
+                    }
+                    destFrame = emptyQueue.poll();
+                }
+                destFrame.clear();
+                int length = Math.min(destFrame.capacity(), buffer.remaining());
+                destFrame.put(buffer.array(), buffer.position(), length);
+                buffer.position(buffer.position() + length);
+                destFrame.flip();
+                synchronized (LocalPartitionInputChannel.this) {
+                    fullQueue.add(destFrame);
+                }
+                monitor.notifyDataAvailability(LocalPartitionInputChannel.this, 1);
+            }
+        }
+
+        @Override
+        public void fail() throws HyracksDataException {
+            monitor.notifyFailure(LocalPartitionInputChannel.this, AbstractChannelWriteInterface.REMOTE_ERROR_CODE);
+        }
+
+        @Override
+        public void close() throws HyracksDataException {
+            monitor.notifyEndOfStream(LocalPartitionInputChannel.this);
+        }
+
+        @Override
+        public void flush() throws HyracksDataException {
+            // frames are handed to the consumer as soon as they are written
+        }
+    }
+}
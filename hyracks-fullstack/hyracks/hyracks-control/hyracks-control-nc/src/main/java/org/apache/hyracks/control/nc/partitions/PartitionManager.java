@@ -58,6 +58,8 @@ public class PartitionManager {
 
     private final Map<PartitionId, NetworkOutputChannel> partitionRequests = new HashMap<>();
 
+    private final Map<PartitionId, LocalPartitionInputChannel> localPartitionRequests = new HashMap<>();
+
     private final Cache<JobId, JobId> failedJobsCache;
 
     public PartitionManager(NodeControllerService ncs) {
@@ -82,6 +84,13 @@ public class PartitionManager {
                     return;
                 }
             }
+            LocalPartitionInputChannel localChannel = localPartitionRequests.remove(pid);
+            if (localChannel != null) {
+                partition.writeTo(localChannel.getWriter());
+                if (!partition.isReusable()) {
+                    return;
+                }
+            }
 
             /*
              * put a coming available partition into the available partition map
@@ -122,6 +131,24 @@ public class PartitionManager {
         }
     }
 
+    public synchronized void registerLocalPartitionRequest(PartitionId partitionId,
+            LocalPartitionInputChannel channel) {
+        if (failedJobsCache.getIfPresent(partitionId.getJobId()) != null) {
+            channel.abort(AbstractChannelWriteInterface.REMOTE_ERROR_CODE);
+            return;
+        }
+        List<IPartition> pList = availablePartitionMap.get(partitionId);
+        if (pList != null && !pList.isEmpty()) {
+            IPartition partition = pList.get(0);
+            partition.writeTo(channel.getWriter());
+            if (!partition.isReusable()) {
+                availablePartitionMap.remove(partitionId);
+            }
+        } else {
+            localPartitionRequests.put(partitionId, channel);
+        }
+    }
+
     public IWorkspaceFileFactory getFileFactory() {
         return fileFactory;
     }
@@ -136,11 +163,14 @@ public class PartitionManager {
         }
         final List<IPartition> jobPartitions = unregisterPartitions(jobId);
         final List<NetworkOutputChannel> pendingRequests = removePendingRequests(jobId, status);
-        if (!jobPartitions.isEmpty() || !pendingRequests.isEmpty()) {
+        final List<LocalPartitionInputChannel> pendingLocalRequests = removePendingLocalRequests(jobId, status);
+        if (!jobPartitions.isEmpty() || !pendingRequests.isEmpty() || !pendingLocalRequests.isEmpty()) {
             ncs.getExecutor().execute(() -> {
                 jobPartitions.forEach(IDeallocatable::deallocate);
                 pendingRequests.forEach(networkOutputChannel -> networkOutputChannel
                         .abort(AbstractChannelWriteInterface.REMOTE_ERROR_CODE));
+                pendingLocalRequests
+                        .forEach(localChannel -> localChannel.abort(AbstractChannelWriteInterface.REMOTE_ERROR_CODE));
             });
         }
     }
@@ -191,4 +221,21 @@ public class PartitionManager {
         }
         return pendingRequests;
     }
+
+    private List<LocalPartitionInputChannel> removePendingLocalRequests(JobId jobId, JobStatus status) {
+        if (status != JobStatus.FAILURE) {
+            return Collections.emptyList();
+        }
+        final List<LocalPartitionInputChannel> pendingRequests = new ArrayList<>();
+        final Iterator<Map.Entry<PartitionId, LocalPartitionInputChannel>> requestsIterator =
+                localPartitionRequests.entrySet().iterator();
+        while (requestsIterator.hasNext()) {
+            final Map.Entry<PartitionId, LocalPartitionInputChannel> entry = requestsIterator.next();
+            if (entry.getKey().getJobId().equals(jobId)) {
+                pendingRequests.add(entry.getValue());
+                requestsIterator.remove();
+            }
+        }
+        return pendingRequests;
+    }
 }
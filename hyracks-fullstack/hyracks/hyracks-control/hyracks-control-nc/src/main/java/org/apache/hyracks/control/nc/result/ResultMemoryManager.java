@@ -37,10 +37,24 @@ public class ResultMemoryManager {
 
     private final Map<ResultSetPartitionId, PartitionNode> resultPartitionNodesMap;
 
+    private final int maxPartitionPages;
+
     private final static int FRAME_SIZE = 32768;
 
     public ResultMemoryManager(int availableMemory) {
+        this(availableMemory, -1);
+    }
+
+    /**
+     * @param availableMemory
+     *            the memory shared by all result partitions
+     * @param partitionMemory
+     *            the memory a single result partition may hold before it spills its own pages instead of evicting
+     *            the pages of other partitions, or a non-positive value for no limit
+     */
+    public ResultMemoryManager(int availableMemory, int partitionMemory) {
         this.availableMemory = availableMemory;
+        maxPartitionPages = partitionMemory > 0 ? Math.max(1, partitionMemory / FRAME_SIZE) : Integer.MAX_VALUE;
 
         availPages = new HashSet<Page>();
 
@@ -56,7 +70,11 @@ public class ResultMemoryManager {
     public synchronized Page requestPage(ResultSetPartitionId resultSetPartitionId, ResultState resultState)
             throws HyracksDataException {
         Page page;
-        if (availPages.isEmpty()) {
+        PartitionNode partitionNode = resultPartitionNodesMap.get(resultSetPartitionId);
+        if (partitionNode != null && partitionNode.size() >= maxPartitionPages) {
+            // the partition has used up its share of the memory, so it spills its oldest page and reuses it
+            page = spillPage(partitionNode);
+        } else if (availPages.isEmpty()) {
             if (availableMemory >= FRAME_SIZE) {
                 /* TODO(madhusudancs): Should we have some way of accounting this memory usage by using Hyrack's
                  * allocateFrame() instead of direct ByteBuffer.allocate()?
@@ -150,6 +168,24 @@ public class ResultMemoryManager {
         return page;
     }
 
+    protected Page spillPage(PartitionNode pn) throws HyracksDataException {
+        Page page = pn.getResultState().returnPage();
+        if (page == null) {
+            availPages.addAll(pn);
+            pn.clear();
+            page = getAvailablePage();
+        } else {
+            pn.remove(page);
+        }
+
+        // If the partition no more holds any pages, remove it from the linked list and the hash map.
+        if (pn.isEmpty()) {
+            resultPartitionNodesMap.remove(pn.getResultSetPartitionId());
+            leastRecentlyUsedList.remove(pn);
+        }
+        return page;
+    }
+
     protected Page getAvailablePage() {
         Iterator<Page> iter = availPages.iterator();
         Page page = iter.next();
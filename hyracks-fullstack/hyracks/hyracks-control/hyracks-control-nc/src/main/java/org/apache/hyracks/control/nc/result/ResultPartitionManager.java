@@ -54,15 +54,15 @@ public class ResultPartitionManager extends AbstractResultManager implements IRe
 
     private final ResultMemoryManager resultMemoryManager;
 
-    public ResultPartitionManager(NodeControllerService ncs, Executor executor, int availableMemory, long resultTTL,
-            long resultSweepThreshold) {
+    public ResultPartitionManager(NodeControllerService ncs, Executor executor, int availableMemory,
+            int partitionMemory, long resultTTL, long resultSweepThreshold) {
         super(resultTTL);
         this.ncs = ncs;
         this.executor = executor;
         deallocatableRegistry = new DefaultDeallocatableRegistry();
         fileFactory = new WorkspaceFileFactory(deallocatableRegistry, ncs.getIoManager());
         if (availableMemory >= ResultMemoryManager.getPageSize()) {
-            resultMemoryManager = new ResultMemoryManager(availableMemory);
+            resultMemoryManager = new ResultMemoryManager(availableMemory, partitionMemory);
         } else {
             resultMemoryManager = null;
         }
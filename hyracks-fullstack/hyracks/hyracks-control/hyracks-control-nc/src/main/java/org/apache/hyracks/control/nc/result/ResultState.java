@@ -243,7 +243,8 @@ public class ResultState implements IStateObject {
     }
 
     public synchronized Page returnPage() throws HyracksDataException {
-        Page page = removePage();
+        // The oldest page is spilled so that the file and the remaining local pages stay in offset order
+        Page page = removeFirstPage();
 
         // If we do not have any pages to be given back close the write channel since we don't write any more, return
         // null.
@@ -316,10 +317,10 @@ public class ResultState implements IStateObject {
         return page;
     }
 
-    private Page removePage() {
+    private Page removeFirstPage() {
         Page page = null;
         if (!localPageList.isEmpty()) {
-            page = localPageList.remove(localPageList.size() - 1);
+            page = localPageList.remove(0);
         }
         return page;
     }
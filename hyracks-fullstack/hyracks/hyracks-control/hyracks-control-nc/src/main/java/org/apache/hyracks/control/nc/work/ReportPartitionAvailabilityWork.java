@@ -56,7 +56,7 @@ public class ReportPartitionAvailabilityWork extends AbstractWork {
                                         new InetSocketAddress(
                                                 InetAddress.getByAddress(networkAddress.lookupIpAddress()),
                                                 networkAddress.getPort()),
-                                        pid, 5));
+                                        pid, ncs.getConfiguration().getNetInputBufferCount()));
                 ji.reportPartitionAvailability(channel);
             }
         } catch (Exception e) {
@@ -65,6 +65,7 @@ import org.apache.hyracks.control.nc.Joblet;
 import org.apache.hyracks.control.nc.NodeControllerService;
 import org.apache.hyracks.control.nc.Task;
 import org.apache.hyracks.control.nc.application.NCServiceContext;
+import org.apache.hyracks.control.nc.partitions.LocalPartitionInputChannel;
 import org.apache.hyracks.control.nc.partitions.MaterializedPartitionWriter;
 import org.apache.hyracks.control.nc.partitions.MaterializingPipelinedPartition;
 import org.apache.hyracks.control.nc.partitions.PipelinedPartition;
@@ -292,6 +293,8 @@ public class StartTasksWork extends AbstractWork {
     private List<List<PartitionChannel>> createInputChannels(TaskAttemptDescriptor td,
             List<IConnectorDescriptor> inputs) throws UnknownHostException {
         NetworkAddress[][] inputAddresses = td.getInputPartitionLocations();
+        NetworkAddress localAddress = ncs.getNetworkManager().getPublicNetworkAddress();
+        int nBuffers = ncs.getConfiguration().getNetInputBufferCount();
         List<List<PartitionChannel>> channelsForInputConnectors = new ArrayList<>();
         if (inputAddresses != null) {
             for (int i = 0; i < inputAddresses.length; i++) {
@@ -301,12 +304,19 @@ public class StartTasksWork extends AbstractWork {
                         NetworkAddress networkAddress = inputAddresses[i][j];
                         PartitionId pid = new PartitionId(jobId, inputs.get(i).getConnectorId(), j,
                                 td.getTaskAttemptId().getTaskId().getPartition());
-                        PartitionChannel channel = new PartitionChannel(pid,
-                                new NetworkInputChannel(ncs.getNetworkManager(),
-                                        new InetSocketAddress(
-                                                InetAddress.getByAddress(networkAddress.lookupIpAddress()),
-                                                networkAddress.getPort()),
-                                        pid, 5));
+                        PartitionChannel channel;
+                        if (isLocal(networkAddress, localAddress)) {
+                            // same node producer, skip the network manager
+                            channel = new PartitionChannel(pid,
+                                    new LocalPartitionInputChannel(nBuffers, pid, ncs.getPartitionManager()));
+                        } else {
+                            channel = new PartitionChannel(pid,
+                                    new NetworkInputChannel(ncs.getNetworkManager(),
+                                            new InetSocketAddress(
+                                                    InetAddress.getByAddress(networkAddress.lookupIpAddress()),
+                                                    networkAddress.getPort()),
+                                            pid, nBuffers));
+                        }
                         channels.add(channel);
                     }
                 }
@@ -315,4 +325,8 @@ public class StartTasksWork extends AbstractWork {
         }
         return channelsForInputConnectors;
     }
+
+    private static boolean isLocal(NetworkAddress address, NetworkAddress localAddress) {
+        return address.getPort() == localAddress.getPort() && address.getAddress().equals(localAddress.getAddress());
+    }
 }
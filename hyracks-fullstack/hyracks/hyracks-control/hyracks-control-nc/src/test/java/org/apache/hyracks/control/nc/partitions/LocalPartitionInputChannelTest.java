@@ -0,0 +1,211 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.hyracks.control.nc.partitions;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.hyracks.api.channels.IInputChannel;
+import org.apache.hyracks.api.channels.IInputChannelMonitor;
+import org.apache.hyracks.api.comm.IFrameWriter;
+import org.apache.hyracks.api.context.IHyracksCommonContext;
+import org.apache.hyracks.api.dataflow.ConnectorDescriptorId;
+import org.apache.hyracks.api.exceptions.HyracksDataException;
+import org.apache.hyracks.api.io.IIOManager;
+import org.apache.hyracks.api.job.JobId;
+import org.apache.hyracks.api.partitions.PartitionId;
+import org.apache.hyracks.control.nc.NodeControllerService;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+public class LocalPartitionInputChannelTest {
+
+    private static final int FRAME_SIZE = 32;
+    private static final int NUM_BUFFERS = 2;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final CountingContext ctx = new CountingContext();
+    private final CountingMonitor monitor = new CountingMonitor();
+    private LocalPartitionInputChannel channel;
+
+    @Before
+    public void setUp() throws Exception {
+        PartitionManager manager = new PartitionManager(Mockito.mock(NodeControllerService.class));
+        PartitionId pid = new PartitionId(new JobId(1), new ConnectorDescriptorId(1), 0, 0);
+        channel = new LocalPartitionInputChannel(NUM_BUFFERS, pid, manager);
+        channel.registerMonitor(monitor);
+        channel.open(ctx);
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testBuffersAreAllocatedOnDemand() throws Exception {
+        // no buffer is allocated before the producer writes
+        Assert.assertEquals(0, ctx.allocatedFrames.get());
+
+        IFrameWriter writer = channel.getWriter();
+        writer.nextFrame(createFrame(1));
+        Assert.assertEquals(1, ctx.allocatedFrames.get());
+
+        // a recycled buffer is reused instead of allocating another one
+        ByteBuffer buffer = channel.getNextBuffer();
+        assertFrame(1, buffer);
+        channel.recycleBuffer(buffer);
+        writer.nextFrame(createFrame(2));
+        Assert.assertEquals(1, ctx.allocatedFrames.get());
+
+        // a second buffer is allocated while the first one is held by the consumer
+        writer.nextFrame(createFrame(3));
+        Assert.assertEquals(NUM_BUFFERS, ctx.allocatedFrames.get());
+        Assert.assertEquals(3, monitor.availableFrames.get());
+    }
+
+    @Test
+    public void testProducerWaitsForRecycledBuffers() throws Exception {
+        IFrameWriter writer = channel.getWriter();
+        for (int i = 0; i < NUM_BUFFERS; i++) {
+            writer.nextFrame(createFrame(i));
+        }
+        Assert.assertEquals(NUM_BUFFERS, ctx.allocatedFrames.get());
+
+        // all credits are used up, so the producer waits for the consumer
+        Future<?> blockedWrite = executor.submit(() -> {
+            writer.nextFrame(createFrame(NUM_BUFFERS));
+            return null;
+        });
+        try {
+            blockedWrite.get(100, TimeUnit.MILLISECONDS);
+            Assert.fail("the producer should wait for a recycled buffer");
+        } catch (TimeoutException e) {
+            // expected
+        }
+
+        ByteBuffer buffer = channel.getNextBuffer();
+        assertFrame(0, buffer);
+        channel.recycleBuffer(buffer);
+        blockedWrite.get(10, TimeUnit.SECONDS);
+
+        // the frames are delivered in order and no buffer beyond the credits was allocated
+        assertFrame(1, channel.getNextBuffer());
+        assertFrame(NUM_BUFFERS, channel.getNextBuffer());
+        Assert.assertNull(channel.getNextBuffer());
+        Assert.assertEquals(NUM_BUFFERS, ctx.allocatedFrames.get());
+    }
+
+    @Test
+    public void testAbortReleasesWaitingProducer() throws Exception {
+        IFrameWriter writer = channel.getWriter();
+        for (int i = 0; i < NUM_BUFFERS; i++) {
+            writer.nextFrame(createFrame(i));
+        }
+        Future<?> blockedWrite = executor.submit(() -> {
+            writer.nextFrame(createFrame(NUM_BUFFERS));
+            return null;
+        });
+        channel.abort(1);
+        try {
+            blockedWrite.get(10, TimeUnit.SECONDS);
+            Assert.fail("the producer should fail after the channel is aborted");
+        } catch (ExecutionException e) {
+            Assert.assertTrue(e.getCause() instanceof HyracksDataException);
+        }
+        Assert.assertEquals(1, monitor.failures.get());
+    }
+
+    private static ByteBuffer createFrame(int value) {
+        ByteBuffer frame = ByteBuffer.allocate(FRAME_SIZE);
+        frame.putInt(0, value);
+        return frame;
+    }
+
+    private static void assertFrame(int expectedValue, ByteBuffer buffer) {
+        Assert.assertNotNull(buffer);
+        Assert.assertEquals(FRAME_SIZE, buffer.remaining());
+        Assert.assertEquals(expectedValue, buffer.getInt(0));
+    }
+
+    private static class CountingMonitor implements IInputChannelMonitor {
+        private final AtomicInteger availableFrames = new AtomicInteger();
+        private final AtomicInteger failures = new AtomicInteger();
+
+        @Override
+        public void notifyFailure(IInputChannel channel, int errorCode) {
+            failures.incrementAndGet();
+        }
+
+        @Override
+        public void notifyDataAvailability(IInputChannel channel, int nFrames) {
+            availableFrames.addAndGet(nFrames);
+        }
+
+        @Override
+        public void notifyEndOfStream(IInputChannel channel) {
+            // no op
+        }
+    }
+
+    private static class CountingContext implements IHyracksCommonContext {
+        private final AtomicInteger allocatedFrames = new AtomicInteger();
+
+        @Override
+        public int getInitialFrameSize() {
+            return FRAME_SIZE;
+        }
+
+        @Override
+        public ByteBuffer allocateFrame() {
+            allocatedFrames.incrementAndGet();
+            return ByteBuffer.allocate(FRAME_SIZE);
+        }
+
+        @Override
+        public ByteBuffer allocateFrame(int bytes) {
+            allocatedFrames.incrementAndGet();
+            return ByteBuffer.allocate(bytes);
+        }
+
+        @Override
+        public ByteBuffer reallocateFrame(ByteBuffer buffer, int newSizeInBytes, boolean copyOldData) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void deallocateFrames(int bytes) {
+            // no op
+        }
+
+        @Override
+        public IIOManager getIoManager() {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.hyracks.control.nc.result;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.hyracks.api.exceptions.HyracksDataException;
+import org.apache.hyracks.api.io.FileReference;
+import org.apache.hyracks.api.io.IODeviceHandle;
+import org.apache.hyracks.api.io.IWorkspaceFileFactory;
+import org.apache.hyracks.api.job.JobId;
+import org.apache.hyracks.api.partitions.ResultSetPartitionId;
+import org.apache.hyracks.api.result.ResultSetId;
+import org.apache.hyracks.control.nc.io.DefaultDeviceResolver;
+import org.apache.hyracks.control.nc.io.IOManager;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ResultMemoryManagerTest {
+
+    private static final int PAGE_SIZE = ResultMemoryManager.getPageSize();
+
+    private File root;
+    private IOManager ioManager;
+    private IWorkspaceFileFactory fileFactory;
+
+    @Before
+    public void setUp() throws Exception {
+        root = new File(System.getProperty("java.io.tmpdir"), ResultMemoryManagerTest.class.getSimpleName());
+        FileUtils.deleteQuietly(root);
+        root.mkdirs();
+        ioManager = new IOManager(Collections.singletonList(new IODeviceHandle(root, ".")),
+                new DefaultDeviceResolver(), 1, 10);
+        fileFactory = new IWorkspaceFileFactory() {
+            @Override
+            public FileReference createUnmanagedWorkspaceFile(String prefix) throws HyracksDataException {
+                return ioManager.createWorkspaceFile(prefix);
+            }
+
+            @Override
+            public FileReference createManagedWorkspaceFile(String prefix) throws HyracksDataException {
+                return ioManager.createWorkspaceFile(prefix);
+            }
+        };
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        ioManager.close();
+        FileUtils.deleteQuietly(root);
+    }
+
+    @Test
+    public void testPartitionSpillsOwnOldestPage() throws Exception {
+        // enough memory for all pages, but each partition may only hold two of them
+        ResultMemoryManager memoryManager = new ResultMemoryManager(8 * PAGE_SIZE, 2 * PAGE_SIZE);
+        SpillCountingResultState small = createResultState(0);
+        SpillCountingResultState large = createResultState(1);
+
+        writePages(memoryManager, small, 100, 1);
+        writePages(memoryManager, large, 0, 4);
+
+        // the large partition exceeded its share and spilled its two oldest pages, the small one kept its page
+        Assert.assertEquals(2, large.spilledPages);
+        Assert.assertEquals(0, small.spilledPages);
+
+        assertPages(memoryManager, small, 100, 1);
+        assertPages(memoryManager, large, 0, 4);
+    }
+
+    @Test
+    public void testPartitionWithSinglePageShare() throws Exception {
+        ResultMemoryManager memoryManager = new ResultMemoryManager(8 * PAGE_SIZE, PAGE_SIZE);
+        SpillCountingResultState small = createResultState(0);
+        SpillCountingResultState large = createResultState(1);
+
+        writePages(memoryManager, large, 0, 5);
+        writePages(memoryManager, small, 100, 1);
+
+        // every page but the last one is spilled, the emptied partition is tracked again for its next page
+        Assert.assertEquals(4, large.spilledPages);
+        Assert.assertEquals(0, small.spilledPages);
+
+        assertPages(memoryManager, large, 0, 5);
+        assertPages(memoryManager, small, 100, 1);
+    }
+
+    private SpillCountingResultState createResultState(int partition) {
+        ResultSetPartitionId partitionId = new ResultSetPartitionId(new JobId(1), new ResultSetId(1), partition);
+        SpillCountingResultState resultState =
+                new SpillCountingResultState(partitionId, ioManager, fileFactory, PAGE_SIZE);
+        resultState.open();
+        return resultState;
+    }
+
+    private static void writePages(ResultMemoryManager memoryManager, ResultState resultState, int firstValue,
+            int numPages) throws HyracksDataException {
+        for (int i = 0; i < numPages; i++) {
+            ByteBuffer buffer = ByteBuffer.allocate(PAGE_SIZE);
+            Arrays.fill(buffer.array(), (byte) (firstValue + i));
+            resultState.write(memoryManager, buffer);
+        }
+    }
+
+    private static void assertPages(ResultMemoryManager memoryManager, ResultState resultState, int firstValue,
+            int numPages) throws HyracksDataException {
+        resultState.readOpen();
+        for (int i = 0; i < numPages; i++) {
+            ByteBuffer buffer = ByteBuffer.allocate(PAGE_SIZE);
+            Assert.assertEquals(PAGE_SIZE, resultState.read(memoryManager, (long) i * PAGE_SIZE, buffer));
+            byte[] expected = new byte[PAGE_SIZE];
+            Arrays.fill(expected, (byte) (firstValue + i));
+            Assert.assertArrayEquals("page " + i, expected, buffer.array());
+        }
+        resultState.readClose();
+    }
+
+    private static class SpillCountingResultState extends ResultState {
+        private int spilledPages;
+
+        SpillCountingResultState(ResultSetPartitionId resultSetPartitionId, IOManager ioManager,
+                IWorkspaceFileFactory fileFactory, int frameSize) {
+            super(resultSetPartitionId, false, ioManager, fileFactory, frameSize, 1);
+        }
+
+        @Override
+        public synchronized Page returnPage() throws HyracksDataException {
+            Page page = super.returnPage();
+            if (page != null) {
+                spilledPages++;
+            }
+            return page;
+        }
+    }
+}
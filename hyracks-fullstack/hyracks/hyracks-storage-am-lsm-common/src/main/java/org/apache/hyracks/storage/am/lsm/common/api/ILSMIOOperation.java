@@ -177,6 +177,29 @@ public interface ILSMIOOperation extends Callable<LSMIOOperationStatus>, IPageWr
      */
     boolean isActive();
 
+    /**
+     * Ask this IO operation to yield the device to higher priority IO operations (e.g., a merge yielding to
+     * running flushes), or to stop yielding. Yielding is independent of {@link #pause()} and {@link #resume()}.
+     *
+     * @param yielding
+     *            true to stop making progress until yielding is turned off (or the maximum yield time is used up),
+     *            false to continue
+     */
+    void setYielding(boolean yielding);
+
+    /**
+     * Bound the total time this IO operation spends yielding. Once it is used up, the operation no longer yields.
+     *
+     * @param maxYieldTime
+     *            the maximum total yield time in milliseconds
+     */
+    void setMaxYieldTime(long maxYieldTime);
+
+    /**
+     * @return whether this IO operation is currently yielding to higher priority IO operations
+     */
+    boolean isYielding();
+
     /**
      * @return whether this IO operation is completed
      */
@@ -38,4 +38,18 @@ public interface ILSMIOOperationScheduler {
      * @throws HyracksDataException
      */
     void completeOperation(ILSMIOOperation operation) throws HyracksDataException;
+
+    /**
+     * Notify that a running flush operation is blocked until the lagging merges of its index catch up (or is no
+     * longer blocked). Schedulers that hold merges back in favor of running flushes must not do so for a flush that
+     * is itself waiting for merges.
+     *
+     * @param operation
+     *            the blocked flush operation
+     * @param blocked
+     *            true if the flush is blocked, false if it is no longer blocked
+     */
+    default void setFlushBlockedOnMerges(ILSMIOOperation operation, boolean blocked) {
+        // no op
+    }
 }
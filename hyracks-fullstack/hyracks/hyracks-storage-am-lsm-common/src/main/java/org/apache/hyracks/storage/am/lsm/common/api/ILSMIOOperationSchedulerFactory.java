@@ -21,8 +21,24 @@ package org.apache.hyracks.storage.am.lsm.common.api;
 import java.util.concurrent.ThreadFactory;
 
 public interface ILSMIOOperationSchedulerFactory {
+    default ILSMIOOperationScheduler createIoScheduler(ThreadFactory threadFactory,
+            IIoOperationFailedCallback callback, int maxNumRunningFlushes, int maxNumScheduledMerges,
+            int maxNumRunningMerges) {
+        return createIoScheduler(threadFactory, callback, maxNumRunningFlushes, maxNumScheduledMerges,
+                maxNumRunningMerges, false, 0);
+    }
+
+    /**
+     * Create an IO scheduler
+     *
+     * @param prioritizeFlushes
+     *            whether merge operations should yield to flush operations running on the same device
+     * @param maxMergeYieldTime
+     *            the maximum total time (in milliseconds) a merge operation yields to flush operations
+     */
     ILSMIOOperationScheduler createIoScheduler(ThreadFactory threadFactory, IIoOperationFailedCallback callback,
-            int maxNumRunningFlushes, int maxNumScheduledMerges, int maxNumRunningMerges);
+            int maxNumRunningFlushes, int maxNumScheduledMerges, int maxNumRunningMerges, boolean prioritizeFlushes,
+            long maxMergeYieldTime);
 
     String getName();
 }
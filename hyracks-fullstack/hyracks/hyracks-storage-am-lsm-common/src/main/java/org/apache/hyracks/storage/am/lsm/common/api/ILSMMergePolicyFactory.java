@@ -19,6 +19,7 @@
 package org.apache.hyracks.storage.am.lsm.common.api;
 
 import java.io.Serializable;
+import java.util.Collections;
 import java.util.Map;
 import java.util.Set;
 
@@ -31,4 +32,21 @@ public interface ILSMMergePolicyFactory extends Serializable, IJsonSerializable
     String getName();
 
     Set<String> getPropertiesNames();
+
+    /**
+     * @return the names of the properties that may be specified for this policy but are not required
+     */
+    default Set<String> getOptionalPropertiesNames() {
+        return Collections.emptySet();
+    }
+
+    /**
+     * Validate the values of the properties when the policy is specified, before any merge policy is created
+     *
+     * @param properties the properties of the policy
+     * @throws IllegalArgumentException if a property has an invalid value
+     */
+    default void validateProperties(Map<String, String> properties) {
+        // no validation by default
+    }
 }
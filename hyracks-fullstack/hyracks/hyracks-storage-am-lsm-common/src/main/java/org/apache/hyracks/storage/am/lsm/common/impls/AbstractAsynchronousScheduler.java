@@ -23,11 +23,16 @@ import java.io.IOException;
 import java.util.ArrayDeque;
 import java.util.Deque;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ThreadFactory;
 
 import org.apache.hyracks.api.exceptions.HyracksDataException;
+import org.apache.hyracks.api.io.FileReference;
+import org.apache.hyracks.api.io.IODeviceHandle;
 import org.apache.hyracks.storage.am.lsm.common.api.IIoOperationFailedCallback;
 import org.apache.hyracks.storage.am.lsm.common.api.ILSMIOOperation;
 import org.apache.hyracks.storage.am.lsm.common.api.ILSMIOOperation.LSMIOOperationStatus;
@@ -37,16 +42,39 @@ public abstract class AbstractAsynchronousScheduler implements ILSMIOOperationSc
     protected final ExecutorService executor;
 
     private final int maxNumFlushes;
+    private final boolean prioritizeFlushes;
+    private final long maxMergeYieldTime;
     protected final Map<String, ILSMIOOperation> runningFlushOperations = new HashMap<>();
     protected final Deque<ILSMIOOperation> waitingFlushOperations = new ArrayDeque<>();
     protected final Deque<ILSMIOOperation> waitingMergeOperations = new ArrayDeque<>();
+    // merge operations that have been scheduled but not completed yet (only tracked if flushes are prioritized).
+    // merges are removed by a complete listener, so they are untracked on failure and abort as well
+    private final Set<ILSMIOOperation> mergeOperations = ConcurrentHashMap.newKeySet();
+    // running flush operations that wait for lagging merges. merges do not yield to them (guarded by the executor)
+    private final Set<ILSMIOOperation> blockedFlushOperations = new HashSet<>();
 
     protected final Map<String, Throwable> failedGroups = new HashMap<>();
 
     public AbstractAsynchronousScheduler(ThreadFactory threadFactory, final IIoOperationFailedCallback callback,
             int maxNumFlushes) {
+        this(threadFactory, callback, maxNumFlushes, false, 0);
+    }
+
+    /**
+     * @param prioritizeFlushes
+     *            if true, merge operations yield the disk to flush operations, i.e., a merge makes no progress while
+     *            there is at least one running flush on its device. Flushes free memory components and unblock
+     *            writers, so letting them run first reduces ingestion back-pressure caused by concurrent merges.
+     * @param maxMergeYieldTime
+     *            the maximum total time (in milliseconds) a merge operation yields to flushes, so that merges are
+     *            not starved by a steady stream of flushes
+     */
+    public AbstractAsynchronousScheduler(ThreadFactory threadFactory, final IIoOperationFailedCallback callback,
+            int maxNumFlushes, boolean prioritizeFlushes, long maxMergeYieldTime) {
         executor = new IoOperationExecutor(threadFactory, this, callback, runningFlushOperations, failedGroups);
         this.maxNumFlushes = maxNumFlushes;
+        this.prioritizeFlushes = prioritizeFlushes;
+        this.maxMergeYieldTime = maxMergeYieldTime;
     }
 
     @Override
@@ -56,6 +84,7 @@ public abstract class AbstractAsynchronousScheduler implements ILSMIOOperationSc
                 scheduleFlush(operation);
                 break;
             case MERGE:
+                trackMerge(operation);
                 scheduleMerge(operation);
                 break;
             case NOOP:
@@ -74,6 +103,7 @@ public abstract class AbstractAsynchronousScheduler implements ILSMIOOperationSc
                 completeFlush(operation);
                 break;
             case MERGE:
+                untrackMerge(operation);
                 completeMerge(operation);
             case NOOP:
                 return;
@@ -99,6 +129,7 @@ public abstract class AbstractAsynchronousScheduler implements ILSMIOOperationSc
             } else {
                 runningFlushOperations.put(id, operation);
                 executor.submit(operation);
+                updateMergesYielding();
             }
         }
     }
@@ -121,6 +152,7 @@ public abstract class AbstractAsynchronousScheduler implements ILSMIOOperationSc
         String id = operation.getIndexIdentifier();
         synchronized (executor) {
             runningFlushOperations.remove(id);
+            blockedFlushOperations.remove(operation);
 
             // Schedule flushes in FIFO order. Must make sure that there is at most one scheduled flush for each index.
             for (ILSMIOOperation flushOp : waitingFlushOperations) {
@@ -146,7 +178,71 @@ public abstract class AbstractAsynchronousScheduler implements ILSMIOOperationSc
                 }
             }
 
+            updateMergesYielding();
+        }
+    }
+
+    @Override
+    public void setFlushBlockedOnMerges(ILSMIOOperation operation, boolean blocked) {
+        if (!prioritizeFlushes) {
+            return;
+        }
+        synchronized (executor) {
+            boolean changed =
+                    blocked ? blockedFlushOperations.add(operation) : blockedFlushOperations.remove(operation);
+            if (changed) {
+                updateMergesYielding();
+            }
+        }
+    }
+
+    private void trackMerge(ILSMIOOperation operation) {
+        if (!prioritizeFlushes) {
+            return;
+        }
+        operation.setMaxYieldTime(maxMergeYieldTime);
+        synchronized (executor) {
+            mergeOperations.add(operation);
+            operation.setYielding(getFlushingDevices().contains(getDevice(operation)));
+        }
+        // registered after tracking so that the listener runs after the add, even if the merge is already completed
+        operation.addCompleteListener(mergeOperations::remove);
+    }
+
+    private void untrackMerge(ILSMIOOperation operation) {
+        if (!prioritizeFlushes) {
+            return;
+        }
+        synchronized (executor) {
+            mergeOperations.remove(operation);
+        }
+    }
+
+    // must be called while synchronized on the executor
+    private void updateMergesYielding() {
+        if (!prioritizeFlushes || mergeOperations.isEmpty()) {
+            return;
         }
+        Set<IODeviceHandle> flushingDevices = getFlushingDevices();
+        for (ILSMIOOperation mergeOp : mergeOperations) {
+            mergeOp.setYielding(flushingDevices.contains(getDevice(mergeOp)));
+        }
+    }
+
+    // must be called while synchronized on the executor
+    private Set<IODeviceHandle> getFlushingDevices() {
+        Set<IODeviceHandle> devices = new HashSet<>();
+        for (ILSMIOOperation flushOp : runningFlushOperations.values()) {
+            if (!blockedFlushOperations.contains(flushOp)) {
+                devices.add(getDevice(flushOp));
+            }
+        }
+        return devices;
+    }
+
+    private static IODeviceHandle getDevice(ILSMIOOperation operation) {
+        FileReference target = operation.getTarget();
+        return target == null ? null : target.getDeviceHandle();
     }
 
     @Override
@@ -21,6 +21,7 @@ package org.apache.hyracks.storage.am.lsm.common.impls;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.apache.hyracks.api.exceptions.HyracksDataException;
@@ -48,6 +49,9 @@ public abstract class AbstractIoOperation implements ILSMIOOperation {
     private List<IoOperationCompleteListener> completeListeners;
 
     private final AtomicBoolean isActive = new AtomicBoolean(true);
+    private final AtomicBoolean isYielding = new AtomicBoolean(false);
+    // the yield time (in nanoseconds) left to this operation, guarded by this
+    private long remainingYieldTime = Long.MAX_VALUE;
 
     public AbstractIoOperation(ILSMIndexAccessor accessor, FileReference target, ILSMIOOperationCallback callback,
             String indexIdentifier) {
@@ -202,6 +206,24 @@ public abstract class AbstractIoOperation implements ILSMIOOperation {
         return isActive.get();
     }
 
+    @Override
+    public void setYielding(boolean yielding) {
+        synchronized (this) {
+            isYielding.set(yielding);
+            notifyAll();
+        }
+    }
+
+    @Override
+    public boolean isYielding() {
+        return isYielding.get();
+    }
+
+    @Override
+    public synchronized void setMaxYieldTime(long maxYieldTime) {
+        remainingYieldTime = TimeUnit.MILLISECONDS.toNanos(maxYieldTime);
+    }
+
     @Override
     public boolean isCompleted() {
         return completed;
@@ -209,9 +231,15 @@ public abstract class AbstractIoOperation implements ILSMIOOperation {
 
     public void waitIfPaused() throws HyracksDataException {
         synchronized (this) {
-            while (!isActive.get()) {
+            while (!isActive.get() || (isYielding.get() && remainingYieldTime > 0)) {
                 try {
-                    wait();
+                    if (isActive.get()) {
+                        long start = System.nanoTime();
+                        TimeUnit.NANOSECONDS.timedWait(this, remainingYieldTime);
+                        remainingYieldTime -= System.nanoTime() - start;
+                    } else {
+                        wait();
+                    }
                 } catch (InterruptedException e) {
                     Thread.currentThread().interrupt();
                     throw HyracksDataException.create(e);
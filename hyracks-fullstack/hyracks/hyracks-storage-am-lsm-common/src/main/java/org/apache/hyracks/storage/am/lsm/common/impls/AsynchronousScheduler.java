@@ -36,8 +36,9 @@ public class AsynchronousScheduler extends AbstractAsynchronousScheduler {
         @Override
         public ILSMIOOperationScheduler createIoScheduler(ThreadFactory threadFactory,
                 IIoOperationFailedCallback callback, int maxNumRunningFlushes, int maxNumScheduledMerges,
-                int maxNumRunningMerges) {
-            return new AsynchronousScheduler(threadFactory, callback, maxNumRunningFlushes, maxNumRunningMerges);
+                int maxNumRunningMerges, boolean prioritizeFlushes, long maxMergeYieldTime) {
+            return new AsynchronousScheduler(threadFactory, callback, maxNumRunningFlushes, maxNumRunningMerges,
+                    prioritizeFlushes, maxMergeYieldTime);
         }
 
         @Override
@@ -51,7 +52,12 @@ public class AsynchronousScheduler extends AbstractAsynchronousScheduler {
 
     public AsynchronousScheduler(ThreadFactory threadFactory, IIoOperationFailedCallback callback,
             int maxNumRunningFlushes, int maxNumRunningMerges) {
-        super(threadFactory, callback, maxNumRunningFlushes);
+        this(threadFactory, callback, maxNumRunningFlushes, maxNumRunningMerges, false, 0);
+    }
+
+    public AsynchronousScheduler(ThreadFactory threadFactory, IIoOperationFailedCallback callback,
+            int maxNumRunningFlushes, int maxNumRunningMerges, boolean prioritizeFlushes, long maxMergeYieldTime) {
+        super(threadFactory, callback, maxNumRunningFlushes, prioritizeFlushes, maxMergeYieldTime);
         this.maxNumRunningMerges = maxNumRunningMerges;
     }
 
@@ -54,6 +54,14 @@ public class ConcurrentMergePolicy implements ILSMMergePolicy {
      */
     private double sizeRatio;
 
+    /**
+     * The maximum total size (in bytes) of the components of a single merge. Bounding the size of each merge keeps
+     * a merge from rewriting very large components end-to-end, so merges make progress in bounded increments and
+     * do not monopolize the I/O bandwidth of the device for long periods. Components larger than this size are no
+     * longer picked for merging.
+     */
+    private long maxMergeComponentSize = Long.MAX_VALUE;
+
     @Override
     public void diskComponentAdded(final ILSMIndex index, boolean fullMergeIsRequested) throws HyracksDataException {
 
@@ -77,12 +85,19 @@ public class ConcurrentMergePolicy implements ILSMMergePolicy {
                 Integer.parseInt(properties.get(ConcurrentMergePolicyFactory.MAX_MERGE_COMPONENT_COUNT));
         sizeRatio = Double.parseDouble(properties.get(ConcurrentMergePolicyFactory.SIZE_RATIO));
         maxComponentCount = Integer.parseInt(properties.get(ConcurrentMergePolicyFactory.MAX_COMPONENT_COUNT));
+        String maxMergeSize = properties.get(ConcurrentMergePolicyFactory.MAX_MERGE_COMPONENT_SIZE);
+        if (maxMergeSize != null) {
+            maxMergeComponentSize = ConcurrentMergePolicyFactory.parseMaxMergeComponentSize(maxMergeSize);
+        }
     }
 
     @Override
     public boolean isMergeLagging(ILSMIndex index) throws HyracksDataException {
         List<ILSMDiskComponent> diskComponents = index.getDiskComponents();
-        if (diskComponents.size() < maxComponentCount) {
+        // components that exceed the maximum merge size will never be merged again, so they are not counted
+        long numMergeableComponents =
+                diskComponents.stream().filter(d -> d.getComponentSize() <= maxMergeComponentSize).count();
+        if (numMergeableComponents < maxComponentCount) {
             // not reach the component threshold, simply return false
             return false;
         } else {
@@ -101,8 +116,13 @@ public class ConcurrentMergePolicy implements ILSMMergePolicy {
                     // no merge is scheduled => maxComponentCount is too small
                     // Ideally, this should NEVER happen. But we add a guard here to simply schedule a full merge
                     // so that the system can still proceed (otherwise, writes will be blocked forever)
-                    ILSMIndexAccessor accessor = index.createAccessor(NoOpIndexAccessParameters.INSTANCE);
-                    accessor.scheduleFullMerge();
+                    if (maxMergeComponentSize == Long.MAX_VALUE) {
+                        ILSMIndexAccessor accessor = index.createAccessor(NoOpIndexAccessParameters.INSTANCE);
+                        accessor.scheduleFullMerge();
+                    } else if (!scheduleBoundedFullMerge(index)) {
+                        // no two adjacent components fit in a merge, so stopping flushes would block writes forever
+                        return false;
+                    }
                 }
                 return true;
             }
@@ -128,6 +148,38 @@ public class ConcurrentMergePolicy implements ILSMMergePolicy {
         }
     }
 
+    /**
+     * The bounded counterpart of a full merge: schedule a merge of the longest sequence of adjacent components whose
+     * total size does not exceed maxMergeComponentSize
+     *
+     * @param index
+     * @return true if merge is scheduled, false if no two adjacent components fit in a merge.
+     * @throws HyracksDataException
+     */
+    private boolean scheduleBoundedFullMerge(final ILSMIndex index) throws HyracksDataException {
+        List<ILSMDiskComponent> diskComponents = index.getDiskComponents();
+        int bestStart = 0;
+        int bestEnd = -1;
+        int start = 0;
+        long mergeSize = 0;
+        for (int end = 0; end < diskComponents.size(); end++) {
+            mergeSize += diskComponents.get(end).getComponentSize();
+            while (mergeSize > maxMergeComponentSize) {
+                mergeSize -= diskComponents.get(start).getComponentSize();
+                start++;
+            }
+            if (end - start > bestEnd - bestStart) {
+                bestStart = start;
+                bestEnd = end;
+            }
+        }
+        if (bestEnd - bestStart < 1) {
+            return false;
+        }
+        triggerScheduleMerge(index, diskComponents, bestStart, bestEnd);
+        return true;
+    }
+
     private void triggerScheduleMerge(ILSMIndex index, List<ILSMDiskComponent> diskComponents, int startIndex,
             int endIndex) throws HyracksDataException {
         List<ILSMDiskComponent> mergableComponents = diskComponents.subList(startIndex, endIndex + 1);
@@ -141,6 +193,8 @@ public class ConcurrentMergePolicy implements ILSMMergePolicy {
      * 2. Look at the candidate components for merging in oldest-first order. If one exists, identify the
      * suffix of the component sequence so that size_ratio * younger component size >= oldest component size
      * and the number of merging components is between [minMergeComponentCount, maxMergeComponentCount]
+     * 3. The total size of the merging components must not exceed maxMergeComponentSize. A sequence that is too
+     * large is shrunk by leaving out its youngest components, down to minMergeComponentCount components
      *
      * @param diskComponents
      * @return a pair of indexes indicating the start (inclusive) and end (exclusive) position of the sequence
@@ -150,9 +204,12 @@ public class ConcurrentMergePolicy implements ILSMMergePolicy {
             throws HyracksDataException {
         int numComponents = diskComponents.size();
         // find the longest suffix of the component sequence that are not being merged
+        // and are not too large to be merged
         int count = 0;
         for (; count < numComponents; count++) {
-            if (diskComponents.get(count).getState() != ComponentState.READABLE_UNWRITABLE) {
+            ILSMDiskComponent component = diskComponents.get(count);
+            if (component.getState() != ComponentState.READABLE_UNWRITABLE
+                    || component.getComponentSize() > maxMergeComponentSize) {
                 break;
             }
         }
@@ -168,12 +225,24 @@ public class ConcurrentMergePolicy implements ILSMMergePolicy {
         for (int end = count - 1; end >= minMergeComponentCount - 1; end--) {
             long componentSize = componentSizeSum[end] - componentSizeSum[end - 1];
             int start = Math.max(end - maxMergeComponentCount + 1, 0);
-            if (componentSize <= sizeRatio
-                    * (componentSizeSum[end - 1] - (start > 0 ? componentSizeSum[start - 1] : 0))) {
+            // leave out the youngest components of the sequence until it fits in a single merge
+            while (end - start + 1 > minMergeComponentCount
+                    && getSize(componentSizeSum, start, end) > maxMergeComponentSize) {
+                start++;
+            }
+            if (getSize(componentSizeSum, start, end) > maxMergeComponentSize) {
+                // even the smallest sequence ending with this component is too large
+                continue;
+            }
+            if (componentSize <= sizeRatio * getSize(componentSizeSum, start, end - 1)) {
                 return Pair.of(start, end);
             }
         }
         return null;
     }
 
+    private static long getSize(long[] componentSizeSum, int start, int end) {
+        return componentSizeSum[end] - (start > 0 ? componentSizeSum[start - 1] : 0);
+    }
+
 }
@@ -31,6 +31,7 @@ import org.apache.hyracks.api.io.IJsonSerializable;
 import org.apache.hyracks.api.io.IPersistedResourceRegistry;
 import org.apache.hyracks.storage.am.lsm.common.api.ILSMMergePolicy;
 import org.apache.hyracks.storage.am.lsm.common.api.ILSMMergePolicyFactory;
+import org.apache.hyracks.util.StorageUtil;
 
 import com.fasterxml.jackson.databind.JsonNode;
 
@@ -42,8 +43,11 @@ public class ConcurrentMergePolicyFactory implements ILSMMergePolicyFactory {
     public static final String MAX_MERGE_COMPONENT_COUNT = "max-merge-component-count";
     public static final String MAX_COMPONENT_COUNT = "max-component-count";
     public static final String SIZE_RATIO = "size-ratio";
+    public static final String MAX_MERGE_COMPONENT_SIZE = "max-merge-component-size";
     public static final Set<String> PROPERTIES_NAMES = Collections.unmodifiableSet(new HashSet<>(
             Arrays.asList(MIN_MERGE_COMPONENT_COUNT, MAX_MERGE_COMPONENT_COUNT, MAX_COMPONENT_COUNT, SIZE_RATIO)));
+    public static final Set<String> OPTIONAL_PROPERTIES_NAMES =
+            Collections.unmodifiableSet(new HashSet<>(Collections.singletonList(MAX_MERGE_COMPONENT_SIZE)));
 
     @Override
     public String getName() {
@@ -55,6 +59,32 @@ public class ConcurrentMergePolicyFactory implements ILSMMergePolicyFactory {
         return PROPERTIES_NAMES;
     }
 
+    @Override
+    public Set<String> getOptionalPropertiesNames() {
+        return OPTIONAL_PROPERTIES_NAMES;
+    }
+
+    @Override
+    public void validateProperties(Map<String, String> properties) {
+        String maxMergeSize = properties.get(MAX_MERGE_COMPONENT_SIZE);
+        if (maxMergeSize != null) {
+            parseMaxMergeComponentSize(maxMergeSize);
+        }
+    }
+
+    static long parseMaxMergeComponentSize(String value) {
+        try {
+            long size = StorageUtil.getByteValue(value.trim());
+            if (size > 0) {
+                return size;
+            }
+        } catch (IllegalArgumentException e) {
+            // reported below
+        }
+        throw new IllegalArgumentException(MAX_MERGE_COMPONENT_SIZE
+                + " must be a positive size in bytes or with a unit (e.g. 1073741824 or 1GB), but was: " + value);
+    }
+
     @Override
     public ILSMMergePolicy createMergePolicy(Map<String, String> configuration, INCServiceContext ctx) {
         ILSMMergePolicy policy = new ConcurrentMergePolicy();
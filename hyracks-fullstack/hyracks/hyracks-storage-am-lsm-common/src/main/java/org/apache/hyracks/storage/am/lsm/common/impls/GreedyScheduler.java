@@ -47,9 +47,9 @@ public class GreedyScheduler extends AbstractAsynchronousScheduler {
         @Override
         public ILSMIOOperationScheduler createIoScheduler(ThreadFactory threadFactory,
                 IIoOperationFailedCallback callback, int maxNumRunningFlushes, int maxNumScheduledMerges,
-                int maxNumRunningMerges) {
+                int maxNumRunningMerges, boolean prioritizeFlushes, long maxMergeYieldTime) {
             return new GreedyScheduler(threadFactory, callback, maxNumRunningFlushes, maxNumScheduledMerges,
-                    maxNumRunningMerges);
+                    maxNumRunningMerges, prioritizeFlushes, maxMergeYieldTime);
         }
 
         @Override
@@ -67,7 +67,12 @@ public class GreedyScheduler extends AbstractAsynchronousScheduler {
 
     public GreedyScheduler(ThreadFactory threadFactory, IIoOperationFailedCallback callback, int maxNumRunningFlushes,
             int maxNumScheduledMerges, int maxNumRunningMerges) {
-        super(threadFactory, callback, maxNumRunningFlushes);
+        this(threadFactory, callback, maxNumRunningFlushes, maxNumScheduledMerges, maxNumRunningMerges, false, 0);
+    }
+
+    public GreedyScheduler(ThreadFactory threadFactory, IIoOperationFailedCallback callback, int maxNumRunningFlushes,
+            int maxNumScheduledMerges, int maxNumRunningMerges, boolean prioritizeFlushes, long maxMergeYieldTime) {
+        super(threadFactory, callback, maxNumRunningFlushes, prioritizeFlushes, maxMergeYieldTime);
         this.maxNumScheduledMerges = maxNumScheduledMerges;
         this.maxNumRunningMerges = maxNumRunningMerges;
     }
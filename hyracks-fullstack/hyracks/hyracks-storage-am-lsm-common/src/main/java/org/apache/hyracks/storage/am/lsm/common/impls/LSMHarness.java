@@ -191,7 +191,7 @@ public class LSMHarness implements ILSMHarness {
                         opTracker.notifyAll();
                         if (!failedOperation) {
                             if (!lsmIndex.isAtomic()) {
-                                waitForLaggingMerge();
+                                waitForLaggingMerge(ctx.getIoOperation());
                             }
                         }
                     } else if (opType == LSMOperationType.MERGE) {
@@ -745,19 +745,31 @@ public class LSMHarness implements ILSMHarness {
      * number of mergable immutable components > maxToleranceComponentCount
      * by the merge policy)
      *
+     * @param flush
+     *            the flush operation that waits for the lagging merges
      * @throws HyracksDataException
      */
-    private void waitForLaggingMerge() throws HyracksDataException {
+    private void waitForLaggingMerge(ILSMIOOperation flush) throws HyracksDataException {
         synchronized (opTracker) {
-            while (mergePolicy.isMergeLagging(lsmIndex)) {
-                try {
-                    opTracker.wait();
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    if (LOGGER.isWarnEnabled()) {
-                        LOGGER.log(Level.WARN, "Ignoring interrupt while waiting for lagging merge on " + lsmIndex, e);
+            if (!mergePolicy.isMergeLagging(lsmIndex)) {
+                return;
+            }
+            // the merges this flush waits for must not yield to it
+            ioScheduler.setFlushBlockedOnMerges(flush, true);
+            try {
+                while (mergePolicy.isMergeLagging(lsmIndex)) {
+                    try {
+                        opTracker.wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        if (LOGGER.isWarnEnabled()) {
+                            LOGGER.log(Level.WARN, "Ignoring interrupt while waiting for lagging merge on " + lsmIndex,
+                                    e);
+                        }
                     }
                 }
+            } finally {
+                ioScheduler.setFlushBlockedOnMerges(flush, false);
             }
         }
     }
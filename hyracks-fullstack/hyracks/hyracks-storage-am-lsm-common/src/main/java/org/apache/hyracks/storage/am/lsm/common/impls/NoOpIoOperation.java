@@ -158,6 +158,21 @@ public class NoOpIoOperation implements ILSMIOOperation {
         return false;
     }
 
+    @Override
+    public void setYielding(boolean yielding) {
+        // No Op
+    }
+
+    @Override
+    public boolean isYielding() {
+        return false;
+    }
+
+    @Override
+    public void setMaxYieldTime(long maxYieldTime) {
+        // No Op
+    }
+
     @Override
     public boolean isCompleted() {
         return true;
@@ -195,6 +195,21 @@ class TracedIOOperation implements ILSMIOOperation {
         return ioOp.isActive();
     }
 
+    @Override
+    public void setYielding(boolean yielding) {
+        ioOp.setYielding(yielding);
+    }
+
+    @Override
+    public boolean isYielding() {
+        return ioOp.isYielding();
+    }
+
+    @Override
+    public void setMaxYieldTime(long maxYieldTime) {
+        ioOp.setMaxYieldTime(maxYieldTime);
+    }
+
     @Override
     public boolean isCompleted() {
         return ioOp.isCompleted();
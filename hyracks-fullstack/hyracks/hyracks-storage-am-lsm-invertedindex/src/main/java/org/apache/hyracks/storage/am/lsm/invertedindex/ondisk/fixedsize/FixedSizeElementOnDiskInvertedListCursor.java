@@ -35,6 +35,8 @@ import org.apache.hyracks.storage.am.lsm.invertedindex.util.InvertedIndexUtils;
 import org.apache.hyracks.storage.common.IIndexCursorStats;
 import org.apache.hyracks.storage.common.MultiComparator;
 import org.apache.hyracks.storage.common.buffercache.IBufferCache;
+import org.apache.hyracks.storage.common.buffercache.ICachedPage;
+import org.apache.hyracks.storage.common.file.BufferedFileHandle;
 
 /**
  * A cursor class that traverse an inverted list that consists of fixed-size elements on disk
@@ -46,6 +48,8 @@ public class FixedSizeElementOnDiskInvertedListCursor extends AbstractOnDiskInve
     private int bufferEndElementIx;
     // The last element in the current range in memory
     protected final IInvertedListTupleReference bufferEndElementTuple;
+    // The last element of a page that is checked to decide whether a block can be skipped
+    private final IInvertedListTupleReference skipCheckTuple;
     // The last element index per page
     private int[] elementIndexes = new int[10];
 
@@ -56,6 +60,7 @@ public class FixedSizeElementOnDiskInvertedListCursor extends AbstractOnDiskInve
 
         this.bufferEndElementIx = 0;
         this.bufferEndElementTuple = InvertedIndexUtils.createInvertedListTupleReference(invListFields, nullTypeTraits);
+        this.skipCheckTuple = InvertedIndexUtils.createInvertedListTupleReference(invListFields, nullTypeTraits);
 
         int tmpSize = 0;
         for (int i = 0; i < invListFields.length; i++) {
@@ -98,6 +103,8 @@ public class FixedSizeElementOnDiskInvertedListCursor extends AbstractOnDiskInve
         bufferStartElementIx =
                 bufferStartPageId == startPageId ? 0 : elementIndexes[bufferStartPageId - startPageId - 1] + 1;
         bufferEndElementIx = elementIndexes[bufferEndPageId - startPageId];
+        // The random search of the new block starts at its first element (the base class only knows the old one)
+        lastRandomSearchedElementIx = bufferStartElementIx;
         // Gets the final element tuple in this block.
         getElementAtIndex(bufferEndElementIx, bufferEndElementTuple);
     }
@@ -130,8 +137,10 @@ public class FixedSizeElementOnDiskInvertedListCursor extends AbstractOnDiskInve
      */
     @Override
     public boolean containsKey(ITupleReference searchTuple, MultiComparator invListCmp) throws HyracksDataException {
-        // If the given element is greater than the last element in the current buffer, reads the next block.
+        // If the given element is greater than the last element in the current buffer, skips the blocks that cannot
+        // contain the given element and reads the block that may contain it.
         if (needToReadNextBlock(searchTuple, invListCmp)) {
+            skipBlocks(searchTuple, invListCmp);
             loadPages();
         }
         int mid = -1;
@@ -174,6 +183,41 @@ public class FixedSizeElementOnDiskInvertedListCursor extends AbstractOnDiskInve
         return false;
     }
 
+    /**
+     * Skips the following blocks whose last element is smaller than the search tuple, so that the next loadPages()
+     * reads the first block that may contain the search tuple. Since the elements of a page are sorted and the index
+     * of the last element of each page is known, only the last page of a skipped block needs to be read instead of
+     * copying the whole block into the working memory. The last block of the list is never skipped.
+     */
+    private void skipBlocks(ITupleReference searchTuple, MultiComparator invListCmp) throws HyracksDataException {
+        int blockSize = buffers.size();
+        while (bufferEndPageId + blockSize < endPageId) {
+            int nextBlockEndPageId = bufferEndPageId + blockSize;
+            ICachedPage lastPage = bufferCache.pin(BufferedFileHandle.getDiskPageId(fileId, nextBlockEndPageId), false);
+            int cmp;
+            try {
+                stats.getPageCounter().update(1);
+                int pageIx = nextBlockEndPageId - startPageId;
+                int lastElementIx = elementIndexes[pageIx];
+                int lastElementOff;
+                if (pageIx == 0) {
+                    lastElementOff = startOff + lastElementIx * elementSize;
+                } else {
+                    lastElementOff = (lastElementIx - elementIndexes[pageIx - 1] - 1) * elementSize;
+                }
+                skipCheckTuple.reset(lastPage.getBuffer().array(), lastElementOff);
+                cmp = invListCmp.compare(searchTuple, skipCheckTuple);
+            } finally {
+                bufferCache.unpin(lastPage);
+            }
+            if (cmp <= 0) {
+                break;
+            }
+            // The whole block is smaller than the search tuple
+            bufferEndPageId = nextBlockEndPageId;
+        }
+    }
+
     /**
      * Opens the cursor for the given inverted list. After this open() call, prepreLoadPages() should be called
      * before loadPages() are called. For more details, check prepapreLoadPages().
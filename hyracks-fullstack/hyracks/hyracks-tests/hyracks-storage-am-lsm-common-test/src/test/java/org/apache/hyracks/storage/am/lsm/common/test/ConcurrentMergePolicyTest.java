@@ -135,7 +135,101 @@ public class ConcurrentMergePolicyTest {
         Assert.assertEquals(sizes, resultSizes);
     }
 
+    @Test
+    public void testMaxMergeComponentSize() throws HyracksDataException {
+        List<Long> sizes = new ArrayList<>(Arrays.asList(1L, 2L, 3L, 4L, 5L, 6L, 7L, 100L));
+        List<Long> resultSizes = new ArrayList<>();
+        ILSMIndex index = mockIndex(sizes, resultSizes);
+        ILSMMergePolicy policy = createkMergePolicy(12L);
+        policy.diskComponentAdded(index, false);
+
+        // the sequences ending with 7L and 6L do not fit even with the minimum count, the one ending with 5L is
+        // shrunk from 1L..5L to 3L..5L
+        Assert.assertEquals(sizes.subList(2, 5), resultSizes);
+    }
+
+    @Test
+    public void testMaxMergeComponentSizeWithUnit() throws HyracksDataException {
+        long kb = 1024L;
+        List<Long> sizes = new ArrayList<>(Arrays.asList(kb, 2 * kb, 3 * kb, 4 * kb, 5 * kb, 6 * kb, 7 * kb, 100 * kb));
+        List<Long> resultSizes = new ArrayList<>();
+        ILSMIndex index = mockIndex(sizes, resultSizes);
+        ILSMMergePolicy policy = createkMergePolicy("12KB");
+        policy.diskComponentAdded(index, false);
+        Assert.assertEquals(sizes.subList(2, 5), resultSizes);
+    }
+
+    @Test
+    public void testMaxMergeComponentSizeMergeLaggingBoundedFullMerge() throws HyracksDataException {
+        List<Long> sizes = new ArrayList<>(Arrays.asList(1L, 2L, 4L, 8L, 16L, 32L, 64L, 128L, 256L, 512L, 1024L));
+        List<Long> resultSizes = new ArrayList<>();
+        ILSMIndex index = mockIndex(sizes, resultSizes);
+        ILSMMergePolicy policy = createkMergePolicy(1000L);
+        Assert.assertTrue(policy.isMergeLagging(index));
+        // instead of a full merge, the longest sequence that fits in a merge is scheduled
+        Assert.assertEquals(sizes.subList(0, 9), resultSizes);
+    }
+
+    @Test
+    public void testMaxMergeComponentSizeMergeLaggingNoBoundedMerge() throws HyracksDataException {
+        List<Long> sizes = new ArrayList<>(Arrays.asList(60L, 60L, 60L, 60L, 60L, 60L, 60L, 60L, 60L, 60L));
+        List<Long> resultSizes = new ArrayList<>();
+        ILSMIndex index = mockIndex(sizes, resultSizes);
+        ILSMMergePolicy policy = createkMergePolicy(100L);
+        // no two components fit in a merge, so flushes must not be stopped
+        Assert.assertFalse(policy.isMergeLagging(index));
+        Assert.assertTrue(resultSizes.isEmpty());
+    }
+
+    @Test
+    public void testInvalidMaxMergeComponentSize() {
+        ConcurrentMergePolicyFactory factory = new ConcurrentMergePolicyFactory();
+        Map<String, String> properties = createProperties();
+        factory.validateProperties(properties);
+        for (String valid : Arrays.asList("1073741824", "1GB", "10GB", "512mb", "1.5GB")) {
+            properties.put(ConcurrentMergePolicyFactory.MAX_MERGE_COMPONENT_SIZE, valid);
+            factory.validateProperties(properties);
+        }
+        for (String invalid : Arrays.asList("0", "-1", "0GB", "-1GB", "1XB", "ten")) {
+            properties.put(ConcurrentMergePolicyFactory.MAX_MERGE_COMPONENT_SIZE, invalid);
+            try {
+                factory.validateProperties(properties);
+                Assert.fail("expected " + invalid + " to be rejected");
+            } catch (IllegalArgumentException e) {
+                Assert.assertTrue(e.getMessage().contains(ConcurrentMergePolicyFactory.MAX_MERGE_COMPONENT_SIZE));
+            }
+        }
+    }
+
+    @Test
+    public void testMaxMergeComponentSizeNoMergeLagging() throws HyracksDataException {
+        List<Long> sizes = new ArrayList<>(Arrays.asList(1L, 2L, 100L, 100L, 100L, 100L, 100L, 100L, 100L, 100L));
+        List<Long> resultSizes = new ArrayList<>();
+        ILSMIndex index = mockIndex(sizes, resultSizes);
+        ILSMMergePolicy policy = createkMergePolicy(50L);
+        Assert.assertFalse(policy.isMergeLagging(index));
+        Assert.assertTrue(resultSizes.isEmpty());
+    }
+
+    private ILSMMergePolicy createkMergePolicy(long maxMergeComponentSize) {
+        return createkMergePolicy(String.valueOf(maxMergeComponentSize));
+    }
+
+    private ILSMMergePolicy createkMergePolicy(String maxMergeComponentSize) {
+        Map<String, String> properties = createProperties();
+        properties.put(ConcurrentMergePolicyFactory.MAX_MERGE_COMPONENT_SIZE, maxMergeComponentSize);
+        ILSMMergePolicy policy = new ConcurrentMergePolicy();
+        policy.configure(properties);
+        return policy;
+    }
+
     private ILSMMergePolicy createkMergePolicy() {
+        ILSMMergePolicy policy = new ConcurrentMergePolicy();
+        policy.configure(createProperties());
+        return policy;
+    }
+
+    private Map<String, String> createProperties() {
         Map<String, String> properties = new HashMap<>();
         properties.put(ConcurrentMergePolicyFactory.MAX_COMPONENT_COUNT, String.valueOf(MAX_COMPONENT_COUNT));
         properties.put(ConcurrentMergePolicyFactory.SIZE_RATIO, String.valueOf(SIZE_RATIO));
@@ -143,10 +237,7 @@ public class ConcurrentMergePolicyTest {
                 String.valueOf(MIN_MERGE_COMPONENT_COUNT));
         properties.put(ConcurrentMergePolicyFactory.MAX_MERGE_COMPONENT_COUNT,
                 String.valueOf(MAX_MERGE_COMPONENT_COUNT));
-
-        ILSMMergePolicy policy = new ConcurrentMergePolicy();
-        policy.configure(properties);
-        return policy;
+        return properties;
     }
 
     private ILSMIndex mockIndex(List<Long> componentSizes, List<Long> mergedSizes) throws HyracksDataException {
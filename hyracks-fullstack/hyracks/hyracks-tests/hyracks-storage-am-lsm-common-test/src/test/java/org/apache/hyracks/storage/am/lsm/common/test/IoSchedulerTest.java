@@ -18,13 +18,19 @@
  */
 package org.apache.hyracks.storage.am.lsm.common.test;
 
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.apache.hyracks.api.exceptions.HyracksDataException;
+import org.apache.hyracks.api.io.FileReference;
+import org.apache.hyracks.api.io.IODeviceHandle;
 import org.apache.hyracks.storage.am.lsm.common.api.ILSMIOOperation;
 import org.apache.hyracks.storage.am.lsm.common.api.ILSMIOOperation.LSMIOOperationStatus;
 import org.apache.hyracks.storage.am.lsm.common.api.ILSMIOOperation.LSMIOOperationType;
+import org.apache.hyracks.storage.am.lsm.common.api.IoOperationCompleteListener;
 import org.apache.hyracks.storage.am.lsm.common.impls.AsynchronousScheduler;
 import org.apache.hyracks.storage.am.lsm.common.impls.GreedyScheduler;
 import org.apache.hyracks.storage.am.lsm.common.impls.NoOpIoOperationFailedCallback;
@@ -42,10 +48,15 @@ public class IoSchedulerTest {
     protected static final String INDEX_3 = "index3";
     protected static final String INDEX_4 = "index4";
 
+    protected static final IODeviceHandle DEVICE_1 = new IODeviceHandle(new File("/device1"), "storage");
+    protected static final IODeviceHandle DEVICE_2 = new IODeviceHandle(new File("/device2"), "storage");
+
     protected static class MockedOperation {
         public final ILSMIOOperation operation;
         public final AtomicBoolean scheduled = new AtomicBoolean();
         public final AtomicBoolean running = new AtomicBoolean();
+        public final AtomicBoolean yielding = new AtomicBoolean();
+        public final List<IoOperationCompleteListener> completeListeners = new ArrayList<>();
 
         public final Semaphore completedSemaphore = new Semaphore(0);
 
@@ -69,6 +80,14 @@ public class IoSchedulerTest {
             }
         }
 
+        public void waitForYielding(boolean expected) throws InterruptedException {
+            synchronized (yielding) {
+                while (yielding.get() != expected) {
+                    yielding.wait();
+                }
+            }
+        }
+
     }
 
     @Test
@@ -208,21 +227,158 @@ public class IoSchedulerTest {
         scheduler.close();
     }
 
+    @Test
+    public void testMergesYieldToFlushes() throws Exception {
+        int maxRunningFlushes = 2;
+        int maxRunningMerges = 2;
+
+        AsynchronousScheduler scheduler = (AsynchronousScheduler) AsynchronousScheduler.FACTORY.createIoScheduler(
+                r -> new Thread(r), NoOpIoOperationFailedCallback.INSTANCE, maxRunningFlushes, maxRunningMerges,
+                maxRunningMerges, true, Long.MAX_VALUE);
+
+        MockedOperation merge1 = mockMergeOperation(INDEX_1, 10);
+        scheduler.scheduleOperation(merge1.operation);
+        merge1.waitForScheduled();
+        // no flush is running
+        Assert.assertFalse(merge1.yielding.get());
+
+        MockedOperation flush = mockFlushOperation(INDEX_2);
+        scheduler.scheduleOperation(flush.operation);
+        flush.waitForScheduled();
+        // merge1 yields to the running flush
+        merge1.waitForYielding(true);
+
+        MockedOperation merge2 = mockMergeOperation(INDEX_3, 10);
+        scheduler.scheduleOperation(merge2.operation);
+        merge2.waitForScheduled();
+        // merge2 yields to the running flush as soon as it is scheduled
+        Assert.assertTrue(merge2.yielding.get());
+
+        // complete the flush and both merges stop yielding
+        flush.completedSemaphore.release();
+        merge1.waitForYielding(false);
+        merge2.waitForYielding(false);
+
+        merge1.completedSemaphore.release();
+        merge2.completedSemaphore.release();
+        scheduler.close();
+    }
+
+    @Test
+    public void testMergesYieldToFlushesOnSameDevice() throws Exception {
+        int maxRunningFlushes = 2;
+        int maxRunningMerges = 2;
+
+        AsynchronousScheduler scheduler = (AsynchronousScheduler) AsynchronousScheduler.FACTORY.createIoScheduler(
+                r -> new Thread(r), NoOpIoOperationFailedCallback.INSTANCE, maxRunningFlushes, maxRunningMerges,
+                maxRunningMerges, true, Long.MAX_VALUE);
+
+        MockedOperation merge1 = mockMergeOperation(INDEX_1, 10, DEVICE_1);
+        scheduler.scheduleOperation(merge1.operation);
+        merge1.waitForScheduled();
+        MockedOperation merge2 = mockMergeOperation(INDEX_2, 10, DEVICE_2);
+        scheduler.scheduleOperation(merge2.operation);
+        merge2.waitForScheduled();
+        Mockito.verify(merge1.operation).setMaxYieldTime(Long.MAX_VALUE);
+
+        MockedOperation flush = mockFlushOperation(INDEX_3, DEVICE_1);
+        scheduler.scheduleOperation(flush.operation);
+        flush.waitForScheduled();
+        // only the merge on the flushing device yields
+        merge1.waitForYielding(true);
+        Assert.assertFalse(merge2.yielding.get());
+
+        flush.completedSemaphore.release();
+        merge1.waitForYielding(false);
+
+        merge1.completedSemaphore.release();
+        merge2.completedSemaphore.release();
+        scheduler.close();
+    }
+
+    @Test
+    public void testMergesDoNotYieldToFlushesBlockedOnLaggingMerges() throws Exception {
+        int maxRunningFlushes = 2;
+        int maxRunningMerges = 2;
+
+        AsynchronousScheduler scheduler = (AsynchronousScheduler) AsynchronousScheduler.FACTORY.createIoScheduler(
+                r -> new Thread(r), NoOpIoOperationFailedCallback.INSTANCE, maxRunningFlushes, maxRunningMerges,
+                maxRunningMerges, true, Long.MAX_VALUE);
+
+        MockedOperation merge = mockMergeOperation(INDEX_1, 10);
+        scheduler.scheduleOperation(merge.operation);
+        merge.waitForScheduled();
+
+        MockedOperation flush = mockFlushOperation(INDEX_1);
+        scheduler.scheduleOperation(flush.operation);
+        flush.waitForScheduled();
+        merge.waitForYielding(true);
+
+        // the flush waits for the lagging merge, which must not yield to it
+        scheduler.setFlushBlockedOnMerges(flush.operation, true);
+        merge.waitForYielding(false);
+
+        // the merge caught up, the flush proceeds and the merge yields to it again
+        scheduler.setFlushBlockedOnMerges(flush.operation, false);
+        merge.waitForYielding(true);
+
+        flush.completedSemaphore.release();
+        merge.waitForYielding(false);
+
+        merge.completedSemaphore.release();
+        scheduler.close();
+    }
+
+    @Test
+    public void testMergeCompletedOutsideSchedulerIsUntracked() throws Exception {
+        int maxRunningFlushes = 2;
+        int maxRunningMerges = 2;
+
+        AsynchronousScheduler scheduler = (AsynchronousScheduler) AsynchronousScheduler.FACTORY.createIoScheduler(
+                r -> new Thread(r), NoOpIoOperationFailedCallback.INSTANCE, maxRunningFlushes, maxRunningMerges,
+                maxRunningMerges, true, Long.MAX_VALUE);
+
+        MockedOperation merge = mockMergeOperation(INDEX_1, 10);
+        scheduler.scheduleOperation(merge.operation);
+        merge.waitForScheduled();
+        // e.g., the merge is aborted, which completes it without going through the scheduler
+        merge.operation.complete();
+
+        MockedOperation flush = mockFlushOperation(INDEX_2);
+        scheduler.scheduleOperation(flush.operation);
+        flush.waitForScheduled();
+        Mockito.verify(merge.operation, Mockito.never()).setYielding(true);
+
+        flush.completedSemaphore.release();
+        merge.completedSemaphore.release();
+        scheduler.close();
+    }
+
     protected MockedOperation mockMergeOperation(String index, long remainingPages) throws HyracksDataException {
-        return mockOperation(index, LSMIOOperationType.MERGE, remainingPages);
+        return mockOperation(index, LSMIOOperationType.MERGE, remainingPages, DEVICE_1);
+    }
+
+    protected MockedOperation mockMergeOperation(String index, long remainingPages, IODeviceHandle device)
+            throws HyracksDataException {
+        return mockOperation(index, LSMIOOperationType.MERGE, remainingPages, device);
     }
 
     protected MockedOperation mockFlushOperation(String index) throws HyracksDataException {
-        return mockOperation(index, LSMIOOperationType.FLUSH, 0);
+        return mockOperation(index, LSMIOOperationType.FLUSH, 0, DEVICE_1);
     }
 
-    protected MockedOperation mockOperation(String index, LSMIOOperationType type, long remainingPages)
-            throws HyracksDataException {
+    protected MockedOperation mockFlushOperation(String index, IODeviceHandle device) throws HyracksDataException {
+        return mockOperation(index, LSMIOOperationType.FLUSH, 0, device);
+    }
+
+    protected MockedOperation mockOperation(String index, LSMIOOperationType type, long remainingPages,
+            IODeviceHandle device) throws HyracksDataException {
         ILSMIOOperation op = Mockito.mock(ILSMIOOperation.class);
         MockedOperation mockedOp = new MockedOperation(op);
         Mockito.when(op.getIndexIdentifier()).thenReturn(index);
         Mockito.when(op.getIOOpertionType()).thenReturn(type);
         Mockito.when(op.getRemainingPages()).thenReturn(remainingPages);
+        Mockito.when(op.getTarget()).thenReturn(new FileReference(device, index));
 
         Mockito.doAnswer(new Answer<Boolean>() {
             @Override
@@ -249,6 +405,38 @@ public class IoSchedulerTest {
             }
         }).when(op).pause();
 
+        Mockito.doAnswer(new Answer<Void>() {
+            @Override
+            public Void answer(InvocationOnMock invocation) throws Throwable {
+                boolean yielding = invocation.getArgument(0);
+                synchronized (mockedOp.yielding) {
+                    mockedOp.yielding.set(yielding);
+                    mockedOp.yielding.notifyAll();
+                }
+                return null;
+            }
+        }).when(op).setYielding(Mockito.anyBoolean());
+
+        Mockito.doAnswer(new Answer<Void>() {
+            @Override
+            public Void answer(InvocationOnMock invocation) throws Throwable {
+                synchronized (mockedOp.completeListeners) {
+                    mockedOp.completeListeners.add(invocation.getArgument(0));
+                }
+                return null;
+            }
+        }).when(op).addCompleteListener(Mockito.any());
+
+        Mockito.doAnswer(new Answer<Void>() {
+            @Override
+            public Void answer(InvocationOnMock invocation) throws Throwable {
+                synchronized (mockedOp.completeListeners) {
+                    mockedOp.completeListeners.forEach(listener -> listener.completed(op));
+                }
+                return null;
+            }
+        }).when(op).complete();
+
         Mockito.doAnswer(new Answer<LSMIOOperationStatus>() {
             @Override
             public LSMIOOperationStatus answer(InvocationOnMock invocation) throws Throwable {
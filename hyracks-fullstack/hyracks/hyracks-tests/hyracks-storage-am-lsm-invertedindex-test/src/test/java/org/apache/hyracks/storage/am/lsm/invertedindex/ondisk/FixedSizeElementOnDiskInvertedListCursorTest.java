@@ -0,0 +1,197 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.hyracks.storage.am.lsm.invertedindex.ondisk;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.hyracks.api.context.IHyracksTaskContext;
+import org.apache.hyracks.api.dataflow.value.IBinaryComparatorFactory;
+import org.apache.hyracks.api.dataflow.value.ISerializerDeserializer;
+import org.apache.hyracks.api.dataflow.value.ITypeTraits;
+import org.apache.hyracks.api.exceptions.HyracksDataException;
+import org.apache.hyracks.api.util.HyracksConstants;
+import org.apache.hyracks.data.std.accessors.IntegerBinaryComparatorFactory;
+import org.apache.hyracks.data.std.accessors.UTF8StringBinaryComparatorFactory;
+import org.apache.hyracks.data.std.primitive.IntegerPointable;
+import org.apache.hyracks.data.std.primitive.UTF8StringPointable;
+import org.apache.hyracks.dataflow.common.data.accessors.ITupleReference;
+import org.apache.hyracks.dataflow.common.data.marshalling.IntegerSerializerDeserializer;
+import org.apache.hyracks.dataflow.common.data.marshalling.UTF8StringSerializerDeserializer;
+import org.apache.hyracks.dataflow.common.utils.TaskUtil;
+import org.apache.hyracks.dataflow.common.utils.TupleUtils;
+import org.apache.hyracks.dataflow.std.buffermanager.ISimpleFrameBufferManager;
+import org.apache.hyracks.storage.am.common.TestOperationCallback;
+import org.apache.hyracks.storage.am.common.impls.IndexAccessParameters;
+import org.apache.hyracks.storage.am.lsm.invertedindex.api.IInvertedIndexAccessor;
+import org.apache.hyracks.storage.am.lsm.invertedindex.common.LSMInvertedIndexTestHarness;
+import org.apache.hyracks.storage.am.lsm.invertedindex.ondisk.fixedsize.FixedSizeElementOnDiskInvertedListCursor;
+import org.apache.hyracks.storage.am.lsm.invertedindex.util.InvertedIndexUtils;
+import org.apache.hyracks.storage.am.lsm.invertedindex.util.LSMInvertedIndexTestUtils.HyracksTaskTestContext;
+import org.apache.hyracks.storage.common.IIndexAccessParameters;
+import org.apache.hyracks.storage.common.IIndexBulkLoader;
+import org.apache.hyracks.storage.common.IndexCursorStats;
+import org.apache.hyracks.storage.common.MultiComparator;
+import org.apache.hyracks.storage.common.buffercache.NoOpPageWriteCallback;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class FixedSizeElementOnDiskInvertedListCursorTest {
+
+    private static final String TOKEN = "token";
+    // spans several dozens of pages with the default page size of the harness
+    private static final int NUM_ELEMENTS = 10000;
+    // the number of pages a cursor may load at once, i.e., the size of a block
+    private static final int BLOCK_SIZE = 2;
+
+    private static final ITypeTraits[] TOKEN_TYPE_TRAITS = new ITypeTraits[] { UTF8StringPointable.TYPE_TRAITS };
+    private static final IBinaryComparatorFactory[] TOKEN_CMP_FACTORIES =
+            new IBinaryComparatorFactory[] { UTF8StringBinaryComparatorFactory.INSTANCE };
+    private static final ITypeTraits[] INV_LIST_TYPE_TRAITS = new ITypeTraits[] { IntegerPointable.TYPE_TRAITS };
+    private static final IBinaryComparatorFactory[] INV_LIST_CMP_FACTORIES =
+            new IBinaryComparatorFactory[] { IntegerBinaryComparatorFactory.INSTANCE };
+
+    private final LSMInvertedIndexTestHarness harness = new LSMInvertedIndexTestHarness();
+    private OnDiskInvertedIndex invIndex;
+    private IHyracksTaskContext ctx;
+
+    @Before
+    public void setUp() throws Exception {
+        harness.setUp();
+        invIndex = InvertedIndexUtils.createOnDiskInvertedIndex(harness.getIOManager(), harness.getDiskBufferCache(),
+                INV_LIST_TYPE_TRAITS, INV_LIST_CMP_FACTORIES, TOKEN_TYPE_TRAITS, TOKEN_CMP_FACTORIES,
+                harness.getInvListsFileRef(), harness.getMetadataPageManagerFactory(), null, null);
+        invIndex.create();
+        invIndex.activate();
+
+        // the inverted list of the token consists of the even numbers 0, 2, ..., 2 * (NUM_ELEMENTS - 1)
+        ISerializerDeserializer[] fieldSerdes = new ISerializerDeserializer[] {
+                new UTF8StringSerializerDeserializer(), IntegerSerializerDeserializer.INSTANCE };
+        IIndexBulkLoader bulkLoader =
+                invIndex.createBulkLoader(1.0f, false, NUM_ELEMENTS, true, NoOpPageWriteCallback.INSTANCE);
+        for (int i = 0; i < NUM_ELEMENTS; i++) {
+            bulkLoader.add(TupleUtils.createTuple(fieldSerdes, TOKEN, 2 * i));
+        }
+        bulkLoader.end();
+
+        ctx = new HyracksTaskTestContext();
+        TaskUtil.put(HyracksConstants.INVERTED_INDEX_SEARCH_FRAME_MANAGER, new BoundedFrameBufferManager(BLOCK_SIZE),
+                ctx);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        invIndex.deactivate();
+        invIndex.destroy();
+        harness.tearDown();
+    }
+
+    @Test
+    public void testContainsKeySkipsBlocks() throws Exception {
+        // the elements and the number of pages of the inverted list, found by a linear scan
+        IndexCursorStats scanStats = new IndexCursorStats();
+        List<Integer> elements = new ArrayList<>();
+        FixedSizeElementOnDiskInvertedListCursor cursor = openCursor(scanStats);
+        try {
+            cursor.prepareLoadPages();
+            cursor.loadPages();
+            while (cursor.hasNext()) {
+                cursor.next();
+                ITupleReference tuple = cursor.getTuple();
+                elements.add(IntegerPointable.getInteger(tuple.getFieldData(0), tuple.getFieldStart(0)));
+            }
+        } finally {
+            cursor.unloadPages();
+            cursor.close();
+        }
+        Assert.assertEquals(NUM_ELEMENTS, elements.size());
+        long numPages = scanStats.getPageCounter().get();
+        Assert.assertTrue("the list must span several blocks", numPages > 4 * BLOCK_SIZE);
+
+        // probes in the first block, in blocks after skipped ones (both the first element and a missing one), in the
+        // middle of the list, in the last block, and after the last element
+        int quarter = elements.get(NUM_ELEMENTS / 4);
+        int middle = elements.get(NUM_ELEMENTS / 2);
+        int last = elements.get(NUM_ELEMENTS - 1);
+        int[] probes = new int[] { -1, 0, 1, quarter - 1, quarter, middle - 1, middle, middle + 1, last - 1, last,
+                last + 1 };
+
+        IndexCursorStats probeStats = new IndexCursorStats();
+        MultiComparator invListCmp = MultiComparator.create(INV_LIST_CMP_FACTORIES);
+        cursor = openCursor(probeStats);
+        try {
+            cursor.prepareLoadPages();
+            cursor.loadPages();
+            for (int probe : probes) {
+                boolean expected = elements.contains(probe);
+                Assert.assertEquals("probe " + probe, expected,
+                        cursor.containsKey(TupleUtils.createIntegerTuple(probe), invListCmp));
+            }
+        } finally {
+            cursor.unloadPages();
+            cursor.close();
+        }
+        // the blocks between the probes are skipped instead of being loaded
+        Assert.assertTrue("read " + probeStats.getPageCounter().get() + " of " + numPages + " pages",
+                probeStats.getPageCounter().get() < numPages);
+    }
+
+    private FixedSizeElementOnDiskInvertedListCursor openCursor(IndexCursorStats stats) throws HyracksDataException {
+        FixedSizeElementOnDiskInvertedListCursor cursor = new FixedSizeElementOnDiskInvertedListCursor(
+                harness.getDiskBufferCache(), invIndex.getInvListsFileId(), INV_LIST_TYPE_TRAITS, ctx, stats, null,
+                null);
+        IIndexAccessParameters iap =
+                new IndexAccessParameters(TestOperationCallback.INSTANCE, TestOperationCallback.INSTANCE);
+        iap.getParameters().put(HyracksConstants.HYRACKS_TASK_CONTEXT, ctx);
+        IInvertedIndexAccessor accessor = invIndex.createAccessor(iap);
+        ISerializerDeserializer[] tokenSerdes =
+                new ISerializerDeserializer[] { new UTF8StringSerializerDeserializer() };
+        accessor.openInvertedListCursor(cursor, TupleUtils.createTuple(tokenSerdes, TOKEN));
+        return cursor;
+    }
+
+    /**
+     * Hands out at most the given number of frames at a time, so that an inverted list is read in several blocks.
+     */
+    private static class BoundedFrameBufferManager implements ISimpleFrameBufferManager {
+        private final int maxFrames;
+        private int numFrames;
+
+        BoundedFrameBufferManager(int maxFrames) {
+            this.maxFrames = maxFrames;
+        }
+
+        @Override
+        public ByteBuffer acquireFrame(int frameSize) {
+            if (numFrames >= maxFrames) {
+                return null;
+            }
+            numFrames++;
+            return ByteBuffer.allocate(frameSize);
+        }
+
+        @Override
+        public void releaseFrame(ByteBuffer frame) {
+            numFrames--;
+        }
+    }
+}